@@ -0,0 +1,62 @@
+package com.zelda.weapons.config;
+
+import java.util.Locale;
+
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.EndpointInterceptor;
+import org.springframework.ws.soap.saaj.SaajSoapMessage;
+
+import jakarta.xml.soap.MimeHeaders;
+
+/**
+ * Responde en Fast Infoset (application/fastinfoset) cuando el cliente lo negocia: la petición
+ * llegó en Fast Infoset o su encabezado Accept lo incluye. El resto de clientes recibe XML.
+ * La respuesta solo se marca (FastInfosetSoapMessage) y se escribe en binario al enviarla; la
+ * lectura de peticiones Fast Infoset la resuelve SAAJ a partir del Content-Type.
+ * Los faults se responden siempre en XML: los clientes HTTP solo reconocen como fault SOAP un
+ * 500 con Content-Type XML, el resto lo tratan como error de transporte.
+ */
+public class FastInfosetEndpointInterceptor implements EndpointInterceptor {
+
+    @Override
+    public boolean handleRequest(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public boolean handleResponse(MessageContext messageContext, Object endpoint) {
+        if (messageContext.hasResponse()
+                && messageContext.getRequest() instanceof SaajSoapMessage request
+                && messageContext.getResponse() instanceof FastInfosetSoapMessage response
+                && acceptsFastInfoset(request.getSaajMessage().getMimeHeaders())) {
+            // No toca el contenido: una respuesta en streaming se sigue escribiendo sin DOM
+            response.encodeAsFastInfoset();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean handleFault(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(MessageContext messageContext, Object endpoint, Exception ex) {
+    }
+
+    private static boolean acceptsFastInfoset(MimeHeaders requestHeaders) {
+        if (FastInfosetMessages.isFastInfoset(requestHeaders)) {
+            return true;
+        }
+        String[] accept = requestHeaders.getHeader("Accept");
+        if (accept == null) {
+            return false;
+        }
+        for (String value : accept) {
+            if (value.toLowerCase(Locale.ROOT).contains(FastInfosetMessages.FAST_INFOSET_CONTENT_TYPE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package com.zelda.weapons.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Locale;
+
+import org.springframework.ws.transport.TransportOutputStream;
+import org.w3c.dom.Node;
+
+import com.sun.xml.fastinfoset.dom.DOMDocumentSerializer;
+
+import jakarta.xml.soap.MimeHeader;
+import jakarta.xml.soap.MimeHeaders;
+
+/**
+ * Detección y escritura de Fast Infoset. El sobre se serializa en binario directamente sobre
+ * el stream de salida (DOMDocumentSerializer, el mismo que usa SAAJ), sin bytes intermedios ni
+ * volver a crear el mensaje SAAJ.
+ */
+final class FastInfosetMessages {
+
+    static final String FAST_INFOSET_CONTENT_TYPE = "application/fastinfoset";
+
+    static final String CONTENT_TYPE_HEADER = "Content-Type";
+
+    private FastInfosetMessages() {
+    }
+
+    static boolean isFastInfoset(String contentType) {
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(FAST_INFOSET_CONTENT_TYPE);
+    }
+
+    static boolean isFastInfoset(MimeHeaders mimeHeaders) {
+        String[] contentType = mimeHeaders.getHeader(CONTENT_TYPE_HEADER);
+        return contentType != null && contentType.length > 0 && isFastInfoset(contentType[0]);
+    }
+
+    /**
+     * Copia las cabeceras MIME al transporte con el Content-Type de Fast Infoset; el
+     * Content-Length de SAAJ, si lo hay, corresponde al XML y se descarta
+     */
+    static void addTransportHeaders(MimeHeaders mimeHeaders, OutputStream outputStream) throws IOException {
+        if (!(outputStream instanceof TransportOutputStream transportOutputStream)) {
+            return;
+        }
+        for (Iterator<MimeHeader> headers = mimeHeaders.getAllHeaders(); headers.hasNext();) {
+            MimeHeader header = headers.next();
+            if (!CONTENT_TYPE_HEADER.equalsIgnoreCase(header.getName())
+                    && !"Content-Length".equalsIgnoreCase(header.getName())) {
+                transportOutputStream.addHeader(header.getName(), header.getValue());
+            }
+        }
+        transportOutputStream.addHeader(CONTENT_TYPE_HEADER, FAST_INFOSET_CONTENT_TYPE);
+    }
+
+    /**
+     * Escribe el documento (el SOAPPart de SAAJ) en Fast Infoset sobre el stream
+     */
+    static void write(Node document, OutputStream outputStream) throws IOException {
+        DOMDocumentSerializer serializer = new DOMDocumentSerializer();
+        serializer.setOutputStream(outputStream);
+        serializer.serialize(document);
+    }
+}
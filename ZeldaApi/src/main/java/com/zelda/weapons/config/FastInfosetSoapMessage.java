@@ -0,0 +1,58 @@
+package com.zelda.weapons.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.util.ObjectUtils;
+import org.springframework.ws.soap.saaj.SaajSoapMessage;
+import org.springframework.ws.soap.saaj.SaajSoapMessageException;
+import org.springframework.ws.transport.TransportConstants;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+
+/**
+ * SaajSoapMessage que se puede escribir en Fast Infoset. encodeAsFastInfoset solo marca el
+ * mensaje: writeTo serializa entonces el sobre SAAJ en binario directamente sobre el stream de
+ * salida, así que los cambios posteriores al marcado también se envían.
+ */
+public class FastInfosetSoapMessage extends SaajSoapMessage {
+
+    private boolean fastInfoset;
+
+    public FastInfosetSoapMessage(SOAPMessage saajMessage, MessageFactory messageFactory) {
+        super(saajMessage, messageFactory);
+    }
+
+    public void encodeAsFastInfoset() {
+        this.fastInfoset = true;
+    }
+
+    public boolean isFastInfosetEncoded() {
+        return fastInfoset;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        if (!fastInfoset) {
+            super.writeTo(outputStream);
+            return;
+        }
+        SOAPMessage saajMessage = getSaajMessage();
+        MimeHeaders mimeHeaders = saajMessage.getMimeHeaders();
+        if (ObjectUtils.isEmpty(mimeHeaders.getHeader(TransportConstants.HEADER_ACCEPT))) {
+            mimeHeaders.setHeader(TransportConstants.HEADER_ACCEPT, getVersion().getContentType());
+        }
+        try {
+            // Igual que SaajSoapMessage: SAAJ completa sus cabeceras (SOAPAction) antes de copiarlas
+            saajMessage.saveChanges();
+        } catch (SOAPException ex) {
+            throw new SaajSoapMessageException("No se pudo guardar el mensaje SAAJ: " + ex.getMessage(), ex);
+        }
+        FastInfosetMessages.addTransportHeaders(mimeHeaders, outputStream);
+        FastInfosetMessages.write(saajMessage.getSOAPPart(), outputStream);
+        outputStream.flush();
+    }
+}
@@ -0,0 +1,30 @@
+package com.zelda.weapons.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Convierte en 304 Not Modified las peticiones SOAP que un endpoint marcó como no modificadas
+ * (If-None-Match coincide con el ETag actual). El endpoint no genera respuesta, así que
+ * Spring-WS solo deja un 202 sin cuerpo que aquí se reemplaza.
+ */
+public class NotModifiedFilter extends OncePerRequestFilter {
+
+    public static final String NOT_MODIFIED_ATTRIBUTE = NotModifiedFilter.class.getName() + ".NOT_MODIFIED";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+
+        if (Boolean.TRUE.equals(request.getAttribute(NOT_MODIFIED_ATTRIBUTE)) && !response.isCommitted()) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        }
+    }
+}
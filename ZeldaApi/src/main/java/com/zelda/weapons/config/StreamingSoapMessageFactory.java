@@ -0,0 +1,22 @@
+package com.zelda.weapons.config;
+
+import org.springframework.ws.soap.SoapVersion;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPMessage;
+
+/**
+ * SaajSoapMessageFactory cuyas respuestas se escriben en streaming (StreamingSoapResponseMessage).
+ * Las peticiones se siguen leyendo con SAAJ: son pequeñas salvo createWeaponsBatch
+ */
+public class StreamingSoapMessageFactory extends FastInfosetSoapMessageFactory {
+
+    public StreamingSoapMessageFactory() {
+        setSoapVersion(SoapVersion.SOAP_11);
+    }
+
+    @Override
+    protected FastInfosetSoapMessage createWebServiceMessage(SOAPMessage saajMessage, MessageFactory messageFactory) {
+        return new StreamingSoapResponseMessage(saajMessage, messageFactory);
+    }
+}
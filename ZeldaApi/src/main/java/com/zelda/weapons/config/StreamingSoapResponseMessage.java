@@ -0,0 +1,279 @@
+package com.zelda.weapons.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Locale;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Result;
+import javax.xml.transform.Source;
+
+import org.springframework.util.Assert;
+import org.springframework.ws.soap.SoapBody;
+import org.springframework.ws.soap.SoapEnvelope;
+import org.springframework.ws.soap.SoapHeader;
+import org.springframework.ws.soap.SoapVersion;
+import org.springframework.ws.soap.saaj.SaajSoapMessageException;
+import org.springframework.ws.soap.soap11.Soap11Body;
+import org.springframework.ws.soap.soap11.Soap11Fault;
+import org.springframework.ws.stream.StreamingPayload;
+import org.springframework.ws.stream.StreamingWebServiceMessage;
+import org.springframework.ws.transport.TransportConstants;
+import org.springframework.ws.transport.TransportOutputStream;
+
+import com.sun.xml.fastinfoset.stax.StAXDocumentSerializer;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPMessage;
+
+/**
+ * Respuesta SOAP 1.1 que serializa el payload directamente sobre el stream de salida con StAX.
+ * Los endpoints que devuelven clases JAXB dejan aquí su payload (StreamingWebServiceMessage) y
+ * JAXB escribe en writeTo sin pasar por el DOM de SAAJ, en XML o en Fast Infoset si se negoció.
+ * Cualquier otro acceso al contenido (interceptores, faults) vuelca antes el payload al mensaje
+ * SAAJ y a partir de ahí se comporta como un FastInfosetSoapMessage normal.
+ */
+public class StreamingSoapResponseMessage extends FastInfosetSoapMessage implements StreamingWebServiceMessage {
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private static final String ENVELOPE_PREFIX = "SOAP-ENV";
+
+    private StreamingPayload streamingPayload;
+
+    public StreamingSoapResponseMessage(SOAPMessage saajMessage, MessageFactory messageFactory) {
+        super(saajMessage, messageFactory);
+    }
+
+    @Override
+    public void setStreamingPayload(StreamingPayload payload) {
+        Assert.notNull(payload, "'payload' must not be null");
+        this.streamingPayload = payload;
+    }
+
+    public boolean isStreaming() {
+        return streamingPayload != null;
+    }
+
+    @Override
+    public SoapVersion getVersion() {
+        return SoapVersion.SOAP_11;
+    }
+
+    @Override
+    public SOAPMessage getSaajMessage() {
+        materialize();
+        return super.getSaajMessage();
+    }
+
+    /**
+     * Mientras el payload está pendiente, MessageDispatcher solo pregunta si la respuesta es un
+     * fault; eso se contesta sin construir el DOM
+     */
+    @Override
+    public SoapEnvelope getEnvelope() {
+        return isStreaming() ? new PendingEnvelope() : super.getEnvelope();
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        StreamingPayload payload = this.streamingPayload;
+        if (payload == null) {
+            super.writeTo(outputStream);
+            return;
+        }
+        boolean fastInfoset = isFastInfosetEncoded();
+        if (outputStream instanceof TransportOutputStream transportOutputStream) {
+            transportOutputStream.addHeader(TransportConstants.HEADER_CONTENT_TYPE, fastInfoset
+                    ? FastInfosetMessages.FAST_INFOSET_CONTENT_TYPE
+                    : getVersion().getContentType() + "; charset=utf-8");
+            transportOutputStream.addHeader(TransportConstants.HEADER_ACCEPT, getVersion().getContentType());
+        }
+        try {
+            XMLStreamWriter writer = fastInfoset
+                    ? new StAXDocumentSerializer(outputStream)
+                    : OUTPUT_FACTORY.createXMLStreamWriter(outputStream, "UTF-8");
+            if (fastInfoset) {
+                // Fast Infoset necesita la cabecera y el terminador del documento
+                writer.writeStartDocument();
+            }
+            String envelopeNamespace = getVersion().getEnvelopeNamespaceUri();
+            writer.writeStartElement(ENVELOPE_PREFIX, "Envelope", envelopeNamespace);
+            writer.writeNamespace(ENVELOPE_PREFIX, envelopeNamespace);
+            writer.writeEmptyElement(ENVELOPE_PREFIX, "Header", envelopeNamespace);
+            writer.writeStartElement(ENVELOPE_PREFIX, "Body", envelopeNamespace);
+            payload.writeTo(writer);
+            writer.writeEndElement();
+            writer.writeEndElement();
+            if (fastInfoset) {
+                writer.writeEndDocument();
+            }
+            writer.flush();
+        } catch (XMLStreamException ex) {
+            throw new IOException("No se pudo escribir la respuesta SOAP: " + ex.getMessage(), ex);
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * Escribe el payload pendiente en el cuerpo del mensaje SAAJ
+     */
+    private void materialize() {
+        StreamingPayload payload = this.streamingPayload;
+        if (payload == null) {
+            return;
+        }
+        this.streamingPayload = null;
+        try {
+            XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(super.getEnvelope().getBody().getPayloadResult());
+            payload.writeTo(writer);
+            writer.flush();
+        } catch (XMLStreamException ex) {
+            throw new SaajSoapMessageException("No se pudo volcar el payload al mensaje SAAJ: " + ex.getMessage(), ex);
+        }
+    }
+
+    private SoapEnvelope materializedEnvelope() {
+        materialize();
+        return super.getEnvelope();
+    }
+
+    private Soap11Body materializedBody() {
+        return (Soap11Body) materializedEnvelope().getBody();
+    }
+
+    private class PendingEnvelope implements SoapEnvelope {
+
+        @Override
+        public SoapHeader getHeader() {
+            return materializedEnvelope().getHeader();
+        }
+
+        @Override
+        public SoapBody getBody() {
+            return isStreaming() ? new PendingBody() : materializedEnvelope().getBody();
+        }
+
+        @Override
+        public QName getName() {
+            return materializedEnvelope().getName();
+        }
+
+        @Override
+        public Source getSource() {
+            return materializedEnvelope().getSource();
+        }
+
+        @Override
+        public void addAttribute(QName name, String value) {
+            materializedEnvelope().addAttribute(name, value);
+        }
+
+        @Override
+        public void removeAttribute(QName name) {
+            materializedEnvelope().removeAttribute(name);
+        }
+
+        @Override
+        public String getAttributeValue(QName name) {
+            return materializedEnvelope().getAttributeValue(name);
+        }
+
+        @Override
+        public Iterator<QName> getAllAttributes() {
+            return materializedEnvelope().getAllAttributes();
+        }
+
+        @Override
+        public void addNamespaceDeclaration(String prefix, String namespaceUri) {
+            materializedEnvelope().addNamespaceDeclaration(prefix, namespaceUri);
+        }
+    }
+
+    private class PendingBody implements Soap11Body {
+
+        @Override
+        public boolean hasFault() {
+            return !isStreaming() && materializedBody().hasFault();
+        }
+
+        @Override
+        public Soap11Fault getFault() {
+            return isStreaming() ? null : materializedBody().getFault();
+        }
+
+        @Override
+        public Source getPayloadSource() {
+            return materializedBody().getPayloadSource();
+        }
+
+        @Override
+        public Result getPayloadResult() {
+            return materializedBody().getPayloadResult();
+        }
+
+        @Override
+        public Soap11Fault addFault(QName faultCode, String faultString, Locale faultStringLocale) {
+            return materializedBody().addFault(faultCode, faultString, faultStringLocale);
+        }
+
+        @Override
+        public Soap11Fault addMustUnderstandFault(String faultString, Locale locale) {
+            return materializedBody().addMustUnderstandFault(faultString, locale);
+        }
+
+        @Override
+        public Soap11Fault addClientOrSenderFault(String faultString, Locale locale) {
+            return materializedBody().addClientOrSenderFault(faultString, locale);
+        }
+
+        @Override
+        public Soap11Fault addServerOrReceiverFault(String faultString, Locale locale) {
+            return materializedBody().addServerOrReceiverFault(faultString, locale);
+        }
+
+        @Override
+        public Soap11Fault addVersionMismatchFault(String faultString, Locale locale) {
+            return materializedBody().addVersionMismatchFault(faultString, locale);
+        }
+
+        @Override
+        public QName getName() {
+            return materializedBody().getName();
+        }
+
+        @Override
+        public Source getSource() {
+            return materializedBody().getSource();
+        }
+
+        @Override
+        public void addAttribute(QName name, String value) {
+            materializedBody().addAttribute(name, value);
+        }
+
+        @Override
+        public void removeAttribute(QName name) {
+            materializedBody().removeAttribute(name);
+        }
+
+        @Override
+        public String getAttributeValue(QName name) {
+            return materializedBody().getAttributeValue(name);
+        }
+
+        @Override
+        public Iterator<QName> getAllAttributes() {
+            return materializedBody().getAllAttributes();
+        }
+
+        @Override
+        public void addNamespaceDeclaration(String prefix, String namespaceUri) {
+            materializedBody().addNamespaceDeclaration(prefix, namespaceUri);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.zelda.weapons.config;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.zelda.weapons.endpoint.WeaponGrpcEndpoint;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+
+/**
+ * Servidor gRPC (HTTP/2) que convive con el endpoint SOAP en el mismo proceso.
+ * Se inicia y detiene con el contexto de Spring. Con spring.threads.virtual.enabled=true
+ * cada llamada se ejecuta en un hilo virtual, igual que las peticiones de Tomcat.
+ */
+@Component
+public class WeaponGrpcServer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeaponGrpcServer.class);
+
+    private final Server server;
+    private volatile boolean running = false;
+
+    public WeaponGrpcServer(WeaponGrpcEndpoint weaponGrpcEndpoint,
+                            @Value("${grpc.server.port:9091}") int port,
+                            Environment environment) {
+        ServerBuilder<?> builder = ServerBuilder.forPort(port)
+                .addService(weaponGrpcEndpoint);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            builder.executor(new VirtualThreadTaskExecutor("grpc-"));
+        }
+        this.server = builder.build();
+    }
+
+    @Override
+    public void start() {
+        try {
+            server.start();
+            running = true;
+            logger.info("Servidor gRPC de armas escuchando en el puerto {}", server.getPort());
+        } catch (IOException ex) {
+            throw new IllegalStateException("No se pudo iniciar el servidor gRPC", ex);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        server.shutdown();
+        try {
+            // Deja terminar las llamadas en curso antes de cerrar
+            if (!server.awaitTermination(10, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            server.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -1,5 +1,9 @@
 package com.zelda.weapons.config;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -7,6 +11,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.ws.config.annotation.EnableWs;
 import org.springframework.ws.config.annotation.WsConfigurerAdapter;
+import org.springframework.ws.server.EndpointInterceptor;
+import org.springframework.ws.soap.SoapVersion;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
 import org.springframework.ws.transport.http.MessageDispatcherServlet;
 import org.springframework.ws.wsdl.wsdl11.DefaultWsdl11Definition;
 import org.springframework.xml.xsd.SimpleXsdSchema;
@@ -16,12 +23,45 @@ import org.springframework.xml.xsd.XsdSchema;
 @Configuration
 public class WebServiceConfig extends WsConfigurerAdapter {
 
+    private static final String WS_URL_MAPPING = "/ws/*";
+
+    @Value("${zelda.ws.fast-infoset.enabled:false}")
+    private boolean fastInfosetEnabled;
+
+    @Override
+    public void addInterceptors(List<EndpointInterceptor> interceptors) {
+        if (fastInfosetEnabled) {
+            interceptors.add(new FastInfosetEndpointInterceptor());
+        }
+    }
+
+    /**
+     * Fábrica de mensajes del MessageDispatcherServlet (se busca por el nombre "messageFactory").
+     * Con "streaming" las respuestas JAXB se escriben con StAX directamente sobre la respuesta HTTP;
+     * con "saaj" se construye el DOM completo como hasta ahora
+     */
+    @Bean(name = MessageDispatcherServlet.DEFAULT_MESSAGE_FACTORY_BEAN_NAME)
+    public SaajSoapMessageFactory messageFactory(@Value("${zelda.ws.message-factory:streaming}") String messageFactoryType) {
+        SaajSoapMessageFactory messageFactory = "saaj".equalsIgnoreCase(messageFactoryType)
+                ? new FastInfosetSoapMessageFactory()
+                : new StreamingSoapMessageFactory();
+        messageFactory.setSoapVersion(SoapVersion.SOAP_11);
+        return messageFactory;
+    }
+
     @Bean
     public ServletRegistrationBean<MessageDispatcherServlet> messageDispatcherServlet(ApplicationContext applicationContext) {
         MessageDispatcherServlet servlet = new MessageDispatcherServlet();
         servlet.setApplicationContext(applicationContext);
         servlet.setTransformWsdlLocations(true);
-        return new ServletRegistrationBean<>(servlet, "/ws/*");
+        return new ServletRegistrationBean<>(servlet, WS_URL_MAPPING);
+    }
+
+    @Bean
+    public FilterRegistrationBean<NotModifiedFilter> notModifiedFilter() {
+        FilterRegistrationBean<NotModifiedFilter> registration = new FilterRegistrationBean<>(new NotModifiedFilter());
+        registration.addUrlPatterns(WS_URL_MAPPING);
+        return registration;
     }
 
     @Bean(name = "weapons")
@@ -1,25 +1,50 @@
 package com.zelda.weapons.endpoint;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import javax.xml.transform.Source;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.ws.server.endpoint.annotation.Endpoint;
 import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
 import org.springframework.ws.server.endpoint.annotation.RequestPayload;
 import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
+import org.springframework.ws.transport.WebServiceConnection;
+import org.springframework.ws.transport.context.TransportContext;
+import org.springframework.ws.transport.context.TransportContextHolder;
+import org.springframework.ws.transport.http.HttpServletConnection;
+
+import com.zelda.weapons.config.NotModifiedFilter;
 
 import com.zelda.weapons.mapper.WeaponMapper;
 import com.zelda.weapons.model.Weapon;
+import com.zelda.weapons.service.WeaponBatchResult;
+import com.zelda.weapons.service.WeaponPage;
 import com.zelda.weapons.service.WeaponService;
 import com.zelda.weapons.validator.WeaponAlreadyExistsException;
+import com.zelda.weapons.validator.WeaponValidationException;
+import com.zelda.weapons.validator.WeaponVersionConflictException;
 import com.zelda.weapons.ws.CreateWeaponRequest;
 import com.zelda.weapons.ws.CreateWeaponResponse;
+import com.zelda.weapons.ws.CreateWeaponResult;
+import com.zelda.weapons.ws.CreateWeaponsBatchRequest;
+import com.zelda.weapons.ws.CreateWeaponsBatchResponse;
 import com.zelda.weapons.ws.DeleteWeaponRequest;
 import com.zelda.weapons.ws.DeleteWeaponResponse;
 import com.zelda.weapons.ws.GetWeaponRequest;
-import com.zelda.weapons.ws.GetWeaponResponse;
+import com.zelda.weapons.ws.GetWeaponsBatchRequest;
+import com.zelda.weapons.ws.GetWeaponsBatchResponse;
+import com.zelda.weapons.ws.ListWeaponsRequest;
+import com.zelda.weapons.ws.ListWeaponsResponse;
+import com.zelda.weapons.ws.SortDirection;
 import com.zelda.weapons.ws.UpdateWeaponRequest;
 import com.zelda.weapons.ws.UpdateWeaponResponse;
+import com.zelda.weapons.ws.WeaponInput;
 
 @Endpoint
 public class WeaponEndpoint {
@@ -28,22 +53,108 @@ public class WeaponEndpoint {
 
     private final WeaponService weaponService;
     private final WeaponMapper weaponMapper;
+    private final WeaponResponseCache weaponResponseCache;
 
     @Autowired
-    public WeaponEndpoint(WeaponService weaponService, WeaponMapper weaponMapper) {
+    public WeaponEndpoint(WeaponService weaponService, WeaponMapper weaponMapper,
+                          WeaponResponseCache weaponResponseCache) {
         this.weaponService = weaponService;
         this.weaponMapper = weaponMapper;
+        this.weaponResponseCache = weaponResponseCache;
     }
 
+    /**
+     * Devuelve el getWeaponResponse ya serializado desde caché. Sobre HTTP responde con ETag
+     * y, si If-None-Match coincide con la versión actual, con 304 sin cuerpo
+     */
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getWeaponRequest")
     @ResponsePayload
-    public GetWeaponResponse getWeapon(@RequestPayload GetWeaponRequest request) {
+    public Source getWeapon(@RequestPayload GetWeaponRequest request) {
         UUID weaponId = UUID.fromString(request.getId());
         Weapon weaponEntity = weaponService.getWeaponById(weaponId);
-        com.zelda.weapons.ws.Weapon weaponSoap = weaponMapper.entityToSoap(weaponEntity);
-        
-        GetWeaponResponse response = new GetWeaponResponse();
-        response.setWeapon(weaponSoap);
+        String etag = WeaponResponseCache.etagFor(weaponEntity);
+
+        HttpServletConnection connection = currentHttpConnection();
+        if (connection != null) {
+            String ifNoneMatch = connection.getHttpServletRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
+            connection.getHttpServletResponse().setHeader(HttpHeaders.ETAG, etag);
+            if (etagMatches(ifNoneMatch, etag)) {
+                // Sin respuesta SOAP: NotModifiedFilter la convierte en 304
+                connection.getHttpServletRequest().setAttribute(NotModifiedFilter.NOT_MODIFIED_ATTRIBUTE, Boolean.TRUE);
+                return null;
+            }
+        }
+
+        return weaponResponseCache.getWeaponResponse(weaponEntity);
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getWeaponsBatchRequest")
+    @ResponsePayload
+    public GetWeaponsBatchResponse getWeaponsBatch(@RequestPayload GetWeaponsBatchRequest request) {
+        List<UUID> weaponIds = new ArrayList<>(request.getId().size());
+        for (String id : request.getId()) {
+            try {
+                weaponIds.add(UUID.fromString(id));
+            } catch (IllegalArgumentException ex) {
+                throw new WeaponValidationException("ID de arma inválido: " + id, ex);
+            }
+        }
+
+        List<Weapon> weapons = weaponService.getWeaponsByIds(weaponIds);
+
+        GetWeaponsBatchResponse response = new GetWeaponsBatchResponse();
+        Set<UUID> foundIds = new HashSet<>();
+        for (Weapon weaponEntity : weapons) {
+            foundIds.add(weaponEntity.getId());
+            response.getWeapon().add(weaponMapper.entityToSoap(weaponEntity));
+        }
+        for (UUID weaponId : weaponIds) {
+            if (foundIds.add(weaponId)) {
+                response.getMissingId().add(weaponId.toString());
+            }
+        }
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "createWeaponsBatchRequest")
+    @ResponsePayload
+    public CreateWeaponsBatchResponse createWeaponsBatch(@RequestPayload CreateWeaponsBatchRequest request) {
+        List<Weapon> weapons = new ArrayList<>(request.getWeaponInput().size());
+        for (WeaponInput weaponInput : request.getWeaponInput()) {
+            weapons.add(weaponMapper.soapInputToEntity(weaponInput));
+        }
+
+        CreateWeaponsBatchResponse response = new CreateWeaponsBatchResponse();
+        for (WeaponBatchResult result : weaponService.createWeapons(weapons)) {
+            CreateWeaponResult soapResult = new CreateWeaponResult();
+            soapResult.setIndex(result.getIndex());
+            soapResult.setSuccess(result.isSuccess());
+            soapResult.setWeapon(weaponMapper.entityToSoap(result.getWeapon()));
+            soapResult.setErrorCode(result.getErrorCode());
+            soapResult.setMessage(result.getMessage());
+            response.getResult().add(soapResult);
+        }
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "listWeaponsRequest")
+    @ResponsePayload
+    public ListWeaponsResponse listWeapons(@RequestPayload ListWeaponsRequest request) {
+        boolean ascending = request.getSortDirection() != SortDirection.DESC;
+        WeaponPage page = weaponService.listWeapons(
+                weaponMapper.soapListRequestToFilter(request),
+                weaponMapper.mapSortFieldToEntity(request.getSortBy()),
+                ascending,
+                request.getPageSize(),
+                request.getCursor(),
+                Boolean.TRUE.equals(request.isIncludeTotal()));
+
+        ListWeaponsResponse response = new ListWeaponsResponse();
+        for (Weapon weaponEntity : page.getContent()) {
+            response.getWeapon().add(weaponMapper.entityToSoap(weaponEntity));
+        }
+        response.setNextCursor(page.getNextCursor());
+        response.setTotalCount(page.getTotalCount());
         return response;
     }
 
@@ -71,6 +182,7 @@ public class WeaponEndpoint {
         try {
             UUID weaponId = UUID.fromString(request.getId());
             weaponService.deleteWeapon(weaponId);
+            weaponResponseCache.evict(weaponId);
             
             DeleteWeaponResponse response = new DeleteWeaponResponse();
             response.setSuccess(true);
@@ -91,7 +203,8 @@ public class WeaponEndpoint {
         try {
             UUID weaponId = UUID.fromString(request.getId());
             Weapon weaponEntity = weaponMapper.soapInputToEntity(request.getWeaponInput());
-            Weapon updatedWeapon = weaponService.updateWeapon(weaponId, weaponEntity);
+            Weapon updatedWeapon = weaponService.updateWeapon(weaponId, weaponEntity, request.getExpectedVersion());
+            weaponResponseCache.evict(weaponId);
             com.zelda.weapons.ws.Weapon weaponSoap = weaponMapper.entityToSoap(updatedWeapon);
             
             UpdateWeaponResponse response = new UpdateWeaponResponse();
@@ -100,6 +213,8 @@ public class WeaponEndpoint {
             
         } catch (WeaponAlreadyExistsException ex) {
             throw new RuntimeException("ALREADY_EXISTS: " + ex.getMessage());
+        } catch (WeaponVersionConflictException ex) {
+            throw new RuntimeException("VERSION_CONFLICT: " + ex.getMessage());
         } catch (Exception ex) {
             if (ex.getMessage().contains("no encontrada")) {
                 throw new RuntimeException("NOT_FOUND: " + ex.getMessage());
@@ -107,4 +222,29 @@ public class WeaponEndpoint {
             throw new RuntimeException("ERROR: " + ex.getMessage());
         }
     }
+
+    private static HttpServletConnection currentHttpConnection() {
+        TransportContext transportContext = TransportContextHolder.getTransportContext();
+        if (transportContext == null) {
+            return null;
+        }
+        WebServiceConnection connection = transportContext.getConnection();
+        return connection instanceof HttpServletConnection httpConnection ? httpConnection : null;
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,239 @@
+package com.zelda.weapons.endpoint;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.zelda.weapons.grpc.CreateWeaponRequest;
+import com.zelda.weapons.grpc.CreateWeaponResult;
+import com.zelda.weapons.grpc.CreateWeaponsBatchRequest;
+import com.zelda.weapons.grpc.CreateWeaponsBatchResponse;
+import com.zelda.weapons.grpc.DeleteWeaponRequest;
+import com.zelda.weapons.grpc.DeleteWeaponResponse;
+import com.zelda.weapons.grpc.GetWeaponRequest;
+import com.zelda.weapons.grpc.GetWeaponsBatchRequest;
+import com.zelda.weapons.grpc.GetWeaponsBatchResponse;
+import com.zelda.weapons.grpc.ListWeaponsRequest;
+import com.zelda.weapons.grpc.ListWeaponsResponse;
+import com.zelda.weapons.grpc.PageInfo;
+import com.zelda.weapons.grpc.SortDirection;
+import com.zelda.weapons.grpc.UpdateWeaponRequest;
+import com.zelda.weapons.grpc.WeaponServiceGrpc;
+import com.zelda.weapons.mapper.WeaponGrpcMapper;
+import com.zelda.weapons.model.Weapon;
+import com.zelda.weapons.service.WeaponBatchResult;
+import com.zelda.weapons.service.WeaponPage;
+import com.zelda.weapons.service.WeaponService;
+import com.zelda.weapons.service.WeaponService.WeaponNotFoundException;
+import com.zelda.weapons.validator.WeaponAlreadyExistsException;
+import com.zelda.weapons.validator.WeaponValidationException;
+import com.zelda.weapons.validator.WeaponVersionConflictException;
+
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * Endpoint gRPC de armas. Expone las mismas operaciones que WeaponEndpoint (SOAP)
+ * sobre WeaponService, traduciendo las excepciones de negocio a códigos de estado gRPC.
+ */
+@Component
+public class WeaponGrpcEndpoint extends WeaponServiceGrpc.WeaponServiceImplBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeaponGrpcEndpoint.class);
+
+    private final WeaponService weaponService;
+    private final WeaponGrpcMapper weaponGrpcMapper;
+    private final WeaponResponseCache weaponResponseCache;
+
+    @Autowired
+    public WeaponGrpcEndpoint(WeaponService weaponService, WeaponGrpcMapper weaponGrpcMapper,
+                              WeaponResponseCache weaponResponseCache) {
+        this.weaponService = weaponService;
+        this.weaponGrpcMapper = weaponGrpcMapper;
+        this.weaponResponseCache = weaponResponseCache;
+    }
+
+    @Override
+    public void getWeapon(GetWeaponRequest request, StreamObserver<com.zelda.weapons.grpc.Weapon> responseObserver) {
+        try {
+            Weapon weaponEntity = weaponService.getWeaponById(parseId(request.getId()));
+            responseObserver.onNext(weaponGrpcMapper.entityToGrpc(weaponEntity));
+            responseObserver.onCompleted();
+        } catch (RuntimeException ex) {
+            responseObserver.onError(toStatus(ex));
+        }
+    }
+
+    @Override
+    public void getWeaponsBatch(GetWeaponsBatchRequest request, StreamObserver<GetWeaponsBatchResponse> responseObserver) {
+        try {
+            List<UUID> weaponIds = new ArrayList<>(request.getIdsCount());
+            for (String id : request.getIdsList()) {
+                weaponIds.add(parseId(id));
+            }
+
+            GetWeaponsBatchResponse.Builder response = GetWeaponsBatchResponse.newBuilder();
+            Set<UUID> foundIds = new HashSet<>();
+            for (Weapon weaponEntity : weaponService.getWeaponsByIds(weaponIds)) {
+                foundIds.add(weaponEntity.getId());
+                response.addWeapons(weaponGrpcMapper.entityToGrpc(weaponEntity));
+            }
+            for (UUID weaponId : weaponIds) {
+                if (foundIds.add(weaponId)) {
+                    response.addMissingIds(weaponId.toString());
+                }
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException ex) {
+            responseObserver.onError(toStatus(ex));
+        }
+    }
+
+    @Override
+    public void createWeapon(CreateWeaponRequest request, StreamObserver<com.zelda.weapons.grpc.Weapon> responseObserver) {
+        try {
+            Weapon weaponEntity = weaponGrpcMapper.grpcInputToEntity(request.getWeaponInput());
+            Weapon createdWeapon = weaponService.createWeapon(weaponEntity);
+            responseObserver.onNext(weaponGrpcMapper.entityToGrpc(createdWeapon));
+            responseObserver.onCompleted();
+        } catch (RuntimeException ex) {
+            responseObserver.onError(toStatus(ex));
+        }
+    }
+
+    @Override
+    public void createWeaponsBatch(CreateWeaponsBatchRequest request,
+                                   StreamObserver<CreateWeaponsBatchResponse> responseObserver) {
+        try {
+            List<Weapon> weapons = new ArrayList<>(request.getWeaponInputsCount());
+            for (com.zelda.weapons.grpc.WeaponInput weaponInput : request.getWeaponInputsList()) {
+                weapons.add(weaponGrpcMapper.grpcInputToEntity(weaponInput));
+            }
+
+            CreateWeaponsBatchResponse.Builder response = CreateWeaponsBatchResponse.newBuilder();
+            for (WeaponBatchResult result : weaponService.createWeapons(weapons)) {
+                CreateWeaponResult.Builder grpcResult = CreateWeaponResult.newBuilder()
+                        .setIndex(result.getIndex())
+                        .setSuccess(result.isSuccess());
+                if (result.getWeapon() != null) {
+                    grpcResult.setWeapon(weaponGrpcMapper.entityToGrpc(result.getWeapon()));
+                }
+                if (result.getErrorCode() != null) {
+                    grpcResult.setErrorCode(result.getErrorCode());
+                }
+                if (result.getMessage() != null) {
+                    grpcResult.setMessage(result.getMessage());
+                }
+                response.addResults(grpcResult);
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException ex) {
+            responseObserver.onError(toStatus(ex));
+        }
+    }
+
+    @Override
+    public void updateWeapon(UpdateWeaponRequest request, StreamObserver<com.zelda.weapons.grpc.Weapon> responseObserver) {
+        try {
+            UUID weaponId = parseId(request.getId());
+            Weapon weaponEntity = weaponGrpcMapper.grpcInputToEntity(request.getWeaponInput());
+            Long expectedVersion = request.hasExpectedVersion() ? request.getExpectedVersion() : null;
+            Weapon updatedWeapon = weaponService.updateWeapon(weaponId, weaponEntity, expectedVersion);
+            weaponResponseCache.evict(weaponId);
+
+            responseObserver.onNext(weaponGrpcMapper.entityToGrpc(updatedWeapon));
+            responseObserver.onCompleted();
+        } catch (RuntimeException ex) {
+            responseObserver.onError(toStatus(ex));
+        }
+    }
+
+    @Override
+    public void deleteWeapon(DeleteWeaponRequest request, StreamObserver<DeleteWeaponResponse> responseObserver) {
+        try {
+            UUID weaponId = parseId(request.getId());
+            weaponService.deleteWeapon(weaponId);
+            weaponResponseCache.evict(weaponId);
+
+            responseObserver.onNext(DeleteWeaponResponse.newBuilder()
+                    .setSuccess(true)
+                    .setMessage("Arma eliminada exitosamente")
+                    .build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException ex) {
+            responseObserver.onError(toStatus(ex));
+        }
+    }
+
+    @Override
+    public void listWeapons(ListWeaponsRequest request, StreamObserver<ListWeaponsResponse> responseObserver) {
+        WeaponPage page;
+        try {
+            page = weaponService.listWeapons(
+                    weaponGrpcMapper.grpcListRequestToFilter(request),
+                    weaponGrpcMapper.mapSortFieldToEntity(request.getSortBy()),
+                    request.getSortDirection() != SortDirection.DESC,
+                    request.getPageSize() > 0 ? request.getPageSize() : null,
+                    request.getCursor(),
+                    request.getIncludeTotal());
+        } catch (RuntimeException ex) {
+            responseObserver.onError(toStatus(ex));
+            return;
+        }
+
+        for (Weapon weaponEntity : page.getContent()) {
+            responseObserver.onNext(ListWeaponsResponse.newBuilder()
+                    .setWeapon(weaponGrpcMapper.entityToGrpc(weaponEntity))
+                    .build());
+        }
+
+        PageInfo.Builder pageInfo = PageInfo.newBuilder();
+        if (page.getNextCursor() != null) {
+            pageInfo.setNextCursor(page.getNextCursor());
+        }
+        if (page.getTotalCount() != null) {
+            pageInfo.setTotalCount(page.getTotalCount());
+        }
+        responseObserver.onNext(ListWeaponsResponse.newBuilder().setPageInfo(pageInfo).build());
+        responseObserver.onCompleted();
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            throw new WeaponValidationException("ID de arma inválido: " + id, ex);
+        }
+    }
+
+    /**
+     * Equivalente a los prefijos de fault SOAP (NOT_FOUND:, ALREADY_EXISTS:, VERSION_CONFLICT:)
+     */
+    private static Throwable toStatus(RuntimeException ex) {
+        Status status;
+        if (ex instanceof WeaponNotFoundException) {
+            status = Status.NOT_FOUND;
+        } else if (ex instanceof WeaponAlreadyExistsException) {
+            status = Status.ALREADY_EXISTS;
+        } else if (ex instanceof WeaponVersionConflictException) {
+            status = Status.ABORTED;
+        } else if (ex instanceof WeaponValidationException) {
+            status = Status.INVALID_ARGUMENT;
+        } else {
+            logger.error("Error inesperado en el endpoint gRPC de armas", ex);
+            status = Status.INTERNAL;
+        }
+        return status.withDescription(ex.getMessage()).asRuntimeException();
+    }
+}
@@ -0,0 +1,103 @@
+package com.zelda.weapons.endpoint;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.UUID;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zelda.weapons.mapper.WeaponMapper;
+import com.zelda.weapons.model.Weapon;
+import com.zelda.weapons.ws.GetWeaponResponse;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+
+/**
+ * Caché de la respuesta de getWeapon ya serializada con JAXB.
+ * Cada entrada guarda la versión del arma con la que se generó, así que una versión
+ * distinta vuelve a serializar; update y delete la invalidan explícitamente.
+ */
+@Component
+public class WeaponResponseCache {
+
+    private final WeaponMapper weaponMapper;
+    private final JAXBContext jaxbContext;
+    private final Cache<UUID, CachedResponse> responses;
+
+    public WeaponResponseCache(WeaponMapper weaponMapper,
+                               @Value("${zelda.ws.response-cache.max-size:10000}") long maxSize) throws JAXBException {
+        this.weaponMapper = weaponMapper;
+        this.jaxbContext = JAXBContext.newInstance(GetWeaponResponse.class);
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Devuelve el payload de getWeaponResponse para la versión indicada del arma
+     */
+    public Source getWeaponResponse(Weapon weapon) {
+        CachedResponse cached = responses.getIfPresent(weapon.getId());
+        if (cached == null || !cached.isVersion(weapon.getVersion())) {
+            CachedResponse fresh = new CachedResponse(weapon.getVersion(), marshal(weapon));
+            // No se reemplaza una entrada más reciente con una lectura atrasada
+            responses.asMap().merge(weapon.getId(), fresh,
+                    (current, candidate) -> current.isNewerThan(candidate) ? current : candidate);
+            cached = fresh;
+        }
+        return new StreamSource(new ByteArrayInputStream(cached.payload));
+    }
+
+    public void evict(UUID weaponId) {
+        responses.invalidate(weaponId);
+    }
+
+    /**
+     * ETag fuerte derivado del ID y la versión del arma
+     */
+    public static String etagFor(Weapon weapon) {
+        return "\"" + weapon.getId() + "-" + weapon.getVersion() + "\"";
+    }
+
+    private byte[] marshal(Weapon weapon) {
+        GetWeaponResponse response = new GetWeaponResponse();
+        response.setWeapon(weaponMapper.entityToSoap(weapon));
+
+        try {
+            // Marshaller no es thread-safe; crearlo desde el contexto compartido es barato
+            Marshaller marshaller = jaxbContext.createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(512);
+            marshaller.marshal(response, output);
+            return output.toByteArray();
+        } catch (JAXBException ex) {
+            throw new IllegalStateException("Error al serializar getWeaponResponse para el arma " + weapon.getId(), ex);
+        }
+    }
+
+    private static final class CachedResponse {
+        private final Long version;
+        private final byte[] payload;
+
+        private CachedResponse(Long version, byte[] payload) {
+            this.version = version;
+            this.payload = payload;
+        }
+
+        private boolean isVersion(Long otherVersion) {
+            return version != null && version.equals(otherVersion);
+        }
+
+        private boolean isNewerThan(CachedResponse other) {
+            return version != null && other.version != null && version > other.version;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.zelda.weapons.enums;
+
+public enum WeaponSortField {
+    NAME("name"),
+    DAMAGE("damage"),
+    DURABILITY("durability");
+
+    private final String attribute;
+
+    WeaponSortField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * Nombre del atributo JPA por el que se ordena
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+}
@@ -0,0 +1,106 @@
+package com.zelda.weapons.mapper;
+
+import org.springframework.stereotype.Component;
+
+import com.zelda.weapons.enums.WeaponSortField;
+import com.zelda.weapons.repository.WeaponFilter;
+
+/**
+ * Conversión entre la entidad Weapon y los mensajes protobuf de weapons.proto.
+ * Los valores *_UNSPECIFIED de los enums equivalen a null.
+ */
+@Component
+public class WeaponGrpcMapper {
+
+    public com.zelda.weapons.grpc.Weapon entityToGrpc(com.zelda.weapons.model.Weapon entityWeapon) {
+        com.zelda.weapons.grpc.Weapon.Builder builder = com.zelda.weapons.grpc.Weapon.newBuilder()
+                .setId(entityWeapon.getId().toString())
+                .setName(entityWeapon.getName())
+                .setWeaponType(mapWeaponTypeToGrpc(entityWeapon.getWeaponType()))
+                .setDamage(entityWeapon.getDamage())
+                .setDurability(entityWeapon.getDurability())
+                .setElement(mapElementToGrpc(entityWeapon.getElement()));
+
+        if (entityWeapon.getVersion() != null) {
+            builder.setVersion(entityWeapon.getVersion());
+        }
+
+        return builder.build();
+    }
+
+    public com.zelda.weapons.model.Weapon grpcInputToEntity(com.zelda.weapons.grpc.WeaponInput weaponInput) {
+        com.zelda.weapons.model.Weapon entityWeapon = new com.zelda.weapons.model.Weapon();
+        entityWeapon.setName(weaponInput.getName());
+        entityWeapon.setWeaponType(mapWeaponTypeToEntity(weaponInput.getWeaponType()));
+        entityWeapon.setDamage(weaponInput.getDamage());
+        entityWeapon.setDurability(weaponInput.getDurability());
+        entityWeapon.setElement(mapElementToEntity(weaponInput.getElement()));
+
+        return entityWeapon;
+    }
+
+    public WeaponFilter grpcListRequestToFilter(com.zelda.weapons.grpc.ListWeaponsRequest request) {
+        return new WeaponFilter(
+                mapWeaponTypeToEntity(request.getWeaponType()),
+                mapElementToEntity(request.getElement()),
+                request.hasMinDamage() ? request.getMinDamage() : null,
+                request.hasMaxDamage() ? request.getMaxDamage() : null);
+    }
+
+    public WeaponSortField mapSortFieldToEntity(com.zelda.weapons.grpc.WeaponSortField grpcSortField) {
+        return switch (grpcSortField) {
+            case NAME -> WeaponSortField.NAME;
+            case DAMAGE -> WeaponSortField.DAMAGE;
+            case DURABILITY -> WeaponSortField.DURABILITY;
+            default -> null;
+        };
+    }
+
+    private com.zelda.weapons.grpc.WeaponType mapWeaponTypeToGrpc(com.zelda.weapons.enums.WeaponType entityType) {
+        if (entityType == null) {
+            return com.zelda.weapons.grpc.WeaponType.WEAPON_TYPE_UNSPECIFIED;
+        }
+
+        return switch (entityType) {
+            case ONE_HANDED_SWORD -> com.zelda.weapons.grpc.WeaponType.ONE_HANDED_SWORD;
+            case TWO_HANDED_SWORD -> com.zelda.weapons.grpc.WeaponType.TWO_HANDED_SWORD;
+            case SPEAR -> com.zelda.weapons.grpc.WeaponType.SPEAR;
+            case BOW -> com.zelda.weapons.grpc.WeaponType.BOW;
+            case SHIELD -> com.zelda.weapons.grpc.WeaponType.SHIELD;
+        };
+    }
+
+    private com.zelda.weapons.enums.WeaponType mapWeaponTypeToEntity(com.zelda.weapons.grpc.WeaponType grpcType) {
+        return switch (grpcType) {
+            case ONE_HANDED_SWORD -> com.zelda.weapons.enums.WeaponType.ONE_HANDED_SWORD;
+            case TWO_HANDED_SWORD -> com.zelda.weapons.enums.WeaponType.TWO_HANDED_SWORD;
+            case SPEAR -> com.zelda.weapons.enums.WeaponType.SPEAR;
+            case BOW -> com.zelda.weapons.enums.WeaponType.BOW;
+            case SHIELD -> com.zelda.weapons.enums.WeaponType.SHIELD;
+            default -> null;
+        };
+    }
+
+    private com.zelda.weapons.grpc.Element mapElementToGrpc(com.zelda.weapons.enums.Element entityElement) {
+        if (entityElement == null) {
+            return com.zelda.weapons.grpc.Element.ELEMENT_UNSPECIFIED;
+        }
+
+        return switch (entityElement) {
+            case FIRE -> com.zelda.weapons.grpc.Element.FIRE;
+            case ICE -> com.zelda.weapons.grpc.Element.ICE;
+            case LIGHTNING -> com.zelda.weapons.grpc.Element.LIGHTNING;
+            case NONE -> com.zelda.weapons.grpc.Element.NONE;
+        };
+    }
+
+    private com.zelda.weapons.enums.Element mapElementToEntity(com.zelda.weapons.grpc.Element grpcElement) {
+        return switch (grpcElement) {
+            case FIRE -> com.zelda.weapons.enums.Element.FIRE;
+            case ICE -> com.zelda.weapons.enums.Element.ICE;
+            case LIGHTNING -> com.zelda.weapons.enums.Element.LIGHTNING;
+            case NONE -> com.zelda.weapons.enums.Element.NONE;
+            default -> null;
+        };
+    }
+}
@@ -2,6 +2,9 @@ package com.zelda.weapons.mapper;
 
 import org.springframework.stereotype.Component;
 
+import com.zelda.weapons.enums.WeaponSortField;
+import com.zelda.weapons.repository.WeaponFilter;
+
 @Component
 public class WeaponMapper {
 
@@ -17,6 +20,7 @@ public class WeaponMapper {
         soapWeapon.setDamage(entityWeapon.getDamage());
         soapWeapon.setDurability(entityWeapon.getDurability());
         soapWeapon.setElement(mapElementToSoap(entityWeapon.getElement()));
+        soapWeapon.setVersion(entityWeapon.getVersion());
 
         return soapWeapon;
     }
@@ -36,6 +40,30 @@ public class WeaponMapper {
         return entityWeapon;
     }
 
+    public WeaponFilter soapListRequestToFilter(com.zelda.weapons.ws.ListWeaponsRequest request) {
+        if (request == null) {
+            return new WeaponFilter();
+        }
+
+        return new WeaponFilter(
+                mapWeaponTypeToEntity(request.getWeaponType()),
+                mapElementToEntity(request.getElement()),
+                request.getMinDamage(),
+                request.getMaxDamage());
+    }
+
+    public WeaponSortField mapSortFieldToEntity(com.zelda.weapons.ws.WeaponSortField soapSortField) {
+        if (soapSortField == null) {
+            return null;
+        }
+
+        return switch (soapSortField) {
+            case NAME -> WeaponSortField.NAME;
+            case DAMAGE -> WeaponSortField.DAMAGE;
+            case DURABILITY -> WeaponSortField.DURABILITY;
+        };
+    }
+
     private com.zelda.weapons.ws.WeaponType mapWeaponTypeToSoap(com.zelda.weapons.enums.WeaponType entityType) {
         if (entityType == null) {
             return null;
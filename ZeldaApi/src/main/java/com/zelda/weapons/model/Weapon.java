@@ -2,29 +2,34 @@ package com.zelda.weapons.model;
 
 import java.util.UUID;
 
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import com.zelda.weapons.enums.Element;
 import com.zelda.weapons.enums.WeaponType;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
 @Table(name = "weapons")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "weapons")
 public class Weapon {
     
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
     
@@ -49,6 +54,10 @@ public class Weapon {
     @Column(name = "Element")
     private Element element;
     
+    @Version
+    @Column(name = "Version", nullable = false)
+    private Long version;
+    
     
     public Weapon() {
 
@@ -110,6 +119,14 @@ public class Weapon {
         this.element = element;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     @Override
     public String toString() {
         return "Weapon{" +
@@ -119,6 +136,7 @@ public class Weapon {
                 ", damage=" + damage +
                 ", durability=" + durability +
                 ", element=" + element +
+                ", version=" + version +
                 '}';
     }
 }
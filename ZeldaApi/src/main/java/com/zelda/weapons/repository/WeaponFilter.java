@@ -0,0 +1,58 @@
+package com.zelda.weapons.repository;
+
+import com.zelda.weapons.enums.Element;
+import com.zelda.weapons.enums.WeaponType;
+
+/**
+ * Filtros opcionales para el listado de armas. Los campos nulos no filtran.
+ */
+public class WeaponFilter {
+
+    private WeaponType weaponType;
+    private Element element;
+    private Integer minDamage;
+    private Integer maxDamage;
+
+    public WeaponFilter() {
+
+    }
+
+    public WeaponFilter(WeaponType weaponType, Element element, Integer minDamage, Integer maxDamage) {
+        this.weaponType = weaponType;
+        this.element = element;
+        this.minDamage = minDamage;
+        this.maxDamage = maxDamage;
+    }
+
+    public WeaponType getWeaponType() {
+        return weaponType;
+    }
+
+    public void setWeaponType(WeaponType weaponType) {
+        this.weaponType = weaponType;
+    }
+
+    public Element getElement() {
+        return element;
+    }
+
+    public void setElement(Element element) {
+        this.element = element;
+    }
+
+    public Integer getMinDamage() {
+        return minDamage;
+    }
+
+    public void setMinDamage(Integer minDamage) {
+        this.minDamage = minDamage;
+    }
+
+    public Integer getMaxDamage() {
+        return maxDamage;
+    }
+
+    public void setMaxDamage(Integer maxDamage) {
+        this.maxDamage = maxDamage;
+    }
+}
@@ -1,25 +1,82 @@
 package com.zelda.weapons.repository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.zelda.weapons.model.Weapon;
 
+import jakarta.persistence.QueryHint;
+
 
 @Repository
-public interface WeaponRepository extends JpaRepository<Weapon, UUID> {
+public interface WeaponRepository extends JpaRepository<Weapon, UUID>, WeaponRepositoryCustom {
     
     //JPA ya incluye las operaciones básicas para laa app SOAP, no es necesario añadir mas metodos, por eso se ve todo vacío jajaj
     
     /**
-     * Busca un arma por su nombre (ignorando mayúsculas/minúsculas)
-     * @param name Nombre del arma
-     * @return true si existe un arma con ese nombre, false en caso contrario
+     * Búsqueda por lote (IN) cacheable en la caché de consultas de Hibernate
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Weapon> findAllById(Iterable<UUID> ids);
+
+    /**
+     * Inserta un arma en una sola sentencia apoyándose en el índice único sobre lower(name)
+     * @return El arma insertada, o vacío si ya existía un arma con ese nombre
+     */
+    @Query(value = "INSERT INTO weapons (id, name, weapon_type, damage, durability, element) "
+            + "VALUES (gen_random_uuid(), :name, :weaponType, :damage, :durability, :element) "
+            + "ON CONFLICT ((lower(name))) DO NOTHING "
+            + "RETURNING *", nativeQuery = true)
+    Optional<Weapon> insertIfNameAvailable(@Param("name") String name,
+                                           @Param("weaponType") String weaponType,
+                                           @Param("damage") Integer damage,
+                                           @Param("durability") Integer durability,
+                                           @Param("element") String element);
+
+    /**
+     * Reemplaza los datos de un arma en una sola sentencia, incrementando su versión
+     * @return El arma actualizada, o vacío si no existe
+     */
+    @Query(value = "UPDATE weapons SET name = :name, weapon_type = :weaponType, damage = :damage, "
+            + "durability = :durability, element = :element, version = version + 1 "
+            + "WHERE id = :id "
+            + "RETURNING *", nativeQuery = true)
+    Optional<Weapon> updateReturning(@Param("id") UUID id,
+                                     @Param("name") String name,
+                                     @Param("weaponType") String weaponType,
+                                     @Param("damage") Integer damage,
+                                     @Param("durability") Integer durability,
+                                     @Param("element") String element);
+
+    /**
+     * Igual que {@link #updateReturning} pero solo si la versión actual coincide con la esperada
+     * @return El arma actualizada, o vacío si no existe o su versión cambió
+     */
+    @Query(value = "UPDATE weapons SET name = :name, weapon_type = :weaponType, damage = :damage, "
+            + "durability = :durability, element = :element, version = version + 1 "
+            + "WHERE id = :id AND version = :expectedVersion "
+            + "RETURNING *", nativeQuery = true)
+    Optional<Weapon> updateIfVersionReturning(@Param("id") UUID id,
+                                              @Param("name") String name,
+                                              @Param("weaponType") String weaponType,
+                                              @Param("damage") Integer damage,
+                                              @Param("durability") Integer durability,
+                                              @Param("element") String element,
+                                              @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * Elimina un arma en una sola sentencia
+     * @return El ID eliminado, o vacío si no existía
      */
-    @Query("SELECT COUNT(w) > 0 FROM Weapon w WHERE UPPER(w.name) = UPPER(:name)")
-    boolean existsByNameIgnoreCase(@Param("name") String name);
+    @Query(value = "DELETE FROM weapons WHERE id = :id RETURNING id", nativeQuery = true)
+    Optional<UUID> deleteReturningId(@Param("id") UUID id);
 }
\ No newline at end of file
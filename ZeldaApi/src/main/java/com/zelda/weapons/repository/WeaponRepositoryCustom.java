@@ -0,0 +1,42 @@
+package com.zelda.weapons.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.zelda.weapons.enums.WeaponSortField;
+import com.zelda.weapons.model.Weapon;
+
+/**
+ * Consultas de listado que Spring Data no puede derivar por nombre de método
+ */
+public interface WeaponRepositoryCustom {
+
+    /**
+     * Obtiene la siguiente página de armas usando paginación keyset (seek):
+     * en lugar de OFFSET se filtra por las filas posteriores a la última ya entregada,
+     * así el costo de cada página no crece con el tamaño de la tabla.
+     * @param filter Filtros opcionales
+     * @param sortField Campo de ordenamiento
+     * @param ascending Dirección de ordenamiento
+     * @param lastSortValue Valor del campo de ordenamiento de la última fila entregada (null en la primera página)
+     * @param lastId ID de la última fila entregada, desempate del ordenamiento (null en la primera página)
+     * @param limit Número máximo de filas a devolver
+     * @return Armas ordenadas por el campo indicado y luego por ID
+     */
+    List<Weapon> findPageAfter(WeaponFilter filter, WeaponSortField sortField, boolean ascending,
+                               Comparable<?> lastSortValue, UUID lastId, int limit);
+
+    /**
+     * Cuenta las armas que cumplen los filtros
+     */
+    long countByFilter(WeaponFilter filter);
+
+    /**
+     * Inserta varias armas con un solo INSERT multi-fila ... ON CONFLICT DO NOTHING RETURNING.
+     * Las que chocan con el índice único sobre lower(name), existentes o insertadas a la vez
+     * por otra transacción, se omiten sin abortar la sentencia.
+     * @param weapons Armas válidas y con nombres distintos (sin distinguir mayúsculas)
+     * @return Las armas insertadas, en cualquier orden
+     */
+    List<Weapon> insertIgnoringExistingNames(List<Weapon> weapons);
+}
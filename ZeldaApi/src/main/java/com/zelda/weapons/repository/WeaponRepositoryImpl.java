@@ -0,0 +1,133 @@
+package com.zelda.weapons.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import com.zelda.weapons.enums.WeaponSortField;
+import com.zelda.weapons.model.Weapon;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Implementación de {@link WeaponRepositoryCustom} con Criteria API.
+ * Spring Data la combina automáticamente con {@link WeaponRepository} por el sufijo Impl.
+ */
+public class WeaponRepositoryImpl implements WeaponRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public List<Weapon> findPageAfter(WeaponFilter filter, WeaponSortField sortField, boolean ascending,
+                                      Comparable<?> lastSortValue, UUID lastId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Weapon> query = cb.createQuery(Weapon.class);
+        Root<Weapon> root = query.from(Weapon.class);
+
+        Expression<Comparable> sortPath = root.get(sortField.getAttribute());
+        Expression<UUID> idPath = root.get("id");
+
+        List<Predicate> predicates = buildFilterPredicates(cb, root, filter);
+
+        // Seek: (sort, id) > (lastSort, lastId) en ascendente, < en descendente
+        if (lastSortValue != null && lastId != null) {
+            Comparable value = lastSortValue;
+            Predicate afterSort = ascending ? cb.greaterThan(sortPath, value) : cb.lessThan(sortPath, value);
+            Predicate afterId = ascending ? cb.greaterThan(idPath, lastId) : cb.lessThan(idPath, lastId);
+            predicates.add(cb.or(afterSort, cb.and(cb.equal(sortPath, value), afterId)));
+        }
+
+        query.select(root)
+             .where(predicates.toArray(new Predicate[0]))
+             .orderBy(ascending ? cb.asc(sortPath) : cb.desc(sortPath),
+                      ascending ? cb.asc(idPath) : cb.desc(idPath));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList();
+    }
+
+    @Override
+    public long countByFilter(WeaponFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Weapon> root = query.from(Weapon.class);
+
+        query.select(cb.count(root))
+             .where(buildFilterPredicates(cb, root, filter).toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getSingleResult();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Weapon> insertIgnoringExistingNames(List<Weapon> weapons) {
+        if (weapons.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO weapons (id, name, weapon_type, damage, durability, element) VALUES ");
+        for (int i = 0; i < weapons.size(); i++) {
+            int base = i * 5;
+            sql.append(i == 0 ? "" : ", ")
+               .append("(gen_random_uuid(), ?").append(base + 1)
+               .append(", ?").append(base + 2)
+               .append(", ?").append(base + 3)
+               .append(", ?").append(base + 4)
+               .append(", ?").append(base + 5).append(')');
+        }
+        sql.append(" ON CONFLICT ((lower(name))) DO NOTHING RETURNING *");
+
+        NativeQuery<Weapon> query = entityManager.createNativeQuery(sql.toString(), Weapon.class)
+                .unwrap(NativeQuery.class);
+        for (int i = 0; i < weapons.size(); i++) {
+            Weapon weapon = weapons.get(i);
+            int base = i * 5;
+            query.setParameter(base + 1, weapon.getName(), StandardBasicTypes.STRING);
+            query.setParameter(base + 2, weapon.getWeaponType().name(), StandardBasicTypes.STRING);
+            query.setParameter(base + 3, weapon.getDamage(), StandardBasicTypes.INTEGER);
+            query.setParameter(base + 4, weapon.getDurability(), StandardBasicTypes.INTEGER);
+            query.setParameter(base + 5, weapon.getElement() != null ? weapon.getElement().name() : null,
+                    StandardBasicTypes.STRING);
+        }
+        return query.getResultList();
+    }
+
+    private List<Predicate> buildFilterPredicates(CriteriaBuilder cb, Root<Weapon> root, WeaponFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter == null) {
+            return predicates;
+        }
+
+        if (filter.getWeaponType() != null) {
+            predicates.add(cb.equal(root.get("weaponType"), filter.getWeaponType()));
+        }
+        if (filter.getElement() != null) {
+            predicates.add(cb.equal(root.get("element"), filter.getElement()));
+        }
+        if (filter.getMinDamage() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("damage"), filter.getMinDamage()));
+        }
+        if (filter.getMaxDamage() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("damage"), filter.getMaxDamage()));
+        }
+
+        return predicates;
+    }
+}
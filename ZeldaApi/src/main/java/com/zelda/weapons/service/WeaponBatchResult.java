@@ -0,0 +1,55 @@
+package com.zelda.weapons.service;
+
+import com.zelda.weapons.model.Weapon;
+
+/**
+ * Resultado de un elemento dentro de una creación por lote
+ */
+public class WeaponBatchResult {
+
+    public static final String VALIDATION_ERROR = "VALIDATION_ERROR";
+    public static final String ALREADY_EXISTS = "ALREADY_EXISTS";
+
+    private final int index;
+    private final Weapon weapon;
+    private final String errorCode;
+    private final String message;
+
+    private WeaponBatchResult(int index, Weapon weapon, String errorCode, String message) {
+        this.index = index;
+        this.weapon = weapon;
+        this.errorCode = errorCode;
+        this.message = message;
+    }
+
+    public static WeaponBatchResult success(int index, Weapon weapon) {
+        return new WeaponBatchResult(index, weapon, null, null);
+    }
+
+    public static WeaponBatchResult failure(int index, String errorCode, String message) {
+        return new WeaponBatchResult(index, null, errorCode, message);
+    }
+
+    /**
+     * Posición del elemento en la petición original
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isSuccess() {
+        return weapon != null;
+    }
+
+    public Weapon getWeapon() {
+        return weapon;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,55 @@
+package com.zelda.weapons.service;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zelda.weapons.model.Weapon;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Invalida la caché de segundo nivel tras las escrituras nativas (INSERT/UPDATE/DELETE ... RETURNING).
+ * Hibernate las ejecuta como consultas, por lo que no invalida por sí mismo ni la entidad
+ * ni los resultados de consultas cacheados. La invalidación se hace al confirmar la transacción
+ * para que una lectura concurrente no vuelva a guardar el valor anterior.
+ * Sin caché de segundo nivel habilitada es una operación sin efecto.
+ */
+@Component
+public class WeaponCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public WeaponCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * @param weaponId Arma modificada, o null si solo cambió el contenido de la tabla (creación)
+     */
+    public void evictAfterCommit(UUID weaponId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(weaponId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(weaponId);
+            }
+        });
+    }
+
+    private void evict(UUID weaponId) {
+        if (weaponId != null) {
+            entityManagerFactory.getCache().evict(Weapon.class, weaponId);
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+}
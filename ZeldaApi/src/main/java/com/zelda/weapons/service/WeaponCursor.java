@@ -0,0 +1,81 @@
+package com.zelda.weapons.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.zelda.weapons.enums.WeaponSortField;
+import com.zelda.weapons.model.Weapon;
+import com.zelda.weapons.validator.WeaponValidationException;
+
+/**
+ * Cursor opaco para la paginación keyset del listado de armas.
+ * Guarda el valor del campo de ordenamiento y el ID de la última arma entregada,
+ * junto con el ordenamiento usado para que no se pueda reutilizar con otro distinto.
+ */
+public final class WeaponCursor {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    private final WeaponSortField sortField;
+    private final boolean ascending;
+    private final UUID lastId;
+    private final Comparable<?> lastSortValue;
+
+    private WeaponCursor(WeaponSortField sortField, boolean ascending, UUID lastId, Comparable<?> lastSortValue) {
+        this.sortField = sortField;
+        this.ascending = ascending;
+        this.lastId = lastId;
+        this.lastSortValue = lastSortValue;
+    }
+
+    public static WeaponCursor after(Weapon weapon, WeaponSortField sortField, boolean ascending) {
+        Comparable<?> value = switch (sortField) {
+            case NAME -> weapon.getName();
+            case DAMAGE -> weapon.getDamage();
+            case DURABILITY -> weapon.getDurability();
+        };
+        return new WeaponCursor(sortField, ascending, weapon.getId(), value);
+    }
+
+    public static WeaponCursor decode(String token, WeaponSortField sortField, boolean ascending) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // El valor va al final porque un nombre puede contener el separador
+            parts = raw.split("\\" + SEPARATOR, 5);
+        } catch (IllegalArgumentException ex) {
+            throw new WeaponValidationException("El cursor de paginación no es válido", ex);
+        }
+
+        if (parts.length != 5 || !VERSION.equals(parts[0])) {
+            throw new WeaponValidationException("El cursor de paginación no es válido");
+        }
+        if (!sortField.name().equals(parts[1]) || ascending != "ASC".equals(parts[2])) {
+            throw new WeaponValidationException("El cursor de paginación no corresponde al ordenamiento solicitado");
+        }
+
+        try {
+            UUID lastId = UUID.fromString(parts[3]);
+            Comparable<?> value = sortField == WeaponSortField.NAME ? parts[4] : Integer.valueOf(parts[4]);
+            return new WeaponCursor(sortField, ascending, lastId, value);
+        } catch (IllegalArgumentException ex) {
+            throw new WeaponValidationException("El cursor de paginación no es válido", ex);
+        }
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                VERSION, sortField.name(), ascending ? "ASC" : "DESC", lastId.toString(), String.valueOf(lastSortValue));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public UUID getLastId() {
+        return lastId;
+    }
+
+    public Comparable<?> getLastSortValue() {
+        return lastSortValue;
+    }
+}
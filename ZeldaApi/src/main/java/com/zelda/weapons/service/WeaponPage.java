@@ -0,0 +1,39 @@
+package com.zelda.weapons.service;
+
+import java.util.List;
+
+import com.zelda.weapons.model.Weapon;
+
+/**
+ * Resultado de una página del listado de armas
+ */
+public class WeaponPage {
+
+    private final List<Weapon> content;
+    private final String nextCursor;
+    private final Long totalCount;
+
+    public WeaponPage(List<Weapon> content, String nextCursor, Long totalCount) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.totalCount = totalCount;
+    }
+
+    public List<Weapon> getContent() {
+        return content;
+    }
+
+    /**
+     * Cursor para pedir la siguiente página, null si no hay más resultados
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Total de armas que cumplen los filtros, null si no se solicitó
+     */
+    public Long getTotalCount() {
+        return totalCount;
+    }
+}
@@ -1,14 +1,30 @@
 package com.zelda.weapons.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.zelda.weapons.enums.WeaponSortField;
 import com.zelda.weapons.model.Weapon;
+import com.zelda.weapons.repository.WeaponFilter;
 import com.zelda.weapons.repository.WeaponRepository;
+import com.zelda.weapons.validator.WeaponAlreadyExistsException;
+import com.zelda.weapons.validator.WeaponValidationException;
 import com.zelda.weapons.validator.WeaponValidator;
+import com.zelda.weapons.validator.WeaponVersionConflictException;
 
 import jakarta.validation.Valid;
 
@@ -16,20 +32,112 @@ import jakarta.validation.Valid;
 @Transactional
 public class WeaponService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final WeaponRepository weaponRepository;
     private final WeaponValidator weaponValidator;
+    private final WeaponCacheEvictor weaponCacheEvictor;
 
     @Autowired
-    public WeaponService(WeaponRepository weaponRepository, WeaponValidator weaponValidator) {
+    public WeaponService(WeaponRepository weaponRepository, WeaponValidator weaponValidator,
+                         WeaponCacheEvictor weaponCacheEvictor) {
         this.weaponRepository = weaponRepository;
         this.weaponValidator = weaponValidator;
+        this.weaponCacheEvictor = weaponCacheEvictor;
     }
 
     public Weapon createWeapon(@Valid Weapon weapon) {
         weaponValidator.validateWeaponData(weapon);
-        weaponValidator.validateUniqueWeaponName(weapon);
-        weapon.setId(null);
-        return weaponRepository.save(weapon);
+
+        // INSERT ... ON CONFLICT: la unicidad la resuelve el índice sobre lower(name)
+        // sin consulta previa y sin carrera entre creaciones concurrentes
+        Weapon created = weaponRepository.insertIfNameAvailable(
+                        weapon.getName(),
+                        weapon.getWeaponType().name(),
+                        weapon.getDamage(),
+                        weapon.getDurability(),
+                        weapon.getElement() != null ? weapon.getElement().name() : null)
+                .orElseThrow(() -> new WeaponAlreadyExistsException("Ya existe un arma con el nombre: " + weapon.getName()));
+        weaponCacheEvictor.evictAfterCommit(null);
+        return created;
+    }
+
+    /**
+     * Crea varias armas en una sola transacción. Cada elemento se valida por separado
+     * (datos y nombre repetido dentro del lote) y los válidos se insertan con una sola
+     * sentencia INSERT ... ON CONFLICT DO NOTHING RETURNING: un nombre ya existente, o
+     * insertado a la vez por otra petición, es un ALREADY_EXISTS de ese elemento y no
+     * aborta el lote.
+     * @return Un resultado por elemento, en el mismo orden de la petición
+     */
+    public List<WeaponBatchResult> createWeapons(List<Weapon> weapons) {
+        weaponValidator.validateBatchSize(weapons == null ? 0 : weapons.size());
+
+        List<WeaponBatchResult> results = new ArrayList<>(Collections.nCopies(weapons.size(), null));
+        // Mismo criterio que lower(name) del índice único
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < weapons.size(); i++) {
+            Weapon weapon = weapons.get(i);
+            try {
+                weaponValidator.validateWeaponData(weapon);
+            } catch (WeaponValidationException ex) {
+                results.set(i, WeaponBatchResult.failure(i, WeaponBatchResult.VALIDATION_ERROR, ex.getMessage()));
+                continue;
+            }
+
+            if (candidates.putIfAbsent(weapon.getName().toLowerCase(Locale.ROOT), i) != null) {
+                results.set(i, WeaponBatchResult.failure(i, WeaponBatchResult.ALREADY_EXISTS,
+                        "El nombre " + weapon.getName() + " está repetido dentro del lote"));
+            }
+        }
+
+        List<Weapon> toInsert = new ArrayList<>(candidates.size());
+        for (int index : candidates.values()) {
+            toInsert.add(weapons.get(index));
+        }
+
+        for (Weapon inserted : weaponRepository.insertIgnoringExistingNames(toInsert)) {
+            Integer index = candidates.remove(inserted.getName().toLowerCase(Locale.ROOT));
+            if (index != null) {
+                results.set(index, WeaponBatchResult.success(index, inserted));
+            }
+        }
+
+        // Los que no volvieron en el RETURNING chocaron con un nombre ya existente
+        for (int index : candidates.values()) {
+            results.set(index, WeaponBatchResult.failure(index, WeaponBatchResult.ALREADY_EXISTS,
+                    "Ya existe un arma con el nombre: " + weapons.get(index).getName()));
+        }
+
+        if (toInsert.size() > candidates.size()) {
+            weaponCacheEvictor.evictAfterCommit(null);
+        }
+        return results;
+    }
+
+    /**
+     * Obtiene varias armas con una sola consulta IN
+     * @return Las armas encontradas en el orden solicitado; los IDs inexistentes se omiten
+     */
+    @Transactional(readOnly = true)
+    public List<Weapon> getWeaponsByIds(List<UUID> ids) {
+        weaponValidator.validateBatchSize(ids == null ? 0 : ids.size());
+
+        Set<UUID> uniqueIds = new LinkedHashSet<>(ids);
+        Map<UUID, Weapon> found = new HashMap<>();
+        for (Weapon weapon : weaponRepository.findAllById(uniqueIds)) {
+            found.put(weapon.getId(), weapon);
+        }
+
+        List<Weapon> ordered = new ArrayList<>(found.size());
+        for (UUID id : uniqueIds) {
+            Weapon weapon = found.get(id);
+            if (weapon != null) {
+                ordered.add(weapon);
+            }
+        }
+        return ordered;
     }
 
     @Transactional(readOnly = true)
@@ -40,38 +148,81 @@ public class WeaponService {
                 .orElseThrow(() -> new WeaponNotFoundException("Arma con ID " + id + " no encontrada"));
     }
 
+    /**
+     * Lista armas con filtros y paginación keyset. Se pide una fila extra para saber
+     * si existe una página siguiente sin necesidad de contar.
+     */
+    @Transactional(readOnly = true)
+    public WeaponPage listWeapons(WeaponFilter filter, WeaponSortField sortField, boolean ascending,
+                                  Integer pageSize, String cursor, boolean includeTotal) {
+        weaponValidator.validateListRequest(filter, pageSize);
+
+        WeaponSortField sort = sortField != null ? sortField : WeaponSortField.NAME;
+        int size = pageSize != null ? pageSize : DEFAULT_PAGE_SIZE;
+        WeaponCursor after = (cursor != null && !cursor.isBlank())
+                ? WeaponCursor.decode(cursor, sort, ascending)
+                : null;
+
+        List<Weapon> rows = weaponRepository.findPageAfter(filter, sort, ascending,
+                after != null ? after.getLastSortValue() : null,
+                after != null ? after.getLastId() : null,
+                size + 1);
+
+        boolean hasMore = rows.size() > size;
+        List<Weapon> content = hasMore ? new ArrayList<>(rows.subList(0, size)) : rows;
+        String nextCursor = hasMore ? WeaponCursor.after(content.get(size - 1), sort, ascending).encode() : null;
+        Long totalCount = includeTotal ? weaponRepository.countByFilter(filter) : null;
+
+        return new WeaponPage(content, nextCursor, totalCount);
+    }
+
     public boolean deleteWeapon(UUID id) {
         weaponValidator.validateWeaponId(id);
 
-        if (!weaponRepository.existsById(id)) {
-            throw new WeaponNotFoundException("Arma con ID " + id + " no encontrada");
-        }
-
-        weaponRepository.deleteById(id);
+        // DELETE ... RETURNING id: sin consulta previa de existencia
+        weaponRepository.deleteReturningId(id)
+                .orElseThrow(() -> new WeaponNotFoundException("Arma con ID " + id + " no encontrada"));
+        weaponCacheEvictor.evictAfterCommit(id);
         return true;
     }
 
     public Weapon updateWeapon(UUID id, @Valid Weapon weaponData) {
+        return updateWeapon(id, weaponData, null);
+    }
+
+    /**
+     * Actualiza un arma con un único UPDATE ... RETURNING. Si se indica expectedVersion la
+     * escritura es condicional: solo se aplica si el arma sigue en esa versión.
+     * La unicidad del nombre la garantiza el índice único sobre lower(name).
+     */
+    public Weapon updateWeapon(UUID id, @Valid Weapon weaponData, Long expectedVersion) {
         weaponValidator.validateWeaponId(id);
-        
-        Weapon existingWeapon = weaponRepository.findById(id)
-                .orElseThrow(() -> new WeaponNotFoundException("Arma con ID " + id + " no encontrada"));
-        
-        // Validar que el nuevo nombre no esté en uso por otra arma
-        if (!existingWeapon.getName().equals(weaponData.getName())) {
-            weaponValidator.validateUniqueWeaponName(weaponData);
-        }
-        
         weaponValidator.validateWeaponData(weaponData);
-        
-        // Actualizar los campos manteniendo el ID
-        existingWeapon.setName(weaponData.getName());
-        existingWeapon.setWeaponType(weaponData.getWeaponType());
-        existingWeapon.setDamage(weaponData.getDamage());
-        existingWeapon.setDurability(weaponData.getDurability());
-        existingWeapon.setElement(weaponData.getElement());
-        
-        return weaponRepository.save(existingWeapon);
+
+        String weaponType = weaponData.getWeaponType().name();
+        String element = weaponData.getElement() != null ? weaponData.getElement().name() : null;
+
+        Optional<Weapon> updatedWeapon;
+        try {
+            updatedWeapon = expectedVersion == null
+                    ? weaponRepository.updateReturning(id, weaponData.getName(), weaponType,
+                            weaponData.getDamage(), weaponData.getDurability(), element)
+                    : weaponRepository.updateIfVersionReturning(id, weaponData.getName(), weaponType,
+                            weaponData.getDamage(), weaponData.getDurability(), element, expectedVersion);
+        } catch (DataIntegrityViolationException ex) {
+            throw new WeaponAlreadyExistsException("Ya existe un arma con el nombre: " + weaponData.getName(), ex);
+        }
+
+        Weapon result = updatedWeapon.orElseThrow(() -> {
+            // Solo en el caso de fallo se distingue entre arma inexistente y versión desactualizada
+            if (expectedVersion != null && weaponRepository.existsById(id)) {
+                return new WeaponVersionConflictException(
+                        "El arma con ID " + id + " fue modificada, ya no está en la versión " + expectedVersion);
+            }
+            return new WeaponNotFoundException("Arma con ID " + id + " no encontrada");
+        });
+        weaponCacheEvictor.evictAfterCommit(id);
+        return result;
     }
 
     public static class WeaponNotFoundException extends RuntimeException {
@@ -2,21 +2,16 @@ package com.zelda.weapons.validator;
 
 import java.util.UUID;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.zelda.weapons.model.Weapon;
-import com.zelda.weapons.repository.WeaponRepository;
+import com.zelda.weapons.repository.WeaponFilter;
 
 @Component
 public class WeaponValidator {
 
-    private final WeaponRepository weaponRepository;
-
-    @Autowired
-    public WeaponValidator(WeaponRepository weaponRepository) {
-        this.weaponRepository = weaponRepository;
-    }
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 1000;
 
     public void validateWeaponId(UUID weaponId) {
         if (weaponId == null) {
@@ -58,9 +53,24 @@ public class WeaponValidator {
         }
     }
 
-    public void validateUniqueWeaponName(Weapon weapon) {
-        if (weapon.getName() != null && weaponRepository.existsByNameIgnoreCase(weapon.getName())) {
-            throw new WeaponAlreadyExistsException("Ya existe un arma con el nombre: " + weapon.getName());
+    public void validateListRequest(WeaponFilter filter, Integer pageSize) {
+        if (pageSize != null && (pageSize <= 0 || pageSize > MAX_PAGE_SIZE)) {
+            throw new WeaponValidationException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+
+        if (filter != null && filter.getMinDamage() != null && filter.getMaxDamage() != null
+                && filter.getMinDamage() > filter.getMaxDamage()) {
+            throw new WeaponValidationException("El daño mínimo no puede ser mayor al daño máximo");
+        }
+    }
+
+    public void validateBatchSize(int size) {
+        if (size <= 0) {
+            throw new WeaponValidationException("El lote debe contener al menos un elemento");
+        }
+
+        if (size > MAX_BATCH_SIZE) {
+            throw new WeaponValidationException("El lote no puede contener más de " + MAX_BATCH_SIZE + " elementos");
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.zelda.weapons.validator;
+
+/**
+ * Excepción lanzada cuando una escritura condicional no coincide con la versión actual del arma
+ */
+public class WeaponVersionConflictException extends RuntimeException {
+
+    public WeaponVersionConflictException(String message) {
+        super(message);
+    }
+}
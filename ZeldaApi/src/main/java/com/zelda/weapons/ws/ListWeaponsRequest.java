@@ -0,0 +1,290 @@
+//
+// Este archivo ha sido generado por Eclipse Implementation of JAXB v3.0.0 
+// Visite https://eclipse-ee4j.github.io/jaxb-ri 
+// Todas las modificaciones realizadas en este archivo se perderán si se vuelve a compilar el esquema de origen. 
+// Generado el: 2026.10.18 a las 03:10:19 AM CST 
+//
+
+
+package com.zelda.weapons.ws;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlSchemaType;
+import jakarta.xml.bind.annotation.XmlType;
+
+
+/**
+ * <p>Clase Java para anonymous complex type.
+ * 
+ * <p>El siguiente fragmento de esquema especifica el contenido que se espera que haya en esta clase.
+ * 
+ * <pre>
+ * &lt;complexType&gt;
+ *   &lt;complexContent&gt;
+ *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *       &lt;sequence&gt;
+ *         &lt;element name="weaponType" type="{http://zelda.com/weapons}weaponType" minOccurs="0"/&gt;
+ *         &lt;element name="element" type="{http://zelda.com/weapons}element" minOccurs="0"/&gt;
+ *         &lt;element name="minDamage" type="{http://www.w3.org/2001/XMLSchema}int" minOccurs="0"/&gt;
+ *         &lt;element name="maxDamage" type="{http://www.w3.org/2001/XMLSchema}int" minOccurs="0"/&gt;
+ *         &lt;element name="sortBy" type="{http://zelda.com/weapons}weaponSortField" minOccurs="0"/&gt;
+ *         &lt;element name="sortDirection" type="{http://zelda.com/weapons}sortDirection" minOccurs="0"/&gt;
+ *         &lt;element name="pageSize" type="{http://www.w3.org/2001/XMLSchema}int" minOccurs="0"/&gt;
+ *         &lt;element name="cursor" type="{http://www.w3.org/2001/XMLSchema}string" minOccurs="0"/&gt;
+ *         &lt;element name="includeTotal" type="{http://www.w3.org/2001/XMLSchema}boolean" minOccurs="0"/&gt;
+ *       &lt;/sequence&gt;
+ *     &lt;/restriction&gt;
+ *   &lt;/complexContent&gt;
+ * &lt;/complexType&gt;
+ * </pre>
+ * 
+ * 
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {
+    "weaponType",
+    "element",
+    "minDamage",
+    "maxDamage",
+    "sortBy",
+    "sortDirection",
+    "pageSize",
+    "cursor",
+    "includeTotal"
+})
+@XmlRootElement(name = "listWeaponsRequest")
+public class ListWeaponsRequest {
+
+    @XmlSchemaType(name = "string")
+    protected WeaponType weaponType;
+    @XmlSchemaType(name = "string")
+    protected Element element;
+    protected Integer minDamage;
+    protected Integer maxDamage;
+    @XmlSchemaType(name = "string")
+    protected WeaponSortField sortBy;
+    @XmlSchemaType(name = "string")
+    protected SortDirection sortDirection;
+    protected Integer pageSize;
+    protected String cursor;
+    protected Boolean includeTotal;
+
+    /**
+     * Obtiene el valor de la propiedad weaponType.
+     * 
+     * @return
+     *     possible object is
+     *     {@link WeaponType }
+     *     
+     */
+    public WeaponType getWeaponType() {
+        return weaponType;
+    }
+
+    /**
+     * Define el valor de la propiedad weaponType.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link WeaponType }
+     *     
+     */
+    public void setWeaponType(WeaponType value) {
+        this.weaponType = value;
+    }
+
+    /**
+     * Obtiene el valor de la propiedad element.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Element }
+     *     
+     */
+    public Element getElement() {
+        return element;
+    }
+
+    /**
+     * Define el valor de la propiedad element.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Element }
+     *     
+     */
+    public void setElement(Element value) {
+        this.element = value;
+    }
+
+    /**
+     * Obtiene el valor de la propiedad minDamage.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *     
+     */
+    public Integer getMinDamage() {
+        return minDamage;
+    }
+
+    /**
+     * Define el valor de la propiedad minDamage.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *     
+     */
+    public void setMinDamage(Integer value) {
+        this.minDamage = value;
+    }
+
+    /**
+     * Obtiene el valor de la propiedad maxDamage.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *     
+     */
+    public Integer getMaxDamage() {
+        return maxDamage;
+    }
+
+    /**
+     * Define el valor de la propiedad maxDamage.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *     
+     */
+    public void setMaxDamage(Integer value) {
+        this.maxDamage = value;
+    }
+
+    /**
+     * Obtiene el valor de la propiedad sortBy.
+     * 
+     * @return
+     *     possible object is
+     *     {@link WeaponSortField }
+     *     
+     */
+    public WeaponSortField getSortBy() {
+        return sortBy;
+    }
+
+    /**
+     * Define el valor de la propiedad sortBy.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link WeaponSortField }
+     *     
+     */
+    public void setSortBy(WeaponSortField value) {
+        this.sortBy = value;
+    }
+
+    /**
+     * Obtiene el valor de la propiedad sortDirection.
+     * 
+     * @return
+     *     possible object is
+     *     {@link SortDirection }
+     *     
+     */
+    public SortDirection getSortDirection() {
+        return sortDirection;
+    }
+
+    /**
+     * Define el valor de la propiedad sortDirection.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link SortDirection }
+     *     
+     */
+    public void setSortDirection(SortDirection value) {
+        this.sortDirection = value;
+    }
+
+    /**
+     * Obtiene el valor de la propiedad pageSize.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *     
+     */
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Define el valor de la propiedad pageSize.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *     
+     */
+    public void setPageSize(Integer value) {
+        this.pageSize = value;
+    }
+
+    /**
+     * Obtiene el valor de la propiedad cursor.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Define el valor de la propiedad cursor.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setCursor(String value) {
+        this.cursor = value;
+    }
+
+    /**
+     * Obtiene el valor de la propiedad includeTotal.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *     
+     */
+    public Boolean isIncludeTotal() {
+        return includeTotal;
+    }
+
+    /**
+     * Define el valor de la propiedad includeTotal.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *     
+     */
+    public void setIncludeTotal(Boolean value) {
+        this.includeTotal = value;
+    }
+
+}
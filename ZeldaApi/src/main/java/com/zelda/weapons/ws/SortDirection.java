@@ -0,0 +1,44 @@
+//
+// Este archivo ha sido generado por Eclipse Implementation of JAXB v3.0.0 
+// Visite https://eclipse-ee4j.github.io/jaxb-ri 
+// Todas las modificaciones realizadas en este archivo se perderán si se vuelve a compilar el esquema de origen. 
+// Generado el: 2026.10.18 a las 03:10:19 AM CST 
+//
+
+
+package com.zelda.weapons.ws;
+
+import jakarta.xml.bind.annotation.XmlEnum;
+import jakarta.xml.bind.annotation.XmlType;
+
+
+/**
+ * <p>Clase Java para sortDirection.
+ * 
+ * <p>El siguiente fragmento de esquema especifica el contenido que se espera que haya en esta clase.
+ * <pre>
+ * &lt;simpleType name="sortDirection"&gt;
+ *   &lt;restriction base="{http://www.w3.org/2001/XMLSchema}string"&gt;
+ *     &lt;enumeration value="ASC"/&gt;
+ *     &lt;enumeration value="DESC"/&gt;
+ *   &lt;/restriction&gt;
+ * &lt;/simpleType&gt;
+ * </pre>
+ * 
+ */
+@XmlType(name = "sortDirection")
+@XmlEnum
+public enum SortDirection {
+
+    ASC,
+    DESC;
+
+    public String value() {
+        return name();
+    }
+
+    public static SortDirection fromValue(String v) {
+        return valueOf(v);
+    }
+
+}
@@ -2,7 +2,7 @@
 // Este archivo ha sido generado por Eclipse Implementation of JAXB v3.0.0 
 // Visite https://eclipse-ee4j.github.io/jaxb-ri 
 // Todas las modificaciones realizadas en este archivo se perderán si se vuelve a compilar el esquema de origen. 
-// Generado el: 2025.12.02 a las 07:22:31 PM CST 
+// Generado el: 2026.10.18 a las 03:15:14 AM CST 
 //
 
 
@@ -27,6 +27,7 @@ import jakarta.xml.bind.annotation.XmlType;
  *       &lt;sequence&gt;
  *         &lt;element name="id" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
  *         &lt;element name="weaponInput" type="{http://zelda.com/weapons}weaponInput"/&gt;
+ *         &lt;element name="expectedVersion" type="{http://www.w3.org/2001/XMLSchema}long" minOccurs="0"/&gt;
  *       &lt;/sequence&gt;
  *     &lt;/restriction&gt;
  *   &lt;/complexContent&gt;
@@ -38,7 +39,8 @@ import jakarta.xml.bind.annotation.XmlType;
 @XmlAccessorType(XmlAccessType.FIELD)
 @XmlType(name = "", propOrder = {
     "id",
-    "weaponInput"
+    "weaponInput",
+    "expectedVersion"
 })
 @XmlRootElement(name = "updateWeaponRequest")
 public class UpdateWeaponRequest {
@@ -47,6 +49,7 @@ public class UpdateWeaponRequest {
     protected String id;
     @XmlElement(required = true)
     protected WeaponInput weaponInput;
+    protected Long expectedVersion;
 
     /**
      * Obtiene el valor de la propiedad id.
@@ -96,4 +99,28 @@ public class UpdateWeaponRequest {
         this.weaponInput = value;
     }
 
+    /**
+     * Obtiene el valor de la propiedad expectedVersion.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Long }
+     *     
+     */
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    /**
+     * Define el valor de la propiedad expectedVersion.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Long }
+     *     
+     */
+    public void setExpectedVersion(Long value) {
+        this.expectedVersion = value;
+    }
+
 }
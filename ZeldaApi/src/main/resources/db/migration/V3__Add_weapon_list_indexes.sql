@@ -0,0 +1,8 @@
+-- Índices para la paginación keyset del listado: (campo de ordenamiento, id)
+CREATE INDEX idx_weapons_name_id ON weapons (name, id);
+CREATE INDEX idx_weapons_damage_id ON weapons (damage, id);
+CREATE INDEX idx_weapons_durability_id ON weapons (durability, id);
+
+-- Filtros más comunes del listado
+CREATE INDEX idx_weapons_type_damage ON weapons (weapon_type, damage);
+CREATE INDEX idx_weapons_element ON weapons (element);
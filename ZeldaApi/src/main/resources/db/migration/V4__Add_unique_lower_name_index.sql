@@ -0,0 +1,3 @@
+-- Unicidad del nombre sin distinguir mayúsculas/minúsculas, garantizada por la base de datos.
+-- También permite que las búsquedas por LOWER(name) usen índice en lugar de recorrer la tabla.
+CREATE UNIQUE INDEX ux_weapons_name_lower ON weapons (lower(name));
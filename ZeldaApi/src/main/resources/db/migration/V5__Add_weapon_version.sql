@@ -0,0 +1,2 @@
+-- Versión para bloqueo optimista y escrituras condicionales
+ALTER TABLE weapons ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
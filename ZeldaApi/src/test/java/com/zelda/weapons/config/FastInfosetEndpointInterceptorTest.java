@@ -0,0 +1,108 @@
+package com.zelda.weapons.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ws.context.DefaultMessageContext;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.soap.saaj.SaajSoapMessage;
+import org.springframework.ws.transport.TransportOutputStream;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.MimeHeaders;
+
+class FastInfosetEndpointInterceptorTest {
+
+    private FastInfosetSoapMessageFactory messageFactory;
+    private FastInfosetEndpointInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        messageFactory = new FastInfosetSoapMessageFactory();
+        messageFactory.afterPropertiesSet();
+        interceptor = new FastInfosetEndpointInterceptor();
+    }
+
+    @Test
+    void answersInFastInfosetWhenTheClientAcceptsIt() throws Exception {
+        MessageContext messageContext = receive("application/fastinfoset, text/xml");
+        FastInfosetSoapMessage response = (FastInfosetSoapMessage) messageContext.getResponse();
+        response.getSaajMessage().getSOAPBody().addChildElement("getWeaponResponse", "ns2", "http://zelda.com/weapons");
+
+        interceptor.handleResponse(messageContext, null);
+
+        assertThat(response.isFastInfosetEncoded()).isTrue();
+        WireMessage wire = send(response);
+        assertThat(wire.headers).containsEntry("Content-Type", "application/fastinfoset");
+        MimeHeaders headers = new MimeHeaders();
+        headers.addHeader("Content-Type", "application/fastinfoset");
+        SaajSoapMessage received = new SaajSoapMessage(MessageFactory.newInstance()
+                .createMessage(headers, new ByteArrayInputStream(wire.body.toByteArray())));
+        assertThat(received.getSaajMessage().getSOAPBody().getFirstChild().getLocalName())
+                .isEqualTo("getWeaponResponse");
+    }
+
+    @Test
+    void answersInXmlToOtherClients() throws Exception {
+        MessageContext messageContext = receive(null);
+        FastInfosetSoapMessage response = (FastInfosetSoapMessage) messageContext.getResponse();
+
+        interceptor.handleResponse(messageContext, null);
+
+        assertThat(response.isFastInfosetEncoded()).isFalse();
+        assertThat(send(response).headers.get("Content-Type")).startsWith("text/xml");
+    }
+
+    @Test
+    void faultsStayInXml() throws Exception {
+        MessageContext messageContext = receive("application/fastinfoset");
+        FastInfosetSoapMessage response = (FastInfosetSoapMessage) messageContext.getResponse();
+        response.getSoapBody().addServerOrReceiverFault("Arma no encontrada", Locale.ENGLISH);
+
+        interceptor.handleFault(messageContext, null);
+
+        assertThat(response.isFastInfosetEncoded()).isFalse();
+        assertThat(send(response).headers.get("Content-Type")).startsWith("text/xml");
+    }
+
+    private MessageContext receive(String accept) {
+        SaajSoapMessage request = messageFactory.createWebServiceMessage();
+        if (accept != null) {
+            request.getSaajMessage().getMimeHeaders().setHeader("Accept", accept);
+        }
+        return new DefaultMessageContext(request, messageFactory);
+    }
+
+    private static WireMessage send(SaajSoapMessage message) throws Exception {
+        WireMessage wire = new WireMessage();
+        message.writeTo(wire);
+        return wire;
+    }
+
+    /**
+     * Cabeceras y cuerpo tal como los recibe el transporte HTTP
+     */
+    private static class WireMessage extends TransportOutputStream {
+
+        private final Map<String, String> headers = new HashMap<>();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public void addHeader(String name, String value) {
+            headers.put(name, value);
+        }
+
+        @Override
+        protected OutputStream createOutputStream() {
+            return body;
+        }
+    }
+}
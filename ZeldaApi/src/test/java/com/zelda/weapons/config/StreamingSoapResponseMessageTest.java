@@ -0,0 +1,118 @@
+package com.zelda.weapons.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ws.soap.saaj.SaajSoapMessage;
+import org.springframework.ws.stream.StreamingPayload;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPBody;
+
+class StreamingSoapResponseMessageTest {
+
+    private static final String NAMESPACE_URI = "http://zelda.com/weapons";
+
+    private StreamingSoapMessageFactory messageFactory;
+
+    @BeforeEach
+    void setUp() {
+        messageFactory = new StreamingSoapMessageFactory();
+        messageFactory.afterPropertiesSet();
+    }
+
+    @Test
+    void payloadIsWrittenWithoutBuildingTheSaajBody() throws Exception {
+        StreamingSoapResponseMessage message = (StreamingSoapResponseMessage) messageFactory.createWebServiceMessage();
+        message.setStreamingPayload(new ListPayload("Master Sword"));
+
+        // Lo que pregunta MessageDispatcher antes de enviar la respuesta
+        assertThat(message.getFaultCode()).isNull();
+        assertThat(message.isStreaming()).isTrue();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out);
+        String xml = out.toString(StandardCharsets.UTF_8);
+
+        assertThat(message.isStreaming()).isTrue();
+        assertThat(xml).startsWith("<SOAP-ENV:Envelope xmlns:SOAP-ENV=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+                + "<SOAP-ENV:Header/><SOAP-ENV:Body>");
+        assertThat(xml).contains("<ns2:listWeaponsResponse xmlns:ns2=\"" + NAMESPACE_URI + "\">"
+                + "<ns2:weapon><ns2:name>Master Sword</ns2:name></ns2:weapon></ns2:listWeaponsResponse>");
+        assertThat(xml).endsWith("</SOAP-ENV:Body></SOAP-ENV:Envelope>");
+    }
+
+    @Test
+    void fastInfosetIsAlsoWrittenWithoutBuildingTheSaajBody() throws Exception {
+        StreamingSoapResponseMessage message = (StreamingSoapResponseMessage) messageFactory.createWebServiceMessage();
+        message.setStreamingPayload(new ListPayload("Master Sword"));
+        message.encodeAsFastInfoset();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out);
+
+        assertThat(message.isStreaming()).isTrue();
+        MimeHeaders headers = new MimeHeaders();
+        headers.addHeader("Content-Type", "application/fastinfoset");
+        SOAPBody body = MessageFactory.newInstance()
+                .createMessage(headers, new ByteArrayInputStream(out.toByteArray())).getSOAPBody();
+        assertThat(body.getFirstChild().getLocalName()).isEqualTo("listWeaponsResponse");
+        assertThat(body.getFirstChild().getTextContent()).isEqualTo("Master Sword");
+    }
+
+    @Test
+    void saajAccessCopiesThePendingPayload() throws Exception {
+        StreamingSoapResponseMessage message = (StreamingSoapResponseMessage) messageFactory.createWebServiceMessage();
+        message.setStreamingPayload(new ListPayload("Royal Claymore"));
+
+        assertThat(message.getSaajMessage().getSOAPBody().getFirstChild().getLocalName())
+                .isEqualTo("listWeaponsResponse");
+        assertThat(message.isStreaming()).isFalse();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("<ns2:name>Royal Claymore</ns2:name>");
+    }
+
+    @Test
+    void faultsAreAddedToTheSaajBody() throws Exception {
+        SaajSoapMessage message = messageFactory.createWebServiceMessage();
+        ((StreamingSoapResponseMessage) message).setStreamingPayload(new ListPayload("Master Sword"));
+
+        message.getSoapBody().addServerOrReceiverFault("Arma no encontrada", Locale.ENGLISH);
+
+        assertThat(message.hasFault()).isTrue();
+        assertThat(message.getFaultReason()).isEqualTo("Arma no encontrada");
+    }
+
+    private record ListPayload(String weaponName) implements StreamingPayload {
+
+        @Override
+        public QName getName() {
+            return new QName(NAMESPACE_URI, "listWeaponsResponse");
+        }
+
+        @Override
+        public void writeTo(XMLStreamWriter writer) throws XMLStreamException {
+            writer.writeStartElement("ns2", "listWeaponsResponse", NAMESPACE_URI);
+            writer.writeNamespace("ns2", NAMESPACE_URI);
+            writer.writeStartElement("ns2", "weapon", NAMESPACE_URI);
+            writer.writeStartElement("ns2", "name", NAMESPACE_URI);
+            writer.writeCharacters(weaponName);
+            writer.writeEndElement();
+            writer.writeEndElement();
+            writer.writeEndElement();
+        }
+    }
+}
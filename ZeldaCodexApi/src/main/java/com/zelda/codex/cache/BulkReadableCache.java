@@ -0,0 +1,35 @@
+package com.zelda.codex.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+/**
+ * Cache que puede leer varias claves en una sola operación (MGET en Redis)
+ */
+public interface BulkReadableCache {
+
+    /**
+     * @return los valores en el mismo orden que las claves; null para las que no están
+     */
+    List<Object> getAll(List<?> keys);
+
+    /**
+     * Lectura múltiple sobre cualquier cache: usa MGET si la cache (o la que decora) lo
+     * soporta y, si no, una lectura por clave
+     */
+    static List<Object> getAll(Cache cache, List<?> keys) {
+        Cache target = cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+        if (target instanceof BulkReadableCache bulk) {
+            return bulk.getAll(keys);
+        }
+        List<Object> values = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            values.add(wrapper != null ? wrapper.get() : null);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,27 @@
+package com.zelda.codex.cache;
+
+/**
+ * Valor guardado en Redis junto con el instante hasta el que se considera fresco.
+ * Pasado ese instante la entrada sigue en Redis durante la ventana stale-while-revalidate.
+ */
+public class CacheEntry {
+
+    private Object value;
+    private long freshUntil;
+
+    // Constructor vacío (deserialización JSON)
+    private CacheEntry() {}
+
+    public CacheEntry(Object value, long freshUntil) {
+        this.value = value;
+        this.freshUntil = freshUntil;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public long getFreshUntil() {
+        return freshUntil;
+    }
+}
@@ -0,0 +1,114 @@
+package com.zelda.codex.cache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Recarga en segundo plano las entradas que {@link RefreshAheadCache} detecta
+ * cerca de expirar (refresh-ahead) o ya vencidas (stale-while-revalidate).
+ * La cache solo conoce la clave; el servicio registra en cada cache miss cómo
+ * recargarla. Las entradas cargadas por otra instancia no tienen cargador aquí
+ * y expiran de forma normal.
+ */
+@Component
+public class CacheRefresher implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheRefresher.class);
+
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Supplier<?>> loaders;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor;
+
+    public CacheRefresher(ObjectProvider<CacheManager> cacheManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${zelda.cache.refresh.max-loaders:10000}") long maxLoaders,
+                          @Value("${spring.cache.redis.time-to-live:600000}") Duration ttl,
+                          @Value("${zelda.cache.refresh.threads:2}") int threads) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.loaders = Caffeine.newBuilder()
+            .maximumSize(maxLoaders)
+            .expireAfterAccess(ttl.multipliedBy(2))
+            .build();
+        // Cola acotada: si el servicio SOAP va lento se descartan recargas en lugar de acumularlas
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(100), new CustomizableThreadFactory("cache-refresh-"),
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Registra cómo recargar una clave; se llama desde el método cacheado en cada miss
+     */
+    public void register(String cacheName, Object key, Supplier<?> loader) {
+        loaders.put(id(cacheName, key), loader);
+    }
+
+    public boolean canRefresh(String cacheName, Object key) {
+        return loaders.getIfPresent(id(cacheName, key)) != null;
+    }
+
+    /**
+     * Programa una recarga; como mucho una a la vez por clave
+     *
+     * @param reason "refresh-ahead" o "stale" (etiqueta de la métrica)
+     */
+    public void refresh(String cacheName, Object key, String reason) {
+        String id = id(cacheName, key);
+        Supplier<?> loader = loaders.getIfPresent(id);
+        if (loader == null || !refreshing.add(id)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    Object value = loader.get();
+                    Cache cache = cacheManager.getObject().getCache(cacheName);
+                    if (value != null && cache != null) {
+                        cache.put(key, value);
+                    }
+                    meterRegistry.counter("zelda.codex.cache.refreshes", "cache", cacheName, "reason", reason).increment();
+                    logger.debug("Entrada '{}' de '{}' recargada en segundo plano ({})", key, cacheName, reason);
+                } catch (RuntimeException e) {
+                    logger.warn("No se pudo recargar la entrada '{}' de '{}': {}", key, cacheName, e.getMessage());
+                } finally {
+                    refreshing.remove(id);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(id);
+            logger.debug("Recarga de '{}' en '{}' descartada: cola llena", key, cacheName);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private String id(String cacheName, Object key) {
+        return cacheName + "::" + key;
+    }
+}
@@ -0,0 +1,78 @@
+package com.zelda.codex.cache;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Último valor correcto de cada arma y listado, guardado en Redis con un TTL largo
+ * (independiente del TTL de las caches) para responder en modo degradado cuando
+ * el servicio de armas no está disponible.
+ * Se guarda como {@link CacheEntry} con el instante de la carga: a partir de ahí el valor
+ * ya no es fresco y su antigüedad es la que se informa en la respuesta.
+ */
+@Component
+public class LastKnownGoodStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastKnownGoodStore.class);
+
+    private static final String KEY_PREFIX = "lastKnownGood::";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration ttl;
+
+    public LastKnownGoodStore(RedisConnectionFactory connectionFactory,
+                              RedisSerializer<Object> cacheValueSerializer,
+                              @Value("${zelda.degraded.last-known-good.ttl:24h}") Duration ttl) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(cacheValueSerializer);
+        template.afterPropertiesSet();
+        this.redisTemplate = template;
+        this.ttl = ttl;
+    }
+
+    public void save(String cacheName, Object key, Object value) {
+        try {
+            redisTemplate.opsForValue().set(key(cacheName, key), new CacheEntry(value, System.currentTimeMillis()), ttl);
+        } catch (RuntimeException e) {
+            logger.debug("No se pudo guardar el último valor de '{}' en '{}': {}", key, cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * @return el último valor guardado con su instante de carga, o null si no hay
+     */
+    public CacheEntry find(String cacheName, Object key) {
+        try {
+            Object stored = redisTemplate.opsForValue().get(key(cacheName, key));
+            return stored instanceof CacheEntry entry ? entry : null;
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo leer el último valor de '{}' en '{}': {}", key, cacheName, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Borra el último valor; lo usa el borrado del arma para que el modo degradado no la resucite
+     */
+    public void delete(String cacheName, Object key) {
+        try {
+            redisTemplate.delete(key(cacheName, key));
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo borrar el último valor de '{}' en '{}': {}", key, cacheName, e.getMessage());
+        }
+    }
+
+    private String key(String cacheName, Object key) {
+        return KEY_PREFIX + cacheName + "::" + key;
+    }
+}
@@ -0,0 +1,52 @@
+package com.zelda.codex.cache;
+
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Publica en Redis pub/sub los borrados de la cache local para que el resto
+ * de instancias de Codex descarten su copia en L1.
+ * Formato del mensaje: origen|E|cache|clave (evict) u origen|C|cache (clear)
+ */
+public class NearCacheInvalidationPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NearCacheInvalidationPublisher.class);
+
+    static final String SEPARATOR = "|";
+    static final String EVICT = "E";
+    static final String CLEAR = "C";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public NearCacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(instanceId + SEPARATOR + EVICT + SEPARATOR + cacheName + SEPARATOR + key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(instanceId + SEPARATOR + CLEAR + SEPARATOR + cacheName);
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            // Sin Redis no hay L2 compartida; el TTL de L1 acota la desactualización
+            logger.warn("No se pudo publicar la invalidación '{}' en el canal {}: {}",
+                       message, channel, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.zelda.codex.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+/**
+ * Decorador de una cache Redis que guarda cada valor en un {@link CacheEntry} con
+ * un instante de frescura (TTL con jitter aleatorio) menor que el TTL real de Redis.
+ * <ul>
+ *   <li>Refresh-ahead: un acierto dentro de la ventana previa a la expiración
+ *       devuelve el valor y programa una recarga en segundo plano.</li>
+ *   <li>Stale-while-revalidate: una entrada vencida se sigue sirviendo durante
+ *       la ventana stale mientras se recarga; si no hay cargador es un miss.</li>
+ * </ul>
+ */
+public class RefreshAheadCache extends AbstractValueAdaptingCache implements BulkReadableCache {
+
+    private final Cache delegate;
+    private final CacheRefresher refresher;
+    private final Duration ttl;
+    private final double jitter;
+    private final Duration refreshAheadWindow;
+    private final Duration staleWindow;
+
+    public RefreshAheadCache(Cache delegate, CacheRefresher refresher, Duration ttl, double jitter,
+                             Duration refreshAheadWindow, Duration staleWindow) {
+        super(false);
+        this.delegate = delegate;
+        this.refresher = refresher;
+        this.ttl = ttl;
+        this.jitter = jitter;
+        this.refreshAheadWindow = refreshAheadWindow;
+        this.staleWindow = staleWindow;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        return resolve(key, wrapper != null ? wrapper.get() : null);
+    }
+
+    @Override
+    public List<Object> getAll(List<?> keys) {
+        List<Object> stored = BulkReadableCache.getAll(delegate, keys);
+        List<Object> values = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            values.add(resolve(keys.get(i), stored.get(i)));
+        }
+        return values;
+    }
+
+    private Object resolve(Object key, Object stored) {
+        if (!(stored instanceof CacheEntry entry)) {
+            // Entradas escritas antes de este formato: se sirven tal cual hasta su TTL
+            return stored;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now >= entry.getFreshUntil()) {
+            if (now < entry.getFreshUntil() + staleWindow.toMillis() && refresher.canRefresh(getName(), key)) {
+                refresher.refresh(getName(), key, "stale");
+                return entry.getValue();
+            }
+            return null;
+        }
+        if (now >= entry.getFreshUntil() - refreshAheadWindow.toMillis()) {
+            refresher.refresh(getName(), key, "refresh-ahead");
+        }
+        return entry.getValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        try {
+            T loaded = valueLoader.call();
+            put(key, loaded);
+            return loaded;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            delegate.evict(key);
+            return;
+        }
+        delegate.put(key, new CacheEntry(value, System.currentTimeMillis() + jitteredTtl()));
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    /**
+     * TTL de frescura con jitter uniforme en [ttl * (1 - jitter), ttl * (1 + jitter)]
+     * para que las claves cargadas a la vez no venzan juntas
+     */
+    private long jitteredTtl() {
+        long base = ttl.toMillis();
+        if (jitter <= 0) {
+            return base;
+        }
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return Math.round(base * factor);
+    }
+}
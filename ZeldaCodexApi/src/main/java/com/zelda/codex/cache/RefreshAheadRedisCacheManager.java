@@ -0,0 +1,56 @@
+package com.zelda.codex.cache;
+
+import java.time.Duration;
+
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+/**
+ * RedisCacheManager que crea caches {@link VersionedRedisCache} (compare-and-set por
+ * versión) y las envuelve en un {@link RefreshAheadCache}.
+ * El TTL de Redis de la configuración debe cubrir el TTL de frescura máximo
+ * (con jitter) más la ventana stale.
+ */
+public class RefreshAheadRedisCacheManager extends RedisCacheManager {
+
+    private final RedisCacheWriter cacheWriter;
+    private final RedisConnectionFactory connectionFactory;
+    private final CacheRefresher refresher;
+    private final Duration ttl;
+    private final double jitter;
+    private final Duration refreshAheadWindow;
+    private final Duration staleWindow;
+
+    public RefreshAheadRedisCacheManager(RedisCacheWriter cacheWriter,
+                                         RedisConnectionFactory connectionFactory,
+                                         RedisCacheConfiguration defaultCacheConfiguration,
+                                         CacheRefresher refresher,
+                                         Duration ttl,
+                                         double jitter,
+                                         Duration refreshAheadWindow,
+                                         Duration staleWindow) {
+        super(cacheWriter, defaultCacheConfiguration);
+        this.cacheWriter = cacheWriter;
+        this.connectionFactory = connectionFactory;
+        this.refresher = refresher;
+        this.ttl = ttl;
+        this.jitter = jitter;
+        this.refreshAheadWindow = refreshAheadWindow;
+        this.staleWindow = staleWindow;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+        return new VersionedRedisCache(name, cacheWriter, cacheConfiguration, connectionFactory);
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        return super.decorateCache(new RefreshAheadCache(cache, refresher, ttl, jitter,
+                                                         refreshAheadWindow, staleWindow));
+    }
+}
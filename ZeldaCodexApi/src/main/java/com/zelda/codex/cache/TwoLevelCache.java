@@ -0,0 +1,209 @@
+package com.zelda.codex.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cache de dos niveles: Caffeine en proceso (L1) delante de la cache Redis (L2).
+ * Las lecturas se resuelven primero en L1; las escrituras y borrados actualizan
+ * ambos niveles y avisan al resto de instancias para que limpien su L1.
+ * Cada invalidación de una clave (o de toda la cache) avanza una secuencia; una lectura de
+ * Redis solo llena L1 si la secuencia de su clave no cambió mientras leía, para no volver a
+ * guardar en L1 el valor que un aviso de invalidación acaba de descartar.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache implements BulkReadableCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final NearCacheInvalidationPublisher publisher;
+
+    private final AtomicLong invalidationSequence = new AtomicLong();
+    /** Última invalidación de cada clave; basta con recordarla mientras dure una entrada de L1 */
+    private final com.github.benmanes.caffeine.cache.Cache<String, Long> invalidations;
+    private volatile long lastClear;
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         Cache remote,
+                         NearCacheInvalidationPublisher publisher,
+                         Duration localTimeToLive) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.publisher = publisher;
+        this.invalidations = Caffeine.newBuilder()
+            .expireAfterWrite(localTimeToLive)
+            .build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return value;
+        }
+
+        long mark = invalidationMark(localKey);
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            return null;
+        }
+        putLocal(localKey, wrapper.get(), mark);
+        return wrapper.get();
+    }
+
+    /**
+     * Resuelve en L1 lo que pueda y pide el resto a Redis en una sola lectura múltiple
+     */
+    @Override
+    public List<Object> getAll(List<?> keys) {
+        List<Object> values = new ArrayList<>(keys.size());
+        List<Object> missingKeys = new ArrayList<>();
+        List<Integer> missingPositions = new ArrayList<>();
+        List<Long> missingMarks = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            String localKey = localKey(keys.get(i));
+            Object value = local.getIfPresent(localKey);
+            values.add(value);
+            if (value == null) {
+                missingKeys.add(keys.get(i));
+                missingPositions.add(i);
+                missingMarks.add(invalidationMark(localKey));
+            }
+        }
+        if (missingKeys.isEmpty()) {
+            return values;
+        }
+
+        List<Object> remoteValues = BulkReadableCache.getAll(remote, missingKeys);
+        for (int i = 0; i < missingKeys.size(); i++) {
+            Object value = remoteValues.get(i);
+            if (value != null) {
+                putLocal(localKey(missingKeys.get(i)), value, missingMarks.get(i));
+                values.set(missingPositions.get(i), value);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return (T) value;
+        }
+
+        long mark = invalidationMark(localKey);
+        T loaded = remote.get(key, valueLoader);
+        if (loaded != null) {
+            putLocal(localKey, loaded, mark);
+        }
+        return loaded;
+    }
+
+    /**
+     * Escribe solo en Redis: la cache remota puede rechazar el valor (compare-and-set por
+     * versión), así que L1 se llena en la siguiente lectura con lo que Redis tenga
+     */
+    @Override
+    public void put(Object key, Object value) {
+        String localKey = localKey(key);
+        evictLocal(localKey);
+        try {
+            remote.put(key, value);
+        } finally {
+            // Otra vez tras escribir: una lectura que empezó antes de la escritura no debe llenar L1
+            evictLocal(localKey);
+            publisher.publishEvict(name, localKey);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        evictLocal(localKey);
+        try {
+            remote.evict(key);
+        } finally {
+            evictLocal(localKey);
+            publisher.publishEvict(name, localKey);
+        }
+    }
+
+    @Override
+    public void clear() {
+        clearLocal();
+        try {
+            remote.clear();
+        } finally {
+            clearLocal();
+            publisher.publishClear(name);
+        }
+    }
+
+    /**
+     * Limpia solo el nivel local; lo usa el listener de invalidaciones de otras instancias
+     */
+    void evictLocal(String localKey) {
+        invalidations.put(localKey, invalidationSequence.incrementAndGet());
+        local.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        lastClear = invalidationSequence.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    /**
+     * Secuencia de la última invalidación que afecta a la clave
+     */
+    private long invalidationMark(String localKey) {
+        Long keyInvalidation = invalidations.getIfPresent(localKey);
+        return Math.max(keyInvalidation != null ? keyInvalidation : 0L, lastClear);
+    }
+
+    /**
+     * Guarda en L1 lo leído de Redis si nadie invalidó la clave desde mark. Se comprueba
+     * después de escribir: evictLocal avanza la secuencia antes de borrar de L1, así que
+     * o esta comprobación ve la invalidación o el borrado llega después de la escritura
+     */
+    private void putLocal(String localKey, Object value, long mark) {
+        if (invalidationMark(localKey) != mark) {
+            return;
+        }
+        local.put(localKey, value);
+        if (invalidationMark(localKey) != mark) {
+            local.invalidate(localKey);
+        }
+    }
+
+    /**
+     * Las claves se guardan en L1 con su forma de texto, la misma que viaja en los avisos
+     */
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,115 @@
+package com.zelda.codex.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * CacheManager que envuelve cada cache de Redis en una {@link TwoLevelCache}.
+ * También escucha el canal de invalidaciones y limpia L1 cuando otra instancia
+ * modifica o borra una entrada.
+ */
+public class TwoLevelCacheManager implements CacheManager, MessageListener, SubscriptionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    private final CacheManager remoteCacheManager;
+    private final NearCacheInvalidationPublisher publisher;
+    private final MeterRegistry meterRegistry;
+    private final long maximumSize;
+    private final Duration timeToLive;
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                NearCacheInvalidationPublisher publisher,
+                                MeterRegistry meterRegistry,
+                                long maximumSize,
+                                Duration timeToLive) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.publisher = publisher;
+        this.meterRegistry = meterRegistry;
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> createCache(cacheName, remote));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    private TwoLevelCache createCache(String name, Cache remote) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name + ".local");
+        logger.info("Cache '{}' con L1 local (máx. {} entradas, TTL {})", name, maximumSize, timeToLive);
+        return new TwoLevelCache(name, local, remote, publisher, timeToLive);
+    }
+
+    /**
+     * Cada (re)suscripción al canal: los avisos publicados mientras la conexión estuvo caída
+     * se han perdido, así que nada de lo que haya en L1 es fiable
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        if (caches.isEmpty()) {
+            return;
+        }
+        caches.values().forEach(TwoLevelCache::clearLocal);
+        logger.info("Suscrito al canal de invalidaciones {}; L1 limpiada", new String(channel, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Aviso recibido por Redis pub/sub; se ignoran los publicados por esta misma instancia
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\" + NearCacheInvalidationPublisher.SEPARATOR, 4);
+        if (parts.length < 3 || publisher.getInstanceId().equals(parts[0])) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+        if (NearCacheInvalidationPublisher.CLEAR.equals(parts[1])) {
+            cache.clearLocal();
+            logger.debug("L1 de '{}' limpiada por otra instancia", parts[2]);
+        } else if (NearCacheInvalidationPublisher.EVICT.equals(parts[1]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+            logger.debug("Clave '{}' de '{}' invalidada en L1 por otra instancia", parts[3], parts[2]);
+        }
+    }
+}
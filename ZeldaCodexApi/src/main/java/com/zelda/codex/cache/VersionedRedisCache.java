@@ -0,0 +1,129 @@
+package com.zelda.codex.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+
+import com.zelda.codex.models.Weapon;
+
+/**
+ * Cache Redis que escribe las armas con compare-and-set por versión: junto a cada
+ * entrada se guarda la versión en "clave::version" y un script Lua solo reemplaza el
+ * valor si la versión nueva no es menor. Así una lectura lenta o un escritor más antiguo
+ * no pisan un valor más reciente, aunque la entrada se haya borrado entre medias.
+ * Borrar una entrada deja en "clave::version" una lápida con una versión mayor que cualquier
+ * real, en el mismo script que borra el valor: una lectura que empezó antes del borrado no
+ * puede volver a guardar el arma hasta que la lápida caduque (el TTL de la cache).
+ * Los valores sin versión se escriben como en RedisCache.
+ * También permite leer varias claves con un solo MGET.
+ */
+public class VersionedRedisCache extends RedisCache implements BulkReadableCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VersionedRedisCache.class);
+
+    private static final byte[] COMPARE_AND_SET = ("""
+        local current = redis.call('GET', KEYS[2])
+        if current and tonumber(current) > tonumber(ARGV[1]) then
+          return 0
+        end
+        redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+        redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[3])
+        return 1
+        """).getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] EVICT_WITH_TOMBSTONE = ("""
+        redis.call('DEL', KEYS[1])
+        redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[2])
+        return 1
+        """).getBytes(StandardCharsets.UTF_8);
+
+    /** 2^53 - 1: mayor que cualquier versión y exacto como número de Lua */
+    private static final byte[] TOMBSTONE_VERSION = "9007199254740991".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public VersionedRedisCache(String name, RedisCacheWriter cacheWriter,
+                               RedisCacheConfiguration cacheConfiguration,
+                               RedisConnectionFactory connectionFactory) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Long version = versionOf(value);
+        if (version == null) {
+            super.put(key, value);
+            return;
+        }
+
+        String cacheKey = createCacheKey(key);
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            Long written = connection.scriptingCommands().eval(COMPARE_AND_SET, ReturnType.INTEGER, 2,
+                serializeCacheKey(cacheKey), versionKey(cacheKey), String.valueOf(version).getBytes(StandardCharsets.UTF_8),
+                serializeCacheValue(preProcessCacheValue(value)), ttlMillis(key, value));
+            if (written == null || written == 0L) {
+                logger.debug("Escritura de '{}' con versión {} descartada: la cache tiene una más reciente", cacheKey, version);
+            }
+        }
+    }
+
+    /**
+     * Las claves borradas son armas eliminadas (los IDs no se reutilizan), así que la lápida
+     * rechaza cualquier versión
+     */
+    @Override
+    public void evict(Object key) {
+        String cacheKey = createCacheKey(key);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.scriptingCommands().eval(EVICT_WITH_TOMBSTONE, ReturnType.INTEGER, 2,
+                serializeCacheKey(cacheKey), versionKey(cacheKey), TOMBSTONE_VERSION, ttlMillis(key, null));
+        }
+    }
+
+    @Override
+    public List<Object> getAll(List<?> keys) {
+        List<Object> values = new ArrayList<>(keys.size());
+        if (keys.isEmpty()) {
+            return values;
+        }
+        byte[][] cacheKeys = new byte[keys.size()][];
+        for (int i = 0; i < keys.size(); i++) {
+            cacheKeys[i] = serializeCacheKey(createCacheKey(keys.get(i)));
+        }
+        List<byte[]> raw;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            raw = connection.stringCommands().mGet(cacheKeys);
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] bytes = raw != null ? raw.get(i) : null;
+            values.add(bytes != null ? deserializeCacheValue(bytes) : null);
+        }
+        return values;
+    }
+
+    private byte[] versionKey(String cacheKey) {
+        return serializeCacheKey(cacheKey + "::version");
+    }
+
+    private byte[] ttlMillis(Object key, Object value) {
+        Duration ttl = getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+        return String.valueOf(ttl.toMillis()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Long versionOf(Object value) {
+        Object payload = value instanceof CacheEntry entry ? entry.getValue() : value;
+        return payload instanceof Weapon weapon ? weapon.getVersion() : null;
+    }
+}
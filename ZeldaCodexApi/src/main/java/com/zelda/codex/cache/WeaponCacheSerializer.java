@@ -0,0 +1,245 @@
+package com.zelda.codex.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.zelda.codex.cache.proto.CachedElement;
+import com.zelda.codex.cache.proto.CachedEntry;
+import com.zelda.codex.cache.proto.CachedSortOrder;
+import com.zelda.codex.cache.proto.CachedWeapon;
+import com.zelda.codex.cache.proto.CachedWeaponIdPage;
+import com.zelda.codex.cache.proto.CachedWeaponPage;
+import com.zelda.codex.cache.proto.CachedWeaponType;
+import com.zelda.codex.models.Element;
+import com.zelda.codex.models.Weapon;
+import com.zelda.codex.models.WeaponPage;
+import com.zelda.codex.models.WeaponType;
+
+/**
+ * Serializador binario (protobuf, weapon_cache.proto) para Weapon, páginas de armas y
+ * páginas de IDs ({@link WeaponIdPage}), solos o dentro de un {@link CacheEntry}.
+ * Cada valor lleva una cabecera de 3 bytes: marca, versión de formato y tipo.
+ * Los valores con otra versión se tratan como cache miss; los que no llevan la marca
+ * (entradas JSON anteriores u otros tipos) se delegan al serializador de respaldo.
+ */
+public class WeaponCacheSerializer implements RedisSerializer<Object> {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeaponCacheSerializer.class);
+
+    static final byte MAGIC = (byte) 0xCA;
+    static final byte FORMAT_VERSION = 1;
+    static final byte TYPE_WEAPON = 1;
+    static final byte TYPE_PAGE = 2;
+    static final byte TYPE_ENTRY = 3;
+    static final byte TYPE_ID_PAGE = 4;
+    private static final int HEADER_LENGTH = 3;
+
+    private final RedisSerializer<Object> fallback;
+
+    public WeaponCacheSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value instanceof CacheEntry entry && isSupported(entry.getValue())) {
+            return withHeader(TYPE_ENTRY, toProto(entry).toByteArray());
+        }
+        if (value instanceof Weapon weapon) {
+            return withHeader(TYPE_WEAPON, toProto(weapon).toByteArray());
+        }
+        if (value instanceof WeaponIdPage idPage) {
+            return withHeader(TYPE_ID_PAGE, toProto(idPage).toByteArray());
+        }
+        if (value instanceof Page<?> page && isWeaponPage(page)) {
+            @SuppressWarnings("unchecked")
+            Page<Weapon> weapons = (Page<Weapon>) page;
+            return withHeader(TYPE_PAGE, toProto(weapons).toByteArray());
+        }
+        return fallback.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[1] != FORMAT_VERSION) {
+            logger.debug("Entrada de cache con formato {} ignorada (actual {})",
+                        bytes.length > 1 ? bytes[1] : -1, FORMAT_VERSION);
+            return null;
+        }
+
+        try {
+            return switch (bytes[2]) {
+                case TYPE_WEAPON -> fromProto(CachedWeapon.parseFrom(body(bytes)));
+                case TYPE_PAGE -> fromProto(CachedWeaponPage.parseFrom(body(bytes)));
+                case TYPE_ENTRY -> fromProto(CachedEntry.parseFrom(body(bytes)));
+                case TYPE_ID_PAGE -> fromProto(CachedWeaponIdPage.parseFrom(body(bytes)));
+                default -> null;
+            };
+        } catch (InvalidProtocolBufferException e) {
+            throw new SerializationException("No se pudo leer la entrada binaria de cache", e);
+        }
+    }
+
+    private boolean isSupported(Object value) {
+        return value instanceof Weapon || value instanceof WeaponIdPage || (value instanceof Page<?> page && isWeaponPage(page));
+    }
+
+    private boolean isWeaponPage(Page<?> page) {
+        return page.getContent().stream().allMatch(Weapon.class::isInstance);
+    }
+
+    private byte[] withHeader(byte type, byte[] body) {
+        byte[] bytes = new byte[HEADER_LENGTH + body.length];
+        bytes[0] = MAGIC;
+        bytes[1] = FORMAT_VERSION;
+        bytes[2] = type;
+        System.arraycopy(body, 0, bytes, HEADER_LENGTH, body.length);
+        return bytes;
+    }
+
+    private ByteString body(byte[] bytes) {
+        return ByteString.copyFrom(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CachedEntry toProto(CacheEntry entry) {
+        CachedEntry.Builder builder = CachedEntry.newBuilder().setFreshUntilMs(entry.getFreshUntil());
+        if (entry.getValue() instanceof Weapon weapon) {
+            builder.setWeapon(toProto(weapon));
+        } else if (entry.getValue() instanceof WeaponIdPage idPage) {
+            builder.setIdPage(toProto(idPage));
+        } else {
+            builder.setPage(toProto((Page<Weapon>) entry.getValue()));
+        }
+        return builder.build();
+    }
+
+    private CacheEntry fromProto(CachedEntry cached) {
+        Object value = switch (cached.getValueCase()) {
+            case WEAPON -> fromProto(cached.getWeapon());
+            case PAGE -> fromProto(cached.getPage());
+            case ID_PAGE -> fromProto(cached.getIdPage());
+            default -> null;
+        };
+        return value != null ? new CacheEntry(value, cached.getFreshUntilMs()) : null;
+    }
+
+    private CachedWeapon toProto(Weapon weapon) {
+        CachedWeapon.Builder builder = CachedWeapon.newBuilder();
+        if (weapon.getId() != null) {
+            builder.setIdMost(weapon.getId().getMostSignificantBits())
+                   .setIdLeast(weapon.getId().getLeastSignificantBits());
+        }
+        if (weapon.getName() != null) {
+            builder.setName(weapon.getName());
+        }
+        if (weapon.getWeaponType() != null) {
+            builder.setWeaponType(CachedWeaponType.valueOf(weapon.getWeaponType().name()));
+        }
+        if (weapon.getDamage() != null) {
+            builder.setDamage(weapon.getDamage());
+        }
+        if (weapon.getDurability() != null) {
+            builder.setDurability(weapon.getDurability());
+        }
+        if (weapon.getElement() != null) {
+            builder.setElement(CachedElement.valueOf(weapon.getElement().name()));
+        }
+        if (weapon.getVersion() != null) {
+            builder.setVersion(weapon.getVersion());
+        }
+        return builder.build();
+    }
+
+    private Weapon fromProto(CachedWeapon cached) {
+        Weapon weapon = new Weapon();
+        if (cached.getIdMost() != 0 || cached.getIdLeast() != 0) {
+            weapon.setId(new UUID(cached.getIdMost(), cached.getIdLeast()));
+        }
+        weapon.setName(cached.getName().isEmpty() ? null : cached.getName());
+        if (cached.getWeaponType() != CachedWeaponType.CACHED_WEAPON_TYPE_UNSPECIFIED) {
+            weapon.setWeaponType(WeaponType.valueOf(cached.getWeaponType().name()));
+        }
+        weapon.setDamage(cached.hasDamage() ? cached.getDamage() : null);
+        weapon.setDurability(cached.hasDurability() ? cached.getDurability() : null);
+        if (cached.getElement() != CachedElement.CACHED_ELEMENT_UNSPECIFIED) {
+            weapon.setElement(Element.valueOf(cached.getElement().name()));
+        }
+        weapon.setVersion(cached.hasVersion() ? cached.getVersion() : null);
+        return weapon;
+    }
+
+    private CachedWeaponPage toProto(Page<Weapon> page) {
+        CachedWeaponPage.Builder builder = CachedWeaponPage.newBuilder()
+            .setTotalElements(page.getTotalElements());
+        page.getContent().forEach(weapon -> builder.addContent(toProto(weapon)));
+
+        Pageable pageable = page.getPageable();
+        if (pageable.isPaged()) {
+            builder.setPaged(true)
+                   .setPageNumber(pageable.getPageNumber())
+                   .setPageSize(pageable.getPageSize());
+            pageable.getSort().forEach(order -> builder.addSort(CachedSortOrder.newBuilder()
+                .setProperty(order.getProperty())
+                .setDescending(order.isDescending())));
+        }
+        if (page instanceof WeaponPage weaponPage && weaponPage.getNextCursor() != null) {
+            builder.setNextCursor(weaponPage.getNextCursor());
+        }
+        return builder.build();
+    }
+
+    private WeaponPage fromProto(CachedWeaponPage cached) {
+        List<Weapon> content = new ArrayList<>(cached.getContentCount());
+        cached.getContentList().forEach(weapon -> content.add(fromProto(weapon)));
+
+        Pageable pageable = Pageable.unpaged();
+        if (cached.getPaged()) {
+            List<Sort.Order> orders = new ArrayList<>(cached.getSortCount());
+            cached.getSortList().forEach(order -> orders.add(order.getDescending()
+                ? Sort.Order.desc(order.getProperty())
+                : Sort.Order.asc(order.getProperty())));
+            pageable = PageRequest.of(cached.getPageNumber(), cached.getPageSize(), Sort.by(orders));
+        }
+        return new WeaponPage(content, pageable, cached.getTotalElements(),
+                              cached.hasNextCursor() ? cached.getNextCursor() : null);
+    }
+
+    private CachedWeaponIdPage toProto(WeaponIdPage idPage) {
+        CachedWeaponIdPage.Builder builder = CachedWeaponIdPage.newBuilder()
+            .setTotalElements(idPage.getTotalElements());
+        idPage.getIds().forEach(id -> builder.addIdMost(id.getMostSignificantBits())
+                                             .addIdLeast(id.getLeastSignificantBits()));
+        if (idPage.getNextCursor() != null) {
+            builder.setNextCursor(idPage.getNextCursor());
+        }
+        return builder.build();
+    }
+
+    private WeaponIdPage fromProto(CachedWeaponIdPage cached) {
+        List<UUID> ids = new ArrayList<>(cached.getIdMostCount());
+        for (int i = 0; i < cached.getIdMostCount(); i++) {
+            ids.add(new UUID(cached.getIdMost(i), cached.getIdLeast(i)));
+        }
+        return new WeaponIdPage(ids, cached.getTotalElements(),
+                                cached.hasNextCursor() ? cached.getNextCursor() : null);
+    }
+}
@@ -0,0 +1,244 @@
+package com.zelda.codex.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.zelda.codex.gateways.IWeaponGateway;
+import com.zelda.codex.models.Weapon;
+import com.zelda.codex.models.WeaponPage;
+
+/**
+ * Filtro de Bloom de los IDs de armas existentes, guardado como bitmap en Redis
+ * y compartido por todas las instancias. Si dice que un ID no existe, la consulta
+ * se responde 404 sin llamar al servicio de armas.
+ * Se reconstruye periódicamente recorriendo el catálogo por cursor y se actualiza
+ * en cada creación. Los borrados no se pueden quitar: quedan como falsos positivos
+ * hasta la siguiente reconstrucción. Ante cualquier error de Redis responde "puede existir".
+ * <p>
+ * Las armas creadas fuera de Codex (directamente en ZeldaApi) no pasan por aquí. Para acotar
+ * esos falsos negativos se guarda cuántas armas tiene el filtro y cada check-interval una
+ * instancia lo compara con el total del catálogo: si el catálogo tiene más, el filtro se marca
+ * como desfasado (mientras tanto todos los IDs se consultan al servicio) y se reconstruye.
+ * Un alta y un borrado externos en el mismo intervalo no cambian el total; ese caso queda
+ * acotado por la reconstrucción periódica.
+ */
+@Component
+public class WeaponIdBloomFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeaponIdBloomFilter.class);
+
+    private static final String KEY = "weapons:bloom";
+    private static final String BUILDING_KEY = "weapons:bloom:building";
+    private static final String LOCK_KEY = "weapons:bloom:lock";
+    private static final String COUNT_KEY = "weapons:bloom:count";
+    private static final String STALE_KEY = "weapons:bloom:stale";
+    private static final String CHECK_KEY = "weapons:bloom:check";
+    private static final int CATALOG_PAGE_SIZE = 100;
+
+    /** Solo borra el candado si sigue siendo el de esta reconstrucción */
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final IWeaponGateway weaponGateway;
+    private final boolean enabled;
+    private final Duration checkInterval;
+    private final long bits;
+    private final int hashes;
+
+    public WeaponIdBloomFilter(StringRedisTemplate redisTemplate,
+                               IWeaponGateway weaponGateway,
+                               @Value("${zelda.weapons.bloom.enabled:false}") boolean enabled,
+                               @Value("${zelda.weapons.bloom.expected-insertions:100000}") long expectedInsertions,
+                               @Value("${zelda.weapons.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${zelda.weapons.bloom.check-interval-ms:30000}") long checkIntervalMs) {
+        this.redisTemplate = redisTemplate;
+        this.weaponGateway = weaponGateway;
+        this.enabled = enabled;
+        this.checkInterval = Duration.ofMillis(checkIntervalMs);
+        // m = -n ln p / (ln 2)^2, k = m/n ln 2
+        this.bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * @return false solo si el filtro está construido, no está desfasado y el ID no está en él
+     */
+    public boolean mightContain(UUID id) {
+        if (!enabled) {
+            return true;
+        }
+        try {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                stringConnection.exists(KEY);
+                stringConnection.exists(STALE_KEY);
+                for (long offset : offsets(id)) {
+                    stringConnection.getBit(KEY, offset);
+                }
+                return null;
+            });
+            if (!Boolean.TRUE.equals(results.get(0)) || Boolean.TRUE.equals(results.get(1))) {
+                return true; // Aún no construido o pendiente de reconstruir
+            }
+            return results.stream().skip(2).allMatch(Boolean.TRUE::equals);
+        } catch (RuntimeException e) {
+            logger.debug("No se pudo consultar el filtro de Bloom para {}: {}", id, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Añade un ID recién creado; también al filtro en construcción para no perderlo al reemplazarlo
+     */
+    public void add(UUID id) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            setBits(List.of(KEY, BUILDING_KEY), List.of(id));
+            redisTemplate.opsForValue().increment(COUNT_KEY);
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo añadir {} al filtro de Bloom: {}", id, e.getMessage());
+        }
+    }
+
+    /**
+     * Recorre el catálogo completo por cursor y reemplaza el filtro de forma atómica (RENAME).
+     * Un candado en Redis evita que varias instancias lo reconstruyan a la vez.
+     */
+    @Scheduled(initialDelayString = "${zelda.weapons.bloom.initial-delay-ms:10000}",
+               fixedDelayString = "${zelda.weapons.bloom.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String lockToken = UUID.randomUUID().toString();
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, lockToken, Duration.ofMinutes(5));
+            if (!Boolean.TRUE.equals(locked)) {
+                logger.debug("Otra instancia está reconstruyendo el filtro de Bloom");
+                return;
+            }
+            try {
+                redisTemplate.delete(BUILDING_KEY);
+                long count = 0;
+                Map<String, String> filters = new HashMap<>();
+                // El recorrido no necesita el total: sin esto la primera página haría un COUNT
+                filters.put(IWeaponGateway.INCLUDE_TOTAL_FILTER, "false");
+                PageRequest pageRequest = PageRequest.of(0, CATALOG_PAGE_SIZE);
+                while (true) {
+                    Page<Weapon> page = weaponGateway.getAllWeapons(pageRequest, filters);
+                    if (page.hasContent()) {
+                        setBits(List.of(BUILDING_KEY), page.getContent().stream().map(Weapon::getId).toList());
+                        count += page.getNumberOfElements();
+                    }
+                    String nextCursor = page instanceof WeaponPage weaponPage ? weaponPage.getNextCursor() : null;
+                    if (nextCursor == null) {
+                        break;
+                    }
+                    filters.put(IWeaponGateway.CURSOR_FILTER, nextCursor);
+                }
+                if (count == 0) {
+                    redisTemplate.delete(KEY);
+                } else {
+                    redisTemplate.rename(BUILDING_KEY, KEY);
+                    redisTemplate.opsForValue().set(COUNT_KEY, String.valueOf(count));
+                }
+                redisTemplate.delete(STALE_KEY);
+                logger.info("Filtro de Bloom de armas reconstruido: {} IDs, {} bits, {} funciones hash", count, bits, hashes);
+            } finally {
+                // Si la reconstrucción superó el TTL del candado, ahora puede ser de otra instancia
+                redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(LOCK_KEY), lockToken);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo reconstruir el filtro de Bloom de armas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Compara el total del catálogo (la primera página, que es la única que pide el COUNT)
+     * con las armas del filtro. Solo una instancia lo hace en cada intervalo.
+     */
+    @Scheduled(initialDelayString = "${zelda.weapons.bloom.initial-delay-ms:10000}",
+               fixedDelayString = "${zelda.weapons.bloom.check-interval-ms:30000}")
+    public void checkFreshness() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(KEY))
+                    || !Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(CHECK_KEY, "1", checkInterval))) {
+                return;
+            }
+            long catalogTotal = weaponGateway.getAllWeapons(PageRequest.of(0, 1), Map.of()).getTotalElements();
+            String stored = redisTemplate.opsForValue().get(COUNT_KEY);
+            long filterCount = stored != null ? Long.parseLong(stored) : -1;
+            if (catalogTotal > filterCount) {
+                logger.info("El catálogo tiene {} armas y el filtro de Bloom {}: se reconstruye", catalogTotal, filterCount);
+                redisTemplate.opsForValue().set(STALE_KEY, "1");
+                rebuild();
+            } else if (catalogTotal < filterCount) {
+                // Hubo borrados: se baja la cuenta para que un alta externa posterior se detecte
+                redisTemplate.opsForValue().set(COUNT_KEY, String.valueOf(catalogTotal));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo comprobar si el filtro de Bloom de armas está al día: {}", e.getMessage());
+        }
+    }
+
+    private void setBits(List<String> keys, List<UUID> ids) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (UUID id : ids) {
+                for (long offset : offsets(id)) {
+                    for (String key : keys) {
+                        stringConnection.setBit(key, offset, true);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Doble hashing (Kirsch-Mitzenmacher) sobre las dos mitades del UUID
+     */
+    private long[] offsets(UUID id) {
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits()) | 1;
+        long[] offsets = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            offsets[i] = Math.floorMod(h1 + i * h2, bits);
+        }
+        return offsets;
+    }
+
+    // Finalizador de MurmurHash3 (fmix64)
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93e53fe1a85L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
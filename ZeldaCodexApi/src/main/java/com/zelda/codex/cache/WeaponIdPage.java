@@ -0,0 +1,50 @@
+package com.zelda.codex.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+
+import com.zelda.codex.models.Weapon;
+import com.zelda.codex.models.WeaponPage;
+
+/**
+ * Entrada de la cache weaponsList: solo los IDs de la página en orden, el total y el
+ * cursor. Las armas se leen de la cache weapons, así que una escritura de un arma
+ * se ve en todos los listados que la contienen sin duplicarla en cada uno.
+ */
+public class WeaponIdPage {
+
+    private List<UUID> ids;
+    private long totalElements;
+    private String nextCursor;
+
+    // Constructor vacío (deserialización JSON)
+    private WeaponIdPage() {}
+
+    public WeaponIdPage(List<UUID> ids, long totalElements, String nextCursor) {
+        this.ids = ids;
+        this.totalElements = totalElements;
+        this.nextCursor = nextCursor;
+    }
+
+    public static WeaponIdPage of(Page<Weapon> page) {
+        List<UUID> ids = new ArrayList<>(page.getNumberOfElements());
+        page.getContent().forEach(weapon -> ids.add(weapon.getId()));
+        String nextCursor = page instanceof WeaponPage weaponPage ? weaponPage.getNextCursor() : null;
+        return new WeaponIdPage(ids, page.getTotalElements(), nextCursor);
+    }
+
+    public List<UUID> getIds() {
+        return ids;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
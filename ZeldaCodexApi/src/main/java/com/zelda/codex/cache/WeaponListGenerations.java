@@ -0,0 +1,140 @@
+package com.zelda.codex.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.zelda.codex.models.Element;
+import com.zelda.codex.models.Weapon;
+import com.zelda.codex.models.WeaponType;
+
+/**
+ * Contadores de generación para la cache weaponsList.
+ * Cada listado depende de una o dos etiquetas según sus filtros (tipo, elemento o "all")
+ * y su clave de cache incluye la generación actual de esas etiquetas. Una escritura solo
+ * incrementa las etiquetas del arma antes y después del cambio, sin recorrer claves:
+ * los listados afectados dejan de encontrarse y sus entradas viejas expiran por TTL.
+ */
+@Component
+public class WeaponListGenerations {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeaponListGenerations.class);
+
+    private static final String KEY_PREFIX = "weaponsList:gen:";
+    private static final String TAG_ALL = "all";
+    private static final String TAG_TYPE = "type:";
+    private static final String TAG_ELEMENT = "element:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public WeaponListGenerations(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Sello de generación para un listado con estos filtros, p. ej. "type:SPEAR=4"
+     */
+    public String stamp(Map<String, String> filters) {
+        List<String> tags = tagsFor(filters);
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(keys(tags));
+            StringBuilder stamp = new StringBuilder();
+            for (int i = 0; i < tags.size(); i++) {
+                String value = values != null ? values.get(i) : null;
+                stamp.append(i > 0 ? "," : "").append(tags.get(i)).append('=').append(value != null ? value : "0");
+            }
+            return stamp.toString();
+        } catch (RuntimeException e) {
+            // Sin contadores no se puede saber si una entrada sigue vigente: sello único, sin reutilización
+            logger.warn("No se pudieron leer las generaciones de weaponsList: {}", e.getMessage());
+            return "nogen-" + UUID.randomUUID();
+        }
+    }
+
+    /**
+     * Invalida los listados en los que puede aparecer un arma nueva
+     */
+    public void bumpCreated(Weapon created) {
+        bump(null, created, true);
+    }
+
+    /**
+     * Invalida los listados que pueden contener el arma antes o después de modificarla o borrarla.
+     * Si no se conoce el estado anterior (before == null) se incrementan todas las etiquetas
+     * de tipo y elemento, que siguen siendo un número fijo de claves.
+     */
+    public void bumpChanged(Weapon before, Weapon after) {
+        bump(before, after, before != null);
+    }
+
+    private void bump(Weapon before, Weapon after, boolean beforeKnown) {
+        Set<String> tags = new LinkedHashSet<>();
+        tags.add(TAG_ALL);
+        if (beforeKnown) {
+            addWeaponTags(tags, before);
+        } else {
+            for (WeaponType type : WeaponType.values()) {
+                tags.add(TAG_TYPE + type.name());
+            }
+            for (Element element : Element.values()) {
+                tags.add(TAG_ELEMENT + element.name());
+            }
+        }
+        addWeaponTags(tags, after);
+
+        List<String> keys = keys(new ArrayList<>(tags));
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                keys.forEach(stringConnection::incr);
+                return null;
+            });
+            logger.debug("Generaciones de weaponsList incrementadas: {}", tags);
+        } catch (RuntimeException e) {
+            logger.warn("No se pudieron incrementar las generaciones de weaponsList {}: {}", tags, e.getMessage());
+        }
+    }
+
+    private void addWeaponTags(Set<String> tags, Weapon weapon) {
+        if (weapon == null) {
+            return;
+        }
+        if (weapon.getWeaponType() != null) {
+            tags.add(TAG_TYPE + weapon.getWeaponType().name());
+        }
+        if (weapon.getElement() != null) {
+            tags.add(TAG_ELEMENT + weapon.getElement().name());
+        }
+    }
+
+    private List<String> tagsFor(Map<String, String> filters) {
+        List<String> tags = new ArrayList<>(2);
+        String weaponType = filters != null ? filters.get("weaponType") : null;
+        String element = filters != null ? filters.get("element") : null;
+        if (weaponType != null && !weaponType.isBlank()) {
+            tags.add(TAG_TYPE + weaponType.trim().toUpperCase(Locale.ROOT));
+        }
+        if (element != null && !element.isBlank()) {
+            tags.add(TAG_ELEMENT + element.trim().toUpperCase(Locale.ROOT));
+        }
+        if (tags.isEmpty()) {
+            tags.add(TAG_ALL);
+        }
+        return tags;
+    }
+
+    private List<String> keys(List<String> tags) {
+        return tags.stream().map(tag -> KEY_PREFIX + tag).toList();
+    }
+}
@@ -0,0 +1,127 @@
+package com.zelda.codex.cache;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.zelda.codex.gateways.IWeaponGateway;
+
+/**
+ * Clave de la cache weaponsList en forma canónica, p. ej. "0_10_name:a_9f3c0d1e2b4a5c6d".
+ * Solo entran los datos que el gateway envía al servicio de armas, así que dos peticiones
+ * equivalentes comparten clave:
+ * <ul>
+ *   <li>Filtros conocidos en orden fijo (no depende del orden del Map); el resto de
+ *       parámetros, incluidos los de paginación y orden, se ignoran.</li>
+ *   <li>weaponType, element, includeTotal y el campo de orden en minúsculas (el gateway no distingue).</li>
+ *   <li>Solo el primer criterio de orden, que es el único que se envía.</li>
+ *   <li>Con cursor el número de página no se usa: se sustituye por "c" y el cursor entra en el hash.</li>
+ * </ul>
+ * Los filtros y el cursor se resumen en un hash de 64 bits, sin SpEL ni String.format.
+ */
+@Component
+public class WeaponListKeyGenerator implements KeyGenerator {
+
+    // Orden fijo = orden canónico
+    private static final String[] FILTERS = {"element", "includeTotal", "maxDamage", "minDamage", "weaponType"};
+    private static final boolean[] CASE_INSENSITIVE = {true, true, false, false, true};
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object generate(Object target, Method method, Object... params) {
+        Pageable pageable = Pageable.unpaged();
+        Map<String, String> filters = null;
+        for (Object param : params) {
+            if (param instanceof Pageable found) {
+                pageable = found;
+            } else if (param instanceof Map<?, ?> found) {
+                filters = (Map<String, String>) found;
+            }
+        }
+        return generate(pageable, filters);
+    }
+
+    public String generate(Pageable pageable, Map<String, String> filters) {
+        String cursor = filters != null ? filters.get(IWeaponGateway.CURSOR_FILTER) : null;
+
+        long hash = FNV_OFFSET;
+        if (filters != null) {
+            for (int i = 0; i < FILTERS.length; i++) {
+                String value = filters.get(FILTERS[i]);
+                if (value != null) {
+                    hash = hash(hash, FILTERS[i], false);
+                    hash = hash(hash, value, CASE_INSENSITIVE[i]);
+                }
+            }
+        }
+        if (cursor != null) {
+            hash = hash(hash, IWeaponGateway.CURSOR_FILTER, false);
+            hash = hash(hash, cursor, false);
+        }
+
+        StringBuilder key = new StringBuilder(48);
+        if (pageable.isPaged()) {
+            if (cursor != null) {
+                key.append('c');
+            } else {
+                key.append(pageable.getPageNumber());
+            }
+            key.append('_').append(pageable.getPageSize());
+        } else {
+            key.append("unpaged");
+        }
+        key.append('_');
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(null);
+        if (order != null) {
+            appendLowerCase(key, order.getProperty());
+            key.append(order.isAscending() ? ":a" : ":d");
+        } else {
+            key.append('-');
+        }
+        key.append('_');
+        appendHex(key, mix(hash));
+        return key.toString();
+    }
+
+    // FNV-1a sobre los caracteres, con separador para que "ab"+"c" no coincida con "a"+"bc"
+    private static long hash(long hash, String value, boolean lowerCase) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (lowerCase) {
+                c = Character.toLowerCase(c);
+            }
+            hash = (hash ^ c) * FNV_PRIME;
+        }
+        return (hash ^ 0xFFFF) * FNV_PRIME;
+    }
+
+    // Finalizador de MurmurHash3 (fmix64) para repartir mejor los bits
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93e53fe1a85L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static void appendLowerCase(StringBuilder key, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            key.append(Character.toLowerCase(value.charAt(i)));
+        }
+    }
+
+    private static void appendHex(StringBuilder key, long value) {
+        for (int shift = 60; shift >= 0; shift -= 4) {
+            key.append(Character.forDigit((int) (value >>> shift) & 0xF, 16));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.zelda.codex.cache;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache negativa de TTL corto para los IDs que el servicio de armas respondió como NOT_FOUND.
+ * Si Redis falla se consulta el servicio como siempre.
+ */
+@Component
+public class WeaponNotFoundCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeaponNotFoundCache.class);
+
+    private static final String KEY_PREFIX = "weaponsNotFound::";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public WeaponNotFoundCache(StringRedisTemplate redisTemplate,
+                               @Value("${zelda.cache.not-found.ttl:60s}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    public boolean isKnownMissing(UUID id) {
+        if (ttl.isZero()) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + id));
+        } catch (RuntimeException e) {
+            logger.debug("No se pudo consultar la cache negativa para {}: {}", id, e.getMessage());
+            return false;
+        }
+    }
+
+    public void recordMissing(UUID id) {
+        if (ttl.isZero()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + id, "1", ttl);
+        } catch (RuntimeException e) {
+            logger.debug("No se pudo guardar {} en la cache negativa: {}", id, e.getMessage());
+        }
+    }
+
+    public void forget(UUID id) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + id);
+        } catch (RuntimeException e) {
+            logger.debug("No se pudo quitar {} de la cache negativa: {}", id, e.getMessage());
+        }
+    }
+}
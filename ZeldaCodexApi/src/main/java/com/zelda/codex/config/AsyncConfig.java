@@ -0,0 +1,84 @@
+package com.zelda.codex.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Executor de las llamadas al servicio de armas desde los controladores asíncronos:
+ * el hilo de Tomcat se libera y la espera del SOAP/gRPC ocupa un hilo de este pool.
+ * Los aciertos de cache no pasan por aquí (AsyncWeaponService los resuelve en el hilo de
+ * Tomcat), así que el pool solo lleva cargas del servicio y basta con el tamaño del bulkhead
+ * (zelda.resilience.weapons.max-concurrent-calls): más hilos solo esperarían un permiso.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${zelda.weapons.async.threads:50}")
+    private int threads;
+
+    @Value("${zelda.weapons.async.queue-capacity:1000}")
+    private int queueCapacity;
+
+    /**
+     * Con spring.threads.virtual.enabled=true, un hilo virtual por llamada; si no, un pool acotado
+     */
+    @Bean
+    public AsyncTaskExecutor weaponExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("weapon-io-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(requestContextPropagation());
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("weapon-io-");
+        executor.setTaskDecorator(requestContextPropagation());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * Lleva la petición HTTP y el usuario autenticado al hilo del executor
+     * (modo degradado, cabeceras Warning/Age, seguridad)
+     */
+    private TaskDecorator requestContextPropagation() {
+        return task -> {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            SecurityContext securityContext = SecurityContextHolder.getContext();
+            // El hilo de Tomcat marca sus RequestAttributes como terminados al iniciar el modo
+            // asíncrono; se crean unos nuevos sobre la misma petición, que sigue abierta
+            RequestAttributes propagated = attributes instanceof ServletRequestAttributes servletAttributes
+                ? new ServletRequestAttributes(servletAttributes.getRequest(), servletAttributes.getResponse())
+                : attributes;
+            return () -> {
+                RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+                SecurityContext previousContext = SecurityContextHolder.getContext();
+                RequestContextHolder.setRequestAttributes(propagated);
+                SecurityContextHolder.setContext(securityContext);
+                try {
+                    task.run();
+                } finally {
+                    SecurityContextHolder.setContext(previousContext);
+                    RequestContextHolder.setRequestAttributes(previousAttributes);
+                }
+            };
+        };
+    }
+}
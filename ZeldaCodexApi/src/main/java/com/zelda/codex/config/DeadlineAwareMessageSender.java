@@ -0,0 +1,60 @@
+package com.zelda.codex.config;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.ws.transport.WebServiceConnection;
+import org.springframework.ws.transport.http.HttpComponents5Connection;
+import org.springframework.ws.transport.http.HttpComponents5MessageSender;
+
+import com.zelda.codex.resilience.RequestDeadline;
+
+/**
+ * Envía las peticiones SOAP con la espera de conexión del pool, el timeout de conexión y el
+ * de respuesta recortados a lo que quede del plazo de la petición HTTP. Al agotarse el plazo
+ * se corta la conexión en lugar de seguir esperando una respuesta que ya nadie va a leer.
+ * Cualquiera de los tres timeouts llega al gateway como IOException (servicio no disponible),
+ * que con el plazo agotado se responde con 504.
+ */
+public class DeadlineAwareMessageSender extends HttpComponents5MessageSender {
+
+    private final RequestConfig defaultRequestConfig;
+
+    /** Timeout de conexión del pool (ConnectionConfig), que se aplica si no hay plazo */
+    private final Timeout connectTimeout;
+
+    public DeadlineAwareMessageSender(HttpClient httpClient, RequestConfig defaultRequestConfig, Timeout connectTimeout) {
+        super(httpClient);
+        this.defaultRequestConfig = defaultRequestConfig;
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * El connect timeout de RequestConfig está deprecado a favor de ConnectionConfig, que es
+     * por pool y no por petición; si se indica, HttpClient lo usa en lugar del del pool.
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    public WebServiceConnection createConnection(URI uri) throws IOException {
+        WebServiceConnection connection = super.createConnection(uri);
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null && connection instanceof HttpComponents5Connection httpConnection) {
+            long remainingMillis = deadline.remainingMillis();
+            httpConnection.getHttpPost().setConfig(RequestConfig.copy(defaultRequestConfig)
+                .setConnectionRequestTimeout(min(defaultRequestConfig.getConnectionRequestTimeout(), remainingMillis))
+                .setConnectTimeout(min(connectTimeout, remainingMillis))
+                .setResponseTimeout(min(defaultRequestConfig.getResponseTimeout(), remainingMillis))
+                .build());
+        }
+        return connection;
+    }
+
+    private static Timeout min(Timeout configured, long remainingMillis) {
+        return configured != null && !configured.isDisabled() && configured.toMilliseconds() <= remainingMillis
+            ? configured
+            : Timeout.ofMilliseconds(remainingMillis);
+    }
+}
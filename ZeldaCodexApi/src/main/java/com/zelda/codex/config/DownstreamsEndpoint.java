@@ -0,0 +1,32 @@
+package com.zelda.codex.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.zelda.codex.resilience.DownstreamGuard;
+
+/**
+ * /actuator/downstreams: estado del circuito y ocupación del bulkhead de cada servicio remoto
+ */
+@Component
+@Endpoint(id = "downstreams")
+public class DownstreamsEndpoint {
+
+    private final List<DownstreamGuard> guards;
+
+    public DownstreamsEndpoint(List<DownstreamGuard> guards) {
+        this.guards = guards;
+    }
+
+    @ReadOperation
+    public Map<String, Object> downstreams() {
+        Map<String, Object> downstreams = new LinkedHashMap<>();
+        guards.forEach(guard -> downstreams.put(guard.getName(), guard.describe()));
+        return downstreams;
+    }
+}
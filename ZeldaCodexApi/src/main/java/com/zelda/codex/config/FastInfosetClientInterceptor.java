@@ -0,0 +1,114 @@
+package com.zelda.codex.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ws.WebServiceMessage;
+import org.springframework.ws.client.WebServiceIOException;
+import org.springframework.ws.client.WebServiceTransportException;
+import org.springframework.ws.client.support.interceptor.ClientInterceptor;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.soap.saaj.SaajSoapMessage;
+
+/**
+ * Negocia Fast Infoset con el servicio SOAP de armas usando solo cabeceras MIME públicas.
+ * Las peticiones se envían en XML anunciando "Accept: application/fastinfoset"; cuando el
+ * servidor responde con Content-Type application/fastinfoset, las peticiones de los siguientes
+ * recheckInterval también se codifican así (FastInfosetSoapMessage). Pasado ese tiempo se vuelve
+ * a sondear en XML, y una respuesta XML o un error de transporte con una petición binaria
+ * cancelan la negociación antes.
+ */
+public class FastInfosetClientInterceptor implements ClientInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(FastInfosetClientInterceptor.class);
+
+    private static final String ACCEPT_HEADER = "Accept";
+    private static final String ACCEPT_FAST_INFOSET = FastInfosetMessages.FAST_INFOSET_CONTENT_TYPE + ", text/xml";
+
+    private final Duration recheckInterval;
+    private final Clock clock;
+
+    /** Hasta cuándo se da por buena la última respuesta Fast Infoset; null mientras no se haya negociado */
+    private volatile Instant fastInfosetUntil;
+
+    public FastInfosetClientInterceptor(Duration recheckInterval) {
+        this(recheckInterval, Clock.systemUTC());
+    }
+
+    FastInfosetClientInterceptor(Duration recheckInterval, Clock clock) {
+        this.recheckInterval = recheckInterval;
+        this.clock = clock;
+    }
+
+    public boolean isFastInfosetNegotiated() {
+        Instant until = fastInfosetUntil;
+        return until != null && clock.instant().isBefore(until);
+    }
+
+    @Override
+    public boolean handleRequest(MessageContext messageContext) {
+        if (messageContext.getRequest() instanceof SaajSoapMessage request) {
+            request.getSaajMessage().getMimeHeaders().setHeader(ACCEPT_HEADER, ACCEPT_FAST_INFOSET);
+            if (isFastInfosetNegotiated() && request instanceof FastInfosetSoapMessage fastInfosetRequest) {
+                fastInfosetRequest.encodeAsFastInfoset();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean handleResponse(MessageContext messageContext) {
+        if (!messageContext.hasResponse()) {
+            return true;
+        }
+        if (isFastInfoset(messageContext.getResponse())) {
+            // Solo una respuesta a una petición XML (el sondeo) renueva el plazo
+            if (!isEncodedAsFastInfoset(messageContext.getRequest())) {
+                if (fastInfosetUntil == null) {
+                    logger.info("El servicio SOAP soporta Fast Infoset; las peticiones se envían en binario durante {}",
+                            recheckInterval);
+                }
+                fastInfosetUntil = clock.instant().plus(recheckInterval);
+            }
+        } else {
+            forget("respondió en XML");
+        }
+        return true;
+    }
+
+    @Override
+    public boolean handleFault(MessageContext messageContext) {
+        // Los faults llegan en XML aunque se haya negociado Fast Infoset; no cambian la negociación
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(MessageContext messageContext, Exception ex) {
+        // Un fault es una respuesta válida del servicio; solo los errores HTTP o de E/S cancelan la negociación
+        if ((ex instanceof WebServiceTransportException || ex instanceof WebServiceIOException)
+                && isEncodedAsFastInfoset(messageContext.getRequest())) {
+            forget("rechazó una petición Fast Infoset (" + ex.getMessage() + ")");
+        }
+    }
+
+    private void forget(String reason) {
+        if (fastInfosetUntil != null) {
+            fastInfosetUntil = null;
+            logger.warn("El servicio SOAP {}; se vuelve a XML", reason);
+        }
+    }
+
+    private static boolean isEncodedAsFastInfoset(WebServiceMessage request) {
+        return request instanceof FastInfosetSoapMessage fastInfosetRequest && fastInfosetRequest.isFastInfosetEncoded();
+    }
+
+    private static boolean isFastInfoset(WebServiceMessage message) {
+        // Las respuestas en streaming son siempre text/xml y no hay que volcarlas a SAAJ
+        return message instanceof SaajSoapMessage saajMessage
+                && !(message instanceof StreamingSoapResponseMessage)
+                && FastInfosetMessages.isFastInfoset(saajMessage.getSaajMessage().getMimeHeaders());
+    }
+}
@@ -0,0 +1,32 @@
+package com.zelda.codex.config;
+
+import org.springframework.ws.soap.SoapMessageCreationException;
+import org.springframework.ws.soap.saaj.SaajSoapMessage;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+
+/**
+ * SaajSoapMessageFactory cuyos mensajes nuevos se pueden escribir en Fast Infoset
+ * (FastInfosetSoapMessage). Los mensajes leídos los sigue creando SAAJ.
+ */
+public class FastInfosetSoapMessageFactory extends SaajSoapMessageFactory {
+
+    @Override
+    public SaajSoapMessage createWebServiceMessage() {
+        MessageFactory messageFactory = getMessageFactory();
+        try {
+            SOAPMessage saajMessage = messageFactory.createMessage();
+            postProcess(saajMessage);
+            return createWebServiceMessage(saajMessage, messageFactory);
+        } catch (SOAPException ex) {
+            throw new SoapMessageCreationException("Could not create empty message: " + ex.getMessage(), ex);
+        }
+    }
+
+    protected FastInfosetSoapMessage createWebServiceMessage(SOAPMessage saajMessage, MessageFactory messageFactory) {
+        return new FastInfosetSoapMessage(saajMessage, messageFactory);
+    }
+}
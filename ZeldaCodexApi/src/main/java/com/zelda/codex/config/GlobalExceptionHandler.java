@@ -4,20 +4,24 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 import org.springframework.ws.soap.client.SoapFaultClientException;
 
 import com.zelda.codex.dtos.ErrorResponse;
+import com.zelda.codex.exceptions.DeadlineExceededException;
 import com.zelda.codex.exceptions.SoapServiceException;
 import com.zelda.codex.exceptions.SoapServiceUnavailableException;
 import com.zelda.codex.exceptions.SoapValidationException;
 import com.zelda.codex.exceptions.WeaponAlreadyExistsException;
 import com.zelda.codex.exceptions.WeaponNotFoundException;
+import com.zelda.codex.exceptions.WeaponVersionConflictException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -42,6 +46,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(WeaponVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleWeaponVersionConflict(WeaponVersionConflictException ex) {
+        ErrorResponse error = new ErrorResponse();
+        error.setStatus(409);
+        error.setError("Weapon Version Conflict");
+        error.setMessage(ex.getMessage());
+        error.setTimestamp(LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> fieldErrors = new HashMap<>();
@@ -143,6 +157,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
     }
 
+    /**
+     * Plazo de la petición (X-Request-Timeout o zelda.deadline.default) agotado esperando al servicio de armas
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDeadlineExceeded(DeadlineExceededException ex) {
+        ErrorResponse error = new ErrorResponse();
+        error.setStatus(504);
+        error.setError("Gateway Timeout");
+        error.setMessage(ex.getMessage());
+        error.setTimestamp(LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(error);
+    }
+
+    /**
+     * Executor de llamadas al servicio de armas saturado o petición asíncrona sin respuesta a tiempo
+     */
+    @ExceptionHandler({TaskRejectedException.class, AsyncRequestTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleAsyncOverload(Exception ex) {
+        ErrorResponse error = new ErrorResponse();
+        error.setStatus(503);
+        error.setError("Service Unavailable");
+        error.setMessage("El servidor está saturado o el servicio de armas no respondió a tiempo. Intenta de nuevo más tarde.");
+        error.setTimestamp(LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     /**
      * Manejo genérico de excepciones no capturadas
      */
@@ -2,14 +2,16 @@ package com.zelda.codex.config;
 
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.zelda.codex.grpc.CharacterServiceGrpc;
+import com.zelda.codex.grpc.weapons.WeaponServiceGrpc;
 
 /**
- * Configuration for gRPC client to connect to Characters service.
+ * Configuration for gRPC clients to connect to the Characters and Weapons services.
  */
 @Configuration
 public class GrpcClientConfig {
@@ -20,6 +22,12 @@ public class GrpcClientConfig {
     @Value("${grpc.characters.port:50051}")
     private int grpcPort;
 
+    @Value("${grpc.weapons.host:localhost}")
+    private String weaponsGrpcHost;
+
+    @Value("${grpc.weapons.port:9091}")
+    private int weaponsGrpcPort;
+
     @Bean
     public ManagedChannel managedChannel() {
         return ManagedChannelBuilder
@@ -29,12 +37,26 @@ public class GrpcClientConfig {
     }
 
     @Bean
-    public CharacterServiceGrpc.CharacterServiceBlockingStub characterServiceBlockingStub(ManagedChannel channel) {
-        return CharacterServiceGrpc.newBlockingStub(channel);
+    public CharacterServiceGrpc.CharacterServiceStub characterServiceAsyncStub(
+            @Qualifier("managedChannel") ManagedChannel channel) {
+        return CharacterServiceGrpc.newStub(channel);
+    }
+
+    /**
+     * Channel to the ZeldaApi weapons service. A single HTTP/2 connection multiplexes
+     * all concurrent calls; it is only opened on the first call.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ManagedChannel weaponsManagedChannel() {
+        return ManagedChannelBuilder
+                .forAddress(weaponsGrpcHost, weaponsGrpcPort)
+                .usePlaintext()
+                .build();
     }
 
     @Bean
-    public CharacterServiceGrpc.CharacterServiceStub characterServiceAsyncStub(ManagedChannel channel) {
-        return CharacterServiceGrpc.newStub(channel);
+    public WeaponServiceGrpc.WeaponServiceBlockingStub weaponServiceBlockingStub(
+            @Qualifier("weaponsManagedChannel") ManagedChannel channel) {
+        return WeaponServiceGrpc.newBlockingStub(channel);
     }
 }
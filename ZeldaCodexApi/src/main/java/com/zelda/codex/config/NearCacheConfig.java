@@ -0,0 +1,60 @@
+package com.zelda.codex.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.zelda.codex.cache.NearCacheInvalidationPublisher;
+import com.zelda.codex.cache.TwoLevelCacheManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache cercana: Caffeine en proceso delante de Redis, con invalidación
+ * entre instancias por Redis pub/sub
+ */
+@Configuration
+@ConditionalOnProperty(name = "zelda.cache.near.enabled", havingValue = "true", matchIfMissing = true)
+public class NearCacheConfig {
+
+    @Value("${zelda.cache.near.max-size:10000}")
+    private long maxSize;
+
+    @Value("${zelda.cache.near.ttl:60s}")
+    private Duration ttl;
+
+    @Value("${zelda.cache.near.channel:zelda:codex:cache-invalidation}")
+    private String channel;
+
+    @Bean
+    public NearCacheInvalidationPublisher nearCacheInvalidationPublisher(RedisConnectionFactory connectionFactory) {
+        return new NearCacheInvalidationPublisher(new StringRedisTemplate(connectionFactory), channel);
+    }
+
+    @Bean
+    @Primary
+    public TwoLevelCacheManager cacheManager(RedisCacheManager redisCacheManager,
+                                             NearCacheInvalidationPublisher nearCacheInvalidationPublisher,
+                                             MeterRegistry meterRegistry) {
+        return new TwoLevelCacheManager(redisCacheManager, nearCacheInvalidationPublisher,
+                                        meterRegistry, maxSize, ttl);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer nearCacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                       TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(channel));
+        return container;
+    }
+}
@@ -12,11 +12,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
@@ -25,6 +27,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.zelda.codex.cache.CacheRefresher;
+import com.zelda.codex.cache.RefreshAheadRedisCacheManager;
+import com.zelda.codex.cache.WeaponCacheSerializer;
 
 @Configuration
 @EnableCaching
@@ -38,6 +43,21 @@ public class RedisConfig implements CachingConfigurer {
     @Value("${spring.data.redis.port:6379}")
     private int redisPort;
 
+    @Value("${zelda.cache.serializer:protobuf}")
+    private String cacheSerializer;
+
+    @Value("${spring.cache.redis.time-to-live:600000}")
+    private Duration cacheTtl;
+
+    @Value("${zelda.cache.ttl-jitter:0.1}")
+    private double cacheTtlJitter;
+
+    @Value("${zelda.cache.refresh-ahead.window:0s}")
+    private Duration refreshAheadWindow;
+
+    @Value("${zelda.cache.stale-while-revalidate.window:0s}")
+    private Duration staleWindow;
+
     @Bean
     public LettuceConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
@@ -61,20 +81,45 @@ public class RedisConfig implements CachingConfigurer {
         return template;
     }
 
+    /**
+     * Cache Redis compartida (L2); con zelda.cache.near.enabled NearCacheConfig
+     * la envuelve con una cache local y expone el CacheManager principal.
+     * Cada valor lleva su propio TTL de frescura (con jitter); el TTL de Redis es el
+     * máximo de ese TTL más la ventana stale-while-revalidate.
+     */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory, CacheRefresher cacheRefresher) {
+        Duration redisTtl = Duration.ofMillis(Math.round(cacheTtl.toMillis() * (1 + Math.max(cacheTtlJitter, 0))))
+            .plus(staleWindow);
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-            .entryTtl(Duration.ofMinutes(10)) // TTL por defecto: 10 minutos
+            .entryTtl(redisTtl) // TTL por defecto: 10 minutos (+ jitter y ventana stale)
             .disableCachingNullValues() // No cachear valores nulos
             .serializeKeysWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
                 .fromSerializer(new StringRedisSerializer()))
             .serializeValuesWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
-                .fromSerializer(new GenericJackson2JsonRedisSerializer(redisObjectMapper())));
+                .fromSerializer(cacheValueSerializer()));
+
+        logger.info("Cache Redis: TTL {} (jitter {}), refresh-ahead {}, stale-while-revalidate {}",
+                   cacheTtl, cacheTtlJitter, refreshAheadWindow, staleWindow);
+        RedisCacheManager cacheManager = new RefreshAheadRedisCacheManager(
+            RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), connectionFactory, config,
+            cacheRefresher, cacheTtl, cacheTtlJitter, refreshAheadWindow, staleWindow);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
 
-        return RedisCacheManager.builder(connectionFactory)
-            .cacheDefaults(config)
-            .transactionAware()
-            .build();
+    /**
+     * Serializador de los valores de cache: protobuf (binario compacto para Weapon y páginas)
+     * o json (formato anterior con type information)
+     */
+    @Bean
+    public RedisSerializer<Object> cacheValueSerializer() {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer(redisObjectMapper());
+        if ("json".equalsIgnoreCase(cacheSerializer)) {
+            return json;
+        }
+        logger.info("Valores de cache serializados con protobuf (respaldo JSON para otros tipos)");
+        return new WeaponCacheSerializer(json);
     }
 
     /**
@@ -0,0 +1,67 @@
+package com.zelda.codex.config;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.zelda.codex.resilience.RequestDeadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Fija el plazo de cada petición al llegar: el de la cabecera X-Request-Timeout
+ * ("1500", "1500ms", "2s", "PT2S") o zelda.deadline.default, nunca mayor que zelda.deadline.max.
+ * Va primero en la cadena para que el tiempo de seguridad y de cola también cuente.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestDeadlineFilter.class);
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final Duration defaultBudget;
+    private final Duration maxBudget;
+
+    public RequestDeadlineFilter(@Value("${zelda.deadline.default:10s}") Duration defaultBudget,
+                                 @Value("${zelda.deadline.max:30s}") Duration maxBudget) {
+        this.defaultBudget = defaultBudget;
+        this.maxBudget = maxBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(RequestDeadline.ATTRIBUTE, RequestDeadline.after(budget(request.getHeader(TIMEOUT_HEADER))));
+        filterChain.doFilter(request, response);
+    }
+
+    private Duration budget(String header) {
+        if (header == null || header.isBlank()) {
+            return defaultBudget;
+        }
+        try {
+            Duration requested = DurationStyle.detectAndParse(header.trim());
+            if (requested.isNegative() || requested.isZero()) {
+                logger.debug("{} no positivo ({}): se usa el plazo por defecto", TIMEOUT_HEADER, header);
+                return defaultBudget;
+            }
+            return requested.compareTo(maxBudget) > 0 ? maxBudget : requested;
+        } catch (IllegalArgumentException e) {
+            logger.debug("{} no válido ({}): se usa el plazo por defecto", TIMEOUT_HEADER, header);
+            return defaultBudget;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.zelda.codex.config;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zelda.codex.exceptions.SoapServiceException;
+import com.zelda.codex.exceptions.SoapValidationException;
+import com.zelda.codex.resilience.DownstreamGuard;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Un circuit breaker y un bulkhead independientes por servicio remoto, para que un
+ * servicio lento o caído no consuma los recursos de las peticiones que usan el otro.
+ * Configuración en zelda.resilience.{weapons|characters}.*
+ */
+@Configuration
+public class ResilienceConfig {
+
+    // DEADLINE_EXCEEDED no es un fallo: el deadline es el plazo de la petición (X-Request-Timeout)
+    // y la llamada que lo agota cuenta como lenta (DownstreamGuard baja el umbral a ese plazo)
+    private static final Set<Status.Code> CHARACTERS_FAILURES = EnumSet.of(
+        Status.Code.UNAVAILABLE, Status.Code.RESOURCE_EXHAUSTED, Status.Code.INTERNAL, Status.Code.UNKNOWN);
+
+    /**
+     * Servicio de armas (SOAP o gRPC): fallan las caídas y errores del servicio, no los de validación.
+     * Un timeout del propio cliente SOAP/gRPC es un fallo; si lo causó el plazo de la petición
+     * llega como DeadlineExceededException y cuenta como llamada lenta.
+     */
+    @Bean
+    public DownstreamGuard weaponsGuard(Environment environment, MeterRegistry meterRegistry) {
+        return guard("weapons", environment, meterRegistry,
+            error -> error instanceof SoapServiceException && !(error instanceof SoapValidationException));
+    }
+
+    /**
+     * Servicio de personajes (gRPC): solo los códigos que indican un servicio caído, saturado o lento
+     */
+    @Bean
+    public DownstreamGuard charactersGuard(Environment environment, MeterRegistry meterRegistry) {
+        return guard("characters", environment, meterRegistry,
+            error -> error instanceof StatusRuntimeException statusError
+                && CHARACTERS_FAILURES.contains(statusError.getStatus().getCode()));
+    }
+
+    private DownstreamGuard guard(String name, Environment environment, MeterRegistry meterRegistry,
+                                  Predicate<Throwable> isFailure) {
+        String prefix = "zelda.resilience." + name + ".";
+        return new DownstreamGuard(name,
+            environment.getProperty(prefix + "window-size", Integer.class, 20),
+            environment.getProperty(prefix + "minimum-calls", Integer.class, 10),
+            environment.getProperty(prefix + "failure-rate-threshold", Double.class, 50.0),
+            environment.getProperty(prefix + "slow-call-duration", Duration.class, Duration.ofSeconds(3)),
+            environment.getProperty(prefix + "min-slow-call-duration", Duration.class, Duration.ofMillis(500)),
+            environment.getProperty(prefix + "open-duration", Duration.class, Duration.ofSeconds(10)),
+            environment.getProperty(prefix + "half-open-calls", Integer.class, 3),
+            environment.getProperty(prefix + "max-concurrent-calls", Integer.class, 50),
+            environment.getProperty(prefix + "max-wait", Duration.class, Duration.ZERO),
+            isFailure, meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.zelda.codex.config;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Métricas del pool de conexiones hacia ZeldaApi:
+ * httpcomponents.httpclient.pool.total.connections{state=leased|available},
+ * httpcomponents.httpclient.pool.total.pending y los límites configurados
+ */
+@Configuration
+public class SoapClientMetricsConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManagerMetricsBinder soapConnectionPoolMetrics(
+            PoolingHttpClientConnectionManager soapConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(soapConnectionManager, "zelda-weapons-soap");
+    }
+}
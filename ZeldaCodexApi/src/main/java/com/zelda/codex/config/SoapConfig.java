@@ -1,13 +1,36 @@
 package com.zelda.codex.config;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.oxm.jaxb.Jaxb2Marshaller;
 import org.springframework.ws.client.core.WebServiceTemplate;
+import org.springframework.ws.client.support.interceptor.ClientInterceptor;
+import org.springframework.ws.transport.http.HttpComponents5MessageSender;
+import org.springframework.ws.soap.SoapVersion;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
 
 @Configuration
 public class SoapConfig {
 
+    @Value("${zelda.weapons.soap.fast-infoset.enabled:false}")
+    private boolean fastInfosetEnabled;
+
+    /** Cada cuánto se vuelve a comprobar en XML que el servidor sigue aceptando Fast Infoset */
+    @Value("${zelda.weapons.soap.fast-infoset.recheck-interval:5m}")
+    private Duration fastInfosetRecheckInterval;
+
     @Bean
     public Jaxb2Marshaller marshaller() {
         Jaxb2Marshaller marshaller = new Jaxb2Marshaller();
@@ -16,15 +39,90 @@ public class SoapConfig {
         return marshaller;
     }
 
+    @Value("${spring.ws.client.connection-timeout:5000}")
+    private long connectionTimeoutMillis;
+
+    @Value("${spring.ws.client.read-timeout:10000}")
+    private long readTimeoutMillis;
+
+    /**
+     * Pool de conexiones keep-alive hacia ZeldaApi. Todas las peticiones van al mismo
+     * host, así que el límite por ruta es el que realmente acota la concurrencia
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager soapConnectionManager(
+            @Value("${zelda.weapons.soap.pool.max-total:50}") int maxTotal,
+            @Value("${zelda.weapons.soap.pool.max-per-route:50}") int maxPerRoute,
+            @Value("${zelda.weapons.soap.pool.time-to-live-ms:300000}") long timeToLiveMillis) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectionTimeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLiveMillis))
+                        // Revalida las conexiones que llevan tiempo sin usarse antes de reutilizarlas
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public RequestConfig soapRequestConfig(
+            @Value("${zelda.weapons.soap.pool.connection-request-timeout-ms:2000}") long connectionRequestTimeoutMillis) {
+        return RequestConfig.custom()
+                // Tiempo máximo esperando una conexión libre del pool
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMillis))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient soapHttpClient(
+            PoolingHttpClientConnectionManager soapConnectionManager,
+            RequestConfig soapRequestConfig,
+            @Value("${zelda.weapons.soap.pool.idle-eviction-ms:30000}") long idleEvictionMillis) {
+        return HttpClients.custom()
+                .setConnectionManager(soapConnectionManager)
+                .setDefaultRequestConfig(soapRequestConfig)
+                // Spring-WS escribe Content-Length/Transfer-Encoding; HttpClient los calcula
+                .addRequestInterceptorFirst(new HttpComponents5MessageSender.RemoveSoapHeadersInterceptor())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEvictionMillis, TimeUnit.MILLISECONDS))
+                .build();
+    }
+
+    /**
+     * Con "streaming" las respuestas XML se deserializan con StAX directamente del stream HTTP;
+     * con "saaj" se construye el DOM completo de cada respuesta
+     */
     @Bean
-    public WebServiceTemplate webServiceTemplate(Jaxb2Marshaller marshaller) {
-        WebServiceTemplate webServiceTemplate = new WebServiceTemplate();
+    public SaajSoapMessageFactory soapMessageFactory(
+            @Value("${zelda.weapons.soap.message-factory:streaming}") String messageFactoryType) {
+        SaajSoapMessageFactory messageFactory = "saaj".equalsIgnoreCase(messageFactoryType)
+                ? new FastInfosetSoapMessageFactory()
+                : new StreamingSoapMessageFactory();
+        messageFactory.setSoapVersion(SoapVersion.SOAP_11);
+        return messageFactory;
+    }
+
+    @Bean
+    public WebServiceTemplate webServiceTemplate(Jaxb2Marshaller marshaller, SaajSoapMessageFactory soapMessageFactory,
+                                                 CloseableHttpClient soapHttpClient, RequestConfig soapRequestConfig) {
+        WebServiceTemplate webServiceTemplate = new WebServiceTemplate(soapMessageFactory);
+        // Timeouts por petición según el plazo restante (X-Request-Timeout / zelda.deadline.default)
+        webServiceTemplate.setMessageSender(new DeadlineAwareMessageSender(soapHttpClient, soapRequestConfig,
+                Timeout.ofMilliseconds(connectionTimeoutMillis)));
         webServiceTemplate.setMarshaller(marshaller);
         webServiceTemplate.setUnmarshaller(marshaller);
         webServiceTemplate.setDefaultUri("${zelda.weapons.soap.url:http://localhost:8081/ws}");
         
         // Configurar timeouts para manejo de errores
         webServiceTemplate.setCheckConnectionForFault(true);
+
+        if (fastInfosetEnabled) {
+            webServiceTemplate.setInterceptors(new ClientInterceptor[] { new FastInfosetClientInterceptor(fastInfosetRecheckInterval) });
+        }
         
         return webServiceTemplate;
     }
@@ -0,0 +1,38 @@
+package com.zelda.codex.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.zelda.codex.services.DegradedMode;
+
+/**
+ * Añade Warning: 110 y Age a las respuestas servidas con el último valor conocido
+ * mientras el servicio de armas no está disponible
+ */
+@ControllerAdvice
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(DegradedMode.STALE_SINCE_ATTRIBUTE) instanceof Long staleSince) {
+            long ageSeconds = Math.max(0, (System.currentTimeMillis() - staleSince) / 1000);
+            response.getHeaders().set("Warning", "110 - \"Response is Stale\"");
+            response.getHeaders().set("Age", String.valueOf(ageSeconds));
+        }
+        return body;
+    }
+}
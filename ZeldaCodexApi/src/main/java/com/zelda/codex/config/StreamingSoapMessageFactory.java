@@ -0,0 +1,149 @@
+package com.zelda.codex.config;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.springframework.ws.soap.SoapMessageCreationException;
+import org.springframework.ws.soap.SoapVersion;
+import org.springframework.ws.soap.saaj.SaajSoapMessage;
+import org.springframework.ws.transport.TransportConstants;
+import org.springframework.ws.transport.TransportInputStream;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+
+/**
+ * SaajSoapMessageFactory que lee las respuestas XML en streaming (StreamingSoapResponseMessage).
+ * Antes de decidir lee con StAX el inicio del sobre: si trae cabeceras SOAP, un fault, el cuerpo
+ * vacío o no es text/xml (Fast Infoset, MTOM), vuelve al inicio y la respuesta la parsea SAAJ.
+ * Las peticiones se siguen construyendo con SAAJ (FastInfosetSoapMessageFactory).
+ */
+public class StreamingSoapMessageFactory extends FastInfosetSoapMessageFactory {
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    /** Bytes que se pueden releer si hay que volver a SAAJ; el sobre hasta el payload ocupa mucho menos */
+    private static final int PEEK_LIMIT = 64 * 1024;
+
+    private static final String XML_CONTENT_TYPE = "text/xml";
+
+    public StreamingSoapMessageFactory() {
+        setSoapVersion(SoapVersion.SOAP_11);
+    }
+
+    @Override
+    public SaajSoapMessage createWebServiceMessage(InputStream inputStream) throws IOException {
+        if (!(inputStream instanceof TransportInputStream transportInputStream) || !isPlainXml(transportInputStream)) {
+            return super.createWebServiceMessage(inputStream);
+        }
+
+        BufferedInputStream bufferedStream = new BufferedInputStream(transportInputStream);
+        bufferedStream.mark(PEEK_LIMIT);
+        try {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(bufferedStream);
+            if (moveToPayload(reader)) {
+                return new StreamingSoapResponseMessage(createSaajMessage(transportInputStream), getMessageFactory(), reader);
+            }
+            reader.close();
+        } catch (XMLStreamException ex) {
+            // SAAJ vuelve a leer el mensaje y reporta el error como InvalidXmlException
+        }
+        bufferedStream.reset();
+        return super.createWebServiceMessage(new ReplayedTransportInputStream(bufferedStream, transportInputStream));
+    }
+
+    private static boolean isPlainXml(TransportInputStream inputStream) throws IOException {
+        Iterator<String> contentTypes = inputStream.getHeaders(TransportConstants.HEADER_CONTENT_TYPE);
+        return contentTypes.hasNext() && contentTypes.next().toLowerCase().startsWith(XML_CONTENT_TYPE);
+    }
+
+    /**
+     * Avanza hasta el primer elemento del Body. Devuelve false si el mensaje debe leerlo SAAJ
+     */
+    static boolean moveToPayload(XMLStreamReader reader) throws XMLStreamException {
+        reader.nextTag();
+        if (!isEnvelopeElement(reader, "Envelope")) {
+            return false;
+        }
+        reader.nextTag();
+        if (isEnvelopeElement(reader, "Header")) {
+            if (reader.nextTag() != XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+            reader.nextTag();
+        }
+        if (!isEnvelopeElement(reader, "Body") || reader.nextTag() != XMLStreamConstants.START_ELEMENT) {
+            return false;
+        }
+        return !isEnvelopeElement(reader, "Fault");
+    }
+
+    private static boolean isEnvelopeElement(XMLStreamReader reader, String localName) {
+        return reader.isStartElement()
+                && SoapVersion.SOAP_11.getEnvelopeNamespaceUri().equals(reader.getNamespaceURI())
+                && localName.equals(reader.getLocalName());
+    }
+
+    /**
+     * Mensaje SAAJ vacío con las cabeceras HTTP de la respuesta
+     */
+    private SOAPMessage createSaajMessage(TransportInputStream inputStream) throws IOException {
+        try {
+            SOAPMessage saajMessage = getMessageFactory().createMessage();
+            for (Iterator<String> names = inputStream.getHeaderNames(); names.hasNext();) {
+                String name = names.next();
+                for (Iterator<String> values = inputStream.getHeaders(name); values.hasNext();) {
+                    saajMessage.getMimeHeaders().addHeader(name, values.next());
+                }
+            }
+            postProcess(saajMessage);
+            return saajMessage;
+        } catch (SOAPException ex) {
+            throw new SoapMessageCreationException("Could not create message: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return inputFactory;
+    }
+
+    /**
+     * Devuelve a SAAJ los bytes ya leídos conservando las cabeceras HTTP (Content-Type)
+     */
+    private static class ReplayedTransportInputStream extends TransportInputStream {
+
+        private final InputStream replayedStream;
+        private final TransportInputStream original;
+
+        ReplayedTransportInputStream(InputStream replayedStream, TransportInputStream original) {
+            this.replayedStream = replayedStream;
+            this.original = original;
+        }
+
+        @Override
+        protected InputStream createInputStream() {
+            return replayedStream;
+        }
+
+        @Override
+        public Iterator<String> getHeaderNames() throws IOException {
+            return original.getHeaderNames();
+        }
+
+        @Override
+        public Iterator<String> getHeaders(String name) throws IOException {
+            return original.getHeaders(name);
+        }
+    }
+}
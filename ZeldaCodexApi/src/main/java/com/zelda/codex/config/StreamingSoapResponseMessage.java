@@ -0,0 +1,248 @@
+package com.zelda.codex.config;
+
+import java.util.Iterator;
+import java.util.Locale;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Result;
+import javax.xml.transform.Source;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.stax.StAXSource;
+
+import org.springframework.ws.soap.SoapBody;
+import org.springframework.ws.soap.SoapEnvelope;
+import org.springframework.ws.soap.SoapHeader;
+import org.springframework.ws.soap.SoapVersion;
+import org.springframework.ws.soap.saaj.SaajSoapMessage;
+import org.springframework.ws.soap.saaj.SaajSoapMessageException;
+import org.springframework.ws.soap.soap11.Soap11Body;
+import org.springframework.ws.soap.soap11.Soap11Fault;
+import org.springframework.xml.transform.TransformerFactoryUtils;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPMessage;
+
+/**
+ * Respuesta SOAP 1.1 leída en streaming: el lector StAX queda posicionado sobre el payload del
+ * Body y el unmarshaller JAXB lo consume directamente del stream HTTP, sin construir el DOM de
+ * SAAJ. StreamingSoapMessageFactory solo la crea cuando la respuesta es XML sin cabeceras SOAP ni
+ * fault. Si algo pide el mensaje SAAJ antes de leer el payload, el resto del stream se vuelca a
+ * su cuerpo; una vez consumido el payload, el cuerpo SAAJ queda vacío.
+ */
+public class StreamingSoapResponseMessage extends SaajSoapMessage {
+
+    private XMLStreamReader payloadReader;
+
+    public StreamingSoapResponseMessage(SOAPMessage saajMessage, MessageFactory messageFactory,
+                                        XMLStreamReader payloadReader) {
+        super(saajMessage, messageFactory);
+        this.payloadReader = payloadReader;
+    }
+
+    public boolean isStreaming() {
+        return payloadReader != null;
+    }
+
+    @Override
+    public SoapVersion getVersion() {
+        return SoapVersion.SOAP_11;
+    }
+
+    @Override
+    public SOAPMessage getSaajMessage() {
+        materialize();
+        return super.getSaajMessage();
+    }
+
+    @Override
+    public SoapEnvelope getEnvelope() {
+        return isStreaming() ? new PendingEnvelope() : super.getEnvelope();
+    }
+
+    /**
+     * La factoría ya comprobó que el mensaje no es XOP (Content-Type text/xml). Sin esto, el
+     * unmarshaller JAXB lo consultaría a mitad de lectura y forzaría el volcado al DOM
+     */
+    @Override
+    public boolean isXopPackage() {
+        return false;
+    }
+
+    private Source takePayloadSource() {
+        XMLStreamReader reader = this.payloadReader;
+        if (reader == null) {
+            return super.getEnvelope().getBody().getPayloadSource();
+        }
+        this.payloadReader = null;
+        return new StAXSource(reader);
+    }
+
+    /**
+     * Copia lo que queda del payload en el cuerpo del mensaje SAAJ
+     */
+    private void materialize() {
+        XMLStreamReader reader = this.payloadReader;
+        if (reader == null) {
+            return;
+        }
+        this.payloadReader = null;
+        try {
+            TransformerFactoryUtils.newInstance().newTransformer()
+                    .transform(new StAXSource(reader), super.getEnvelope().getBody().getPayloadResult());
+        } catch (TransformerException ex) {
+            throw new SaajSoapMessageException("No se pudo volcar el payload al mensaje SAAJ: " + ex.getMessage(), ex);
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        try {
+            reader.close();
+        } catch (XMLStreamException ex) {
+            // El stream HTTP lo cierra WebServiceTemplate al terminar la llamada
+        }
+    }
+
+    private SoapEnvelope materializedEnvelope() {
+        materialize();
+        return super.getEnvelope();
+    }
+
+    private Soap11Body materializedBody() {
+        return (Soap11Body) materializedEnvelope().getBody();
+    }
+
+    private class PendingEnvelope implements SoapEnvelope {
+
+        @Override
+        public SoapHeader getHeader() {
+            return materializedEnvelope().getHeader();
+        }
+
+        @Override
+        public SoapBody getBody() {
+            return isStreaming() ? new PendingBody() : materializedEnvelope().getBody();
+        }
+
+        @Override
+        public QName getName() {
+            return materializedEnvelope().getName();
+        }
+
+        @Override
+        public Source getSource() {
+            return materializedEnvelope().getSource();
+        }
+
+        @Override
+        public void addAttribute(QName name, String value) {
+            materializedEnvelope().addAttribute(name, value);
+        }
+
+        @Override
+        public void removeAttribute(QName name) {
+            materializedEnvelope().removeAttribute(name);
+        }
+
+        @Override
+        public String getAttributeValue(QName name) {
+            return materializedEnvelope().getAttributeValue(name);
+        }
+
+        @Override
+        public Iterator<QName> getAllAttributes() {
+            return materializedEnvelope().getAllAttributes();
+        }
+
+        @Override
+        public void addNamespaceDeclaration(String prefix, String namespaceUri) {
+            materializedEnvelope().addNamespaceDeclaration(prefix, namespaceUri);
+        }
+    }
+
+    private class PendingBody implements Soap11Body {
+
+        @Override
+        public Source getPayloadSource() {
+            return takePayloadSource();
+        }
+
+        @Override
+        public boolean hasFault() {
+            return !isStreaming() && materializedBody().hasFault();
+        }
+
+        @Override
+        public Soap11Fault getFault() {
+            return isStreaming() ? null : materializedBody().getFault();
+        }
+
+        @Override
+        public Result getPayloadResult() {
+            return materializedBody().getPayloadResult();
+        }
+
+        @Override
+        public Soap11Fault addFault(QName faultCode, String faultString, Locale faultStringLocale) {
+            return materializedBody().addFault(faultCode, faultString, faultStringLocale);
+        }
+
+        @Override
+        public Soap11Fault addMustUnderstandFault(String faultString, Locale locale) {
+            return materializedBody().addMustUnderstandFault(faultString, locale);
+        }
+
+        @Override
+        public Soap11Fault addClientOrSenderFault(String faultString, Locale locale) {
+            return materializedBody().addClientOrSenderFault(faultString, locale);
+        }
+
+        @Override
+        public Soap11Fault addServerOrReceiverFault(String faultString, Locale locale) {
+            return materializedBody().addServerOrReceiverFault(faultString, locale);
+        }
+
+        @Override
+        public Soap11Fault addVersionMismatchFault(String faultString, Locale locale) {
+            return materializedBody().addVersionMismatchFault(faultString, locale);
+        }
+
+        @Override
+        public QName getName() {
+            return materializedBody().getName();
+        }
+
+        @Override
+        public Source getSource() {
+            return materializedBody().getSource();
+        }
+
+        @Override
+        public void addAttribute(QName name, String value) {
+            materializedBody().addAttribute(name, value);
+        }
+
+        @Override
+        public void removeAttribute(QName name) {
+            materializedBody().removeAttribute(name);
+        }
+
+        @Override
+        public String getAttributeValue(QName name) {
+            return materializedBody().getAttributeValue(name);
+        }
+
+        @Override
+        public Iterator<QName> getAllAttributes() {
+            return materializedBody().getAllAttributes();
+        }
+
+        @Override
+        public void addNamespaceDeclaration(String prefix, String namespaceUri) {
+            materializedBody().addNamespaceDeclaration(prefix, namespaceUri);
+        }
+    }
+}
@@ -88,7 +88,7 @@ public class ApiInfoController {
         
         Map<String, String> cacheTypes = new HashMap<>();
         cacheTypes.put("weapons", "Cache individual de armas por ID");
-        cacheTypes.put("weaponsList", "Cache de listados paginados con filtros");
+        cacheTypes.put("weaponsList", "Cache de listados paginados con filtros (IDs de cada página; las armas salen de la cache weapons)");
         cacheInfo.put("cacheTypes", cacheTypes);
         
         return ResponseEntity.ok(cacheInfo);
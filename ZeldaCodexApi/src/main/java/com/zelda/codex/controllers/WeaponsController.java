@@ -2,6 +2,8 @@ package com.zelda.codex.controllers;
 
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -30,8 +32,9 @@ import com.zelda.codex.dtos.WeaponResponse;
 import com.zelda.codex.exceptions.WeaponNotFoundException;
 import com.zelda.codex.mappers.WeaponMapper;
 import com.zelda.codex.models.Weapon;
+import com.zelda.codex.models.WeaponPage;
 import com.zelda.codex.services.HateoasLinkService;
-import com.zelda.codex.services.IWeaponService;
+import com.zelda.codex.services.IAsyncWeaponService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -40,17 +43,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 
+/**
+ * Los métodos devuelven CompletableFuture: el hilo de Tomcat se libera mientras
+ * se espera al servicio de armas y la respuesta se escribe al completarse
+ */
 @RestController
 @RequestMapping("/api/v1/weapons")
 @Tag(name = "Weapons", description = "API del Codex de Armas de Zelda Breath of the Wild")
 public class WeaponsController {
 
-    private final IWeaponService weaponService;
+    private final IAsyncWeaponService weaponService;
     private final WeaponMapper weaponMapper;
     private final HateoasLinkService hateoasLinkService;
 
     @Autowired
-    public WeaponsController(IWeaponService weaponService, WeaponMapper weaponMapper, HateoasLinkService hateoasLinkService) {
+    public WeaponsController(IAsyncWeaponService weaponService, WeaponMapper weaponMapper, HateoasLinkService hateoasLinkService) {
         this.weaponService = weaponService;
         this.weaponMapper = weaponMapper;
         this.hateoasLinkService = hateoasLinkService;
@@ -64,23 +71,23 @@ public class WeaponsController {
         @ApiResponse(responseCode = "404", description = "Arma no encontrada"),
         @ApiResponse(responseCode = "400", description = "ID de arma inválido")
     })
-    public ResponseEntity<WeaponResponse> getWeaponById(
+    public CompletableFuture<ResponseEntity<WeaponResponse>> getWeaponById(
             @Parameter(description = "UUID del arma", required = true)
             @PathVariable UUID id) {
         
-        Weapon weapon = weaponService.getWeaponById(id);
-        WeaponResponse response = weaponMapper.toResponse(weapon);
-        return ResponseEntity.ok(response);
+        return weaponService.getWeaponById(id)
+            .thenApply(weapon -> ResponseEntity.ok(weaponMapper.toResponse(weapon)));
     }
 
     @PreAuthorize("hasAuthority('SCOPE_read')")
     @GetMapping
-    @Operation(summary = "Obtener listado de armas", description = "Obtiene un listado paginado de armas con filtros opcionales")
+    @Operation(summary = "Obtener listado de armas", description = "Obtiene un listado paginado de armas con filtros opcionales (weaponType, element, minDamage, maxDamage). "
+        + "El header X-Next-Cursor contiene el cursor de la página siguiente; enviarlo en el parámetro cursor evita recorrer las páginas previas")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Listado obtenido exitosamente"),
-        @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos")
+        @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos o página demasiado profunda sin cursor")
     })
-    public ResponseEntity<Page<WeaponResponse>> getAllWeapons(
+    public CompletableFuture<ResponseEntity<Page<WeaponResponse>>> getAllWeapons(
             @Parameter(description = "Número de página (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             
@@ -93,22 +100,31 @@ public class WeaponsController {
             @Parameter(description = "Dirección de ordenamiento", example = "asc")
             @RequestParam(defaultValue = "asc") String direction,
             
-            @Parameter(description = "Filtros adicionales")
+            @Parameter(description = "Cursor de la página siguiente (header X-Next-Cursor de la respuesta anterior)")
+            @RequestParam(required = false) String cursor,
+            
+            @Parameter(description = "Filtros adicionales; includeTotal=true pide el total también en las páginas con cursor (por defecto solo se calcula en la primera)")
             @RequestParam Map<String, String> filters) {
 
         filters.remove("page");
         filters.remove("pageSize");
         filters.remove("sort");
         filters.remove("direction");
+        // "cursor" se mantiene dentro de filters: el gateway lo envía al servicio SOAP
 
         Sort.Direction sortDirection = Sort.Direction.fromString(direction);
         Pageable pageable = PageRequest.of(page, pageSize, Sort.by(sortDirection, sort));
         
-        Page<Weapon> weaponPage = weaponService.getAllWeapons(pageable, filters);
-        
-        Page<WeaponResponse> responsePage = weaponPage.map(weaponMapper::toResponse);
-        
-        return ResponseEntity.ok(responsePage);
+        return weaponService.getAllWeapons(pageable, filters).thenApply(weaponPage -> {
+            Page<WeaponResponse> responsePage = weaponPage.map(weaponMapper::toResponse);
+            
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+            if (weaponPage instanceof WeaponPage cursorPage && cursorPage.getNextCursor() != null) {
+                responseBuilder.header("X-Next-Cursor", cursorPage.getNextCursor());
+            }
+            
+            return responseBuilder.body(responsePage);
+        });
     }
 
     @PreAuthorize("hasAuthority('SCOPE_write')")
@@ -119,19 +135,20 @@ public class WeaponsController {
         @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos - error de validación"),
         @ApiResponse(responseCode = "409", description = "Conflicto - el arma ya existe")
     })
-    public ResponseEntity<WeaponResponse> createWeapon(
+    public CompletableFuture<ResponseEntity<WeaponResponse>> createWeapon(
             @Parameter(description = "Datos del arma a crear", required = true)
             @Valid @RequestBody CreateWeaponRequest request) {
         
         Weapon weapon = weaponMapper.toModel(request);
-        Weapon createdWeapon = weaponService.createWeapon(weapon);
-        WeaponResponse response = weaponMapper.toResponse(createdWeapon);
-        
-        String locationUri = hateoasLinkService.generateLocationHeader(createdWeapon.getId());
-        
-        return ResponseEntity.status(HttpStatus.CREATED)
-            .header(HttpHeaders.LOCATION, locationUri)
-            .body(response);
+        return weaponService.createWeapon(weapon).thenApply(createdWeapon -> {
+            WeaponResponse response = weaponMapper.toResponse(createdWeapon);
+            
+            String locationUri = hateoasLinkService.generateLocationHeader(createdWeapon.getId());
+            
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .header(HttpHeaders.LOCATION, locationUri)
+                .body(response);
+        });
     }
 
     @PutMapping("/{id}")
@@ -142,7 +159,7 @@ public class WeaponsController {
         @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos - error de validación"),
         @ApiResponse(responseCode = "404", description = "Arma no encontrada")
     })
-    public ResponseEntity<WeaponResponse> replaceWeapon(
+    public CompletableFuture<ResponseEntity<WeaponResponse>> replaceWeapon(
             @Parameter(description = "UUID del arma", required = true)
             @PathVariable UUID id,
             @Parameter(description = "Datos completos del arma", required = true)
@@ -150,25 +167,28 @@ public class WeaponsController {
         
         Weapon weapon = weaponMapper.toModel(request);
         
-        boolean weaponExists = true;
-        try {
-            weaponService.getWeaponById(id);
-        } catch (WeaponNotFoundException e) {
-            weaponExists = false;
-        }
-        
-        Weapon replacedWeapon = weaponService.replaceWeapon(id, weapon);
-        WeaponResponse response = weaponMapper.toResponse(replacedWeapon);
-        
-        HttpStatus status = weaponExists ? HttpStatus.OK : HttpStatus.CREATED;
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
-        
-        if (!weaponExists) {
-            String locationUri = hateoasLinkService.generateLocationHeader(id);
-            responseBuilder.header(HttpHeaders.LOCATION, locationUri);
-        }
-        
-        return responseBuilder.body(response);
+        CompletableFuture<Boolean> weaponExists = weaponService.getWeaponById(id)
+            .thenApply(existing -> true)
+            .exceptionally(e -> {
+                if (e.getCause() instanceof WeaponNotFoundException) {
+                    return false;
+                }
+                throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+            });
+        
+        return weaponExists.thenCompose(exists -> weaponService.replaceWeapon(id, weapon).thenApply(replacedWeapon -> {
+            WeaponResponse response = weaponMapper.toResponse(replacedWeapon);
+            
+            HttpStatus status = exists ? HttpStatus.OK : HttpStatus.CREATED;
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+            
+            if (!exists) {
+                String locationUri = hateoasLinkService.generateLocationHeader(id);
+                responseBuilder.header(HttpHeaders.LOCATION, locationUri);
+            }
+            
+            return responseBuilder.body(response);
+        }));
     }
 
     @PatchMapping("/{id}")
@@ -178,17 +198,15 @@ public class WeaponsController {
         @ApiResponse(responseCode = "404", description = "Arma no encontrada"),
         @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos")
     })
-    public ResponseEntity<WeaponResponse> updateWeapon(
+    public CompletableFuture<ResponseEntity<WeaponResponse>> updateWeapon(
             @Parameter(description = "UUID del arma", required = true)
             @PathVariable UUID id,
             @Parameter(description = "Campos a actualizar (solo los campos especificados serán modificados)", required = true)
             @Valid @RequestBody UpdateWeaponRequest request) {
         
         Map<String, Object> updates = weaponMapper.toUpdateMap(request);
-        Weapon updatedWeapon = weaponService.updateWeapon(id, updates);
-        WeaponResponse response = weaponMapper.toResponse(updatedWeapon);
-        
-        return ResponseEntity.ok(response);
+        return weaponService.updateWeapon(id, updates)
+            .thenApply(updatedWeapon -> ResponseEntity.ok(weaponMapper.toResponse(updatedWeapon)));
     }
 
     @DeleteMapping("/{id}")
@@ -198,11 +216,11 @@ public class WeaponsController {
         @ApiResponse(responseCode = "404", description = "Arma no encontrada"),
         @ApiResponse(responseCode = "400", description = "ID de arma inválido")
     })
-    public ResponseEntity<Void> deleteWeapon(
+    public CompletableFuture<ResponseEntity<Void>> deleteWeapon(
             @Parameter(description = "UUID del arma", required = true)
             @PathVariable UUID id) {
         
-        weaponService.deleteWeapon(id);
-        return ResponseEntity.noContent().build();
+        return weaponService.deleteWeapon(id)
+            .thenApply(deleted -> ResponseEntity.noContent().build());
     }
 }
\ No newline at end of file
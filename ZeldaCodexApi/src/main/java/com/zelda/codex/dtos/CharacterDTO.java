@@ -18,16 +18,16 @@ public class CharacterDTO {
 
     @NotBlank(message = "Name is required")
     @Size(min = 2, message = "Name must be at least 2 characters")
-    @Schema(description = "Character name", example = "Link", required = true)
+    @Schema(description = "Character name", example = "Link", requiredMode = Schema.RequiredMode.REQUIRED)
     private String name;
 
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid email format")
-    @Schema(description = "Character email", example = "link@hyrule.com", required = true)
+    @Schema(description = "Character email", example = "link@hyrule.com", requiredMode = Schema.RequiredMode.REQUIRED)
     private String email;
 
     @NotBlank(message = "Game is required")
-    @Schema(description = "Game title", example = "Breath of the Wild", required = true)
+    @Schema(description = "Game title", example = "Breath of the Wild", requiredMode = Schema.RequiredMode.REQUIRED)
     private String game;
 
     @Schema(description = "Character race", example = "Hylian")
@@ -35,22 +35,22 @@ public class CharacterDTO {
 
     @Min(value = 1, message = "Health must be at least 1")
     @Max(value = 999, message = "Health cannot exceed 999")
-    @Schema(description = "Health points", example = "150", required = true)
+    @Schema(description = "Health points", example = "150", requiredMode = Schema.RequiredMode.REQUIRED)
     private Integer health;
 
     @Min(value = 1, message = "Stamina must be at least 1")
     @Max(value = 999, message = "Stamina cannot exceed 999")
-    @Schema(description = "Stamina points", example = "120", required = true)
+    @Schema(description = "Stamina points", example = "120", requiredMode = Schema.RequiredMode.REQUIRED)
     private Integer stamina;
 
     @Min(value = 1, message = "Attack must be at least 1")
     @Max(value = 999, message = "Attack cannot exceed 999")
-    @Schema(description = "Attack power", example = "80", required = true)
+    @Schema(description = "Attack power", example = "80", requiredMode = Schema.RequiredMode.REQUIRED)
     private Integer attack;
 
     @Min(value = 1, message = "Defense must be at least 1")
     @Max(value = 999, message = "Defense cannot exceed 999")
-    @Schema(description = "Defense power", example = "70", required = true)
+    @Schema(description = "Defense power", example = "70", requiredMode = Schema.RequiredMode.REQUIRED)
     private Integer defense;
 
     @Schema(description = "List of weapon IDs", example = "[\"1\", \"5\", \"10\"]")
@@ -14,24 +14,24 @@ public class CreateWeaponRequest {
     @NotBlank(message = "El nombre del arma es obligatorio")
     @Size(min = 2, max = 100, message = "El nombre debe tener entre 2 y 100 caracteres")
     @Pattern(regexp = "^[a-zA-Z0-9\\s\\-']+$", message = "El nombre solo puede contener letras, números, espacios, guiones y apostrofes")
-    @Schema(description = "Nombre del arma", example = "Master Sword", required = true)
+    @Schema(description = "Nombre del arma", example = "Master Sword", requiredMode = Schema.RequiredMode.REQUIRED)
     private String name;
     
     @NotNull(message = "El tipo de arma es obligatorio")
     @ValidWeaponType
-    @Schema(description = "Tipo de arma", example = "ONE_HANDED_SWORD", required = true)
+    @Schema(description = "Tipo de arma", example = "ONE_HANDED_SWORD", requiredMode = Schema.RequiredMode.REQUIRED)
     private WeaponType weaponType;
     
     @NotNull(message = "El daño del arma es obligatorio")
     @Min(value = 1, message = "El daño debe ser al menos 1")
     @Max(value = 999, message = "El daño no puede exceder 999")
-    @Schema(description = "Puntos de daño del arma", example = "30", required = true, minimum = "1", maximum = "999")
+    @Schema(description = "Puntos de daño del arma", example = "30", requiredMode = Schema.RequiredMode.REQUIRED, minimum = "1", maximum = "999")
     private Integer damage;
     
     @NotNull(message = "La durabilidad del arma es obligatoria")
     @Min(value = 1, message = "La durabilidad debe ser al menos 1")
     @Max(value = 9999, message = "La durabilidad no puede exceder 9999")
-    @Schema(description = "Puntos de durabilidad del arma", example = "200", required = true, minimum = "1", maximum = "9999")
+    @Schema(description = "Puntos de durabilidad del arma", example = "200", requiredMode = Schema.RequiredMode.REQUIRED, minimum = "1", maximum = "9999")
     private Integer durability;
     
     @ValidElement
@@ -13,30 +13,34 @@ public class ReplaceWeaponRequest {
     @NotBlank(message = "El nombre del arma es obligatorio")
     @Size(min = 2, max = 100, message = "El nombre debe tener entre 2 y 100 caracteres")
     @Pattern(regexp = "^[a-zA-Z0-9\\s\\-']+$", message = "El nombre solo puede contener letras, números, espacios, guiones y apostrofes")
-    @Schema(description = "Nombre del arma", example = "Master Sword", required = true)
+    @Schema(description = "Nombre del arma", example = "Master Sword", requiredMode = Schema.RequiredMode.REQUIRED)
     private String name;
 
     @NotNull(message = "El tipo de arma es obligatorio")
     @ValidWeaponType
-    @Schema(description = "Tipo de arma", example = "ONE_HANDED_SWORD", required = true)
+    @Schema(description = "Tipo de arma", example = "ONE_HANDED_SWORD", requiredMode = Schema.RequiredMode.REQUIRED)
     private WeaponType weaponType;
 
     @NotNull(message = "El daño es obligatorio")
     @Min(value = 1, message = "El daño debe ser al menos 1")
     @Max(value = 999, message = "El daño no puede exceder 999")
-    @Schema(description = "Puntos de daño del arma", example = "30", required = true)
+    @Schema(description = "Puntos de daño del arma", example = "30", requiredMode = Schema.RequiredMode.REQUIRED)
     private Integer damage;
 
     @NotNull(message = "La durabilidad es obligatoria")
     @Min(value = 1, message = "La durabilidad debe ser al menos 1")
     @Max(value = 9999, message = "La durabilidad no puede exceder 9999")
-    @Schema(description = "Puntos de durabilidad del arma", example = "200", required = true)
+    @Schema(description = "Puntos de durabilidad del arma", example = "200", requiredMode = Schema.RequiredMode.REQUIRED)
     private Integer durability;
 
     @ValidElement
     @Schema(description = "Elemento del arma (opcional)", example = "FIRE")
     private Element element;
 
+    @Min(value = 0, message = "La versión no puede ser negativa")
+    @Schema(description = "Versión esperada del arma (opcional). Si se indica, el reemplazo solo se aplica si el arma no cambió", example = "3")
+    private Long version;
+
     // Constructor vacío
     public ReplaceWeaponRequest() {}
 
@@ -80,4 +84,12 @@ public class ReplaceWeaponRequest {
     public void setElement(Element element) {
         this.element = element;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -17,6 +17,9 @@ public class WeaponResponse {
     private Integer durability;
     private Element element;
     
+    @Schema(description = "Versión actual del arma, usada para reemplazos condicionales")
+    private Long version;
+    
     @Schema(description = "Enlaces HATEOAS relacionados con este recurso")
     private List<Link> links = new ArrayList<>();
 
@@ -82,6 +85,14 @@ public class WeaponResponse {
         this.element = element;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<Link> getLinks() {
         return links;
     }
@@ -0,0 +1,14 @@
+package com.zelda.codex.exceptions;
+
+import java.time.Duration;
+
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String operation, Duration budget) {
+        super("Plazo de la petición agotado (" + budget.toMillis() + " ms) antes de " + operation);
+    }
+
+    public DeadlineExceededException(String operation, Duration budget, Throwable cause) {
+        super("Plazo de la petición agotado (" + budget.toMillis() + " ms) durante " + operation, cause);
+    }
+}
@@ -0,0 +1,26 @@
+package com.zelda.codex.exceptions;
+
+public class DownstreamRejectedException extends RuntimeException {
+
+    private final String downstream;
+    private final boolean bulkheadFull;
+
+    public DownstreamRejectedException(String downstream, boolean bulkheadFull) {
+        super(bulkheadFull
+            ? "Demasiadas llamadas simultáneas al servicio '" + downstream + "'"
+            : "Circuito abierto: el servicio '" + downstream + "' falla o responde lento");
+        this.downstream = downstream;
+        this.bulkheadFull = bulkheadFull;
+    }
+
+    public String getDownstream() {
+        return downstream;
+    }
+
+    /**
+     * true si se rechazó por el límite de concurrencia; false si el circuito está abierto
+     */
+    public boolean isBulkheadFull() {
+        return bulkheadFull;
+    }
+}
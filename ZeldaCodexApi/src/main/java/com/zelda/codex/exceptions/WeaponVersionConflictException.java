@@ -0,0 +1,17 @@
+package com.zelda.codex.exceptions;
+
+import java.util.UUID;
+
+public class WeaponVersionConflictException extends RuntimeException {
+
+    private final UUID weaponId;
+
+    public WeaponVersionConflictException(UUID weaponId) {
+        super("El arma con ID " + weaponId + " fue modificada por otra petición. Vuelve a obtenerla e intenta de nuevo");
+        this.weaponId = weaponId;
+    }
+
+    public UUID getWeaponId() {
+        return weaponId;
+    }
+}
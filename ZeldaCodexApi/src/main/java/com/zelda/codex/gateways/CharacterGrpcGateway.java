@@ -1,291 +1,276 @@
 package com.zelda.codex.gateways;
 
 import com.zelda.codex.dtos.CharacterDTO;
+import com.zelda.codex.exceptions.DownstreamRejectedException;
 import com.zelda.codex.grpc.*;
+import com.zelda.codex.resilience.DownstreamGuard;
+import com.zelda.codex.resilience.RequestDeadline;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Gateway service for communicating with the gRPC Characters service.
  * This service acts as a client to the Python gRPC server.
+ * All calls use the async stub and return a CompletableFuture completed from the
+ * gRPC callbacks, so no thread waits for the characters service.
+ * Every call goes through the "characters" circuit breaker and bulkhead, isolated from
+ * the weapons one: while the characters service fails, calls are rejected immediately
+ * as UNAVAILABLE instead of piling up.
+ * Each call carries the remaining budget of the HTTP request as its gRPC deadline, so the
+ * server stops working on it once the caller has given up.
  */
 @Service
 public class CharacterGrpcGateway {
 
     private static final Logger logger = LoggerFactory.getLogger(CharacterGrpcGateway.class);
 
-    private final CharacterServiceGrpc.CharacterServiceBlockingStub blockingStub;
     private final CharacterServiceGrpc.CharacterServiceStub asyncStub;
+    private final DownstreamGuard guard;
 
-    public CharacterGrpcGateway(
-            CharacterServiceGrpc.CharacterServiceBlockingStub blockingStub,
-            CharacterServiceGrpc.CharacterServiceStub asyncStub) {
-        this.blockingStub = blockingStub;
+    public CharacterGrpcGateway(CharacterServiceGrpc.CharacterServiceStub asyncStub,
+                                @Qualifier("charactersGuard") DownstreamGuard guard) {
         this.asyncStub = asyncStub;
+        this.guard = guard;
     }
 
     /**
      * UNARY RPC: Get a character by ID.
      */
-    public CharacterDTO getCharacterById(String id) {
+    public CompletableFuture<CharacterDTO> getCharacterById(String id) {
         logger.info("Calling gRPC GetCharacter for id: {}", id);
         
-        try {
-            GetCharacterRequest request = GetCharacterRequest.newBuilder()
-                    .setId(id)
-                    .build();
-            
-            CharacterResponse response = blockingStub.getCharacter(request);
-            return mapToDTO(response);
-            
-        } catch (StatusRuntimeException e) {
+        GetCharacterRequest request = GetCharacterRequest.newBuilder()
+                .setId(id)
+                .build();
+        
+        CompletableFuture<CharacterResponse> call = guarded(observer -> stub().getCharacter(request, observer));
+        return translate(call, this::mapToDTO, e -> {
             logger.error("gRPC error getting character: {} - {}", e.getStatus().getCode(), e.getStatus().getDescription());
-            throw new RuntimeException("Error getting character: " + e.getStatus().getDescription(), e);
-        }
+            return new RuntimeException("Error getting character: " + e.getStatus().getDescription(), e);
+        });
     }
 
     /**
      * UNARY RPC: Create a character.
      */
-    public CharacterDTO createCharacter(CharacterDTO dto) {
+    public CompletableFuture<CharacterDTO> createCharacter(CharacterDTO dto) {
         logger.info("Calling gRPC CreateCharacter for: {}", dto.getName());
         
-        try {
-            CreateCharacterRequest.Builder requestBuilder = CreateCharacterRequest.newBuilder()
-                    .setName(dto.getName())
-                    .setEmail(dto.getEmail())
-                    .setGame(dto.getGame())
-                    .setHealth(dto.getHealth())
-                    .setStamina(dto.getStamina())
-                    .setAttack(dto.getAttack())
-                    .setDefense(dto.getDefense());
-            
-            if (dto.getRace() != null) {
-                requestBuilder.setRace(dto.getRace());
-            }
-            
-            if (dto.getWeapons() != null) {
-                requestBuilder.addAllWeapons(dto.getWeapons());
-            }
-            
-            CharacterResponse response = blockingStub.createCharacter(requestBuilder.build());
-            return mapToDTO(response);
-            
-        } catch (StatusRuntimeException e) {
+        CompletableFuture<CharacterResponse> call = guarded(observer -> stub().createCharacter(toCreateRequest(dto), observer));
+        return translate(call, this::mapToDTO, e -> {
             logger.error("gRPC error creating character: {} - {}", e.getStatus().getCode(), e.getStatus().getDescription());
             
             if (e.getStatus().getCode() == Status.Code.ALREADY_EXISTS) {
-                throw new RuntimeException("Character with this email already exists", e);
+                return new RuntimeException("Character with this email already exists", e);
             } else if (e.getStatus().getCode() == Status.Code.INVALID_ARGUMENT) {
-                throw new IllegalArgumentException("Invalid character data: " + e.getStatus().getDescription(), e);
+                return new IllegalArgumentException("Invalid character data: " + e.getStatus().getDescription(), e);
             }
             
-            throw new RuntimeException("Error creating character: " + e.getStatus().getDescription(), e);
-        }
+            return new RuntimeException("Error creating character: " + e.getStatus().getDescription(), e);
+        });
     }
 
     /**
      * CLIENT STREAMING RPC: Create multiple characters in batch.
      */
-    public BatchResult createCharactersBatch(List<CharacterDTO> characters) {
+    public CompletableFuture<BatchResult> createCharactersBatch(List<CharacterDTO> characters) {
         logger.info("Calling gRPC CreateCharactersBatch with {} characters", characters.size());
         
-        final CountDownLatch latch = new CountDownLatch(1);
         final BatchResult result = new BatchResult();
         
-        StreamObserver<BatchResponse> responseObserver = new StreamObserver<BatchResponse>() {
-            @Override
-            public void onNext(BatchResponse response) {
-                result.createdCount = response.getCreatedCount();
-                result.createdIds = new ArrayList<>(response.getCreatedIdsList());
-                result.errors = new ArrayList<>(response.getErrorsList());
-            }
+        CompletableFuture<BatchResult> call = guard.callAsync(() -> {
+            CompletableFuture<BatchResult> future = new CompletableFuture<>();
+            StreamObserver<BatchResponse> responseObserver = new StreamObserver<BatchResponse>() {
+                @Override
+                public void onNext(BatchResponse response) {
+                    result.createdCount = response.getCreatedCount();
+                    result.createdIds = new ArrayList<>(response.getCreatedIdsList());
+                    result.errors = new ArrayList<>(response.getErrorsList());
+                }
 
-            @Override
-            public void onError(Throwable t) {
-                logger.error("Error in batch creation: {}", t.getMessage());
-                result.error = t.getMessage();
-                latch.countDown();
-            }
+                @Override
+                public void onError(Throwable t) {
+                    logger.error("Error in batch creation: {}", t.getMessage());
+                    future.completeExceptionally(t);
+                }
 
-            @Override
-            public void onCompleted() {
-                logger.info("Batch creation completed: {} created", result.createdCount);
-                latch.countDown();
-            }
-        };
+                @Override
+                public void onCompleted() {
+                    logger.info("Batch creation completed: {} created", result.createdCount);
+                    future.complete(result);
+                }
+            };
 
-        StreamObserver<CreateCharacterRequest> requestObserver = asyncStub.createCharactersBatch(responseObserver);
+            // The deadline cancels the call on the server too, instead of only giving up waiting
+            StreamObserver<CreateCharacterRequest> requestObserver = stub().createCharactersBatch(responseObserver);
 
-        try {
-            for (CharacterDTO dto : characters) {
-                CreateCharacterRequest.Builder requestBuilder = CreateCharacterRequest.newBuilder()
-                        .setName(dto.getName())
-                        .setEmail(dto.getEmail())
-                        .setGame(dto.getGame())
-                        .setHealth(dto.getHealth())
-                        .setStamina(dto.getStamina())
-                        .setAttack(dto.getAttack())
-                        .setDefense(dto.getDefense());
-                
-                if (dto.getRace() != null) {
-                    requestBuilder.setRace(dto.getRace());
+            try {
+                for (CharacterDTO dto : characters) {
+                    requestObserver.onNext(toCreateRequest(dto));
                 }
-                
-                if (dto.getWeapons() != null) {
-                    requestBuilder.addAllWeapons(dto.getWeapons());
-                }
-                
-                requestObserver.onNext(requestBuilder.build());
+                requestObserver.onCompleted();
+            } catch (RuntimeException e) {
+                requestObserver.onError(e);
+                throw e;
             }
-            
-            requestObserver.onCompleted();
-            
-            // Wait for response
-            if (!latch.await(10, TimeUnit.SECONDS)) {
-                throw new RuntimeException("Batch creation timed out");
+            return future;
+        });
+
+        // The circuit breaker sees the raw gRPC error; callers keep getting it in BatchResult.error
+        return call.handle((value, error) -> {
+            if (error == null) {
+                return value;
             }
-            
-            return result;
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Batch creation interrupted", e);
-        }
+            Throwable cause = unwrap(error);
+            if (Status.fromThrowable(cause).getCode() == Status.Code.DEADLINE_EXCEEDED) {
+                throw new RuntimeException("Batch creation timed out", cause);
+            }
+            if (cause instanceof StatusRuntimeException || cause instanceof DownstreamRejectedException) {
+                result.error = cause.getMessage();
+                return result;
+            }
+            throw cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+        });
     }
 
     /**
      * SERVER STREAMING RPC: List characters by game.
      */
-    public List<CharacterDTO> listCharactersByGame(String game, int limit) {
+    public CompletableFuture<List<CharacterDTO>> listCharactersByGame(String game, int limit) {
         logger.info("Calling gRPC ListCharactersByGame for game: {}", game);
         
-        try {
-            ListCharactersRequest request = ListCharactersRequest.newBuilder()
-                    .setGame(game)
-                    .setLimit(limit)
-                    .build();
-            
-            Iterator<CharacterResponse> responses = blockingStub.listCharactersByGame(request);
-            
+        ListCharactersRequest request = ListCharactersRequest.newBuilder()
+                .setGame(game)
+                .setLimit(limit)
+                .build();
+        
+        CompletableFuture<List<CharacterDTO>> call = guard.callAsync(() -> {
+            CompletableFuture<List<CharacterDTO>> stream = new CompletableFuture<>();
             List<CharacterDTO> characters = new ArrayList<>();
-            while (responses.hasNext()) {
-                characters.add(mapToDTO(responses.next()));
-            }
-            
-            logger.info("Received {} characters from stream", characters.size());
-            return characters;
-            
-        } catch (StatusRuntimeException e) {
+            stub().listCharactersByGame(request, new StreamObserver<CharacterResponse>() {
+                @Override
+                public void onNext(CharacterResponse response) {
+                    characters.add(mapToDTO(response));
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    stream.completeExceptionally(t);
+                }
+
+                @Override
+                public void onCompleted() {
+                    logger.info("Received {} characters from stream", characters.size());
+                    stream.complete(characters);
+                }
+            });
+            return stream;
+        });
+        return translate(call, Function.identity(), e -> {
             logger.error("gRPC error listing characters: {} - {}", e.getStatus().getCode(), e.getStatus().getDescription());
-            throw new RuntimeException("Error listing characters: " + e.getStatus().getDescription(), e);
-        }
+            return new RuntimeException("Error listing characters: " + e.getStatus().getDescription(), e);
+        });
     }
 
     /**
      * UNARY RPC: Update a character.
      */
-    public CharacterDTO updateCharacter(String id, CharacterDTO dto) {
+    public CompletableFuture<CharacterDTO> updateCharacter(String id, CharacterDTO dto) {
         logger.info("Calling gRPC UpdateCharacter for id: {}", id);
         
-        try {
-            UpdateCharacterRequest.Builder requestBuilder = UpdateCharacterRequest.newBuilder()
-                    .setId(id);
-            
-            if (dto.getName() != null) {
-                requestBuilder.setName(dto.getName());
-            }
-            if (dto.getEmail() != null) {
-                requestBuilder.setEmail(dto.getEmail());
-            }
-            if (dto.getGame() != null) {
-                requestBuilder.setGame(dto.getGame());
-            }
-            if (dto.getRace() != null) {
-                requestBuilder.setRace(dto.getRace());
-            }
-            if (dto.getHealth() != null) {
-                requestBuilder.setHealth(dto.getHealth());
-            }
-            if (dto.getStamina() != null) {
-                requestBuilder.setStamina(dto.getStamina());
-            }
-            if (dto.getAttack() != null) {
-                requestBuilder.setAttack(dto.getAttack());
-            }
-            if (dto.getDefense() != null) {
-                requestBuilder.setDefense(dto.getDefense());
-            }
-            if (dto.getWeapons() != null) {
-                requestBuilder.addAllWeapons(dto.getWeapons());
-            }
-            
-            CharacterResponse response = blockingStub.updateCharacter(requestBuilder.build());
-            return mapToDTO(response);
-            
-        } catch (StatusRuntimeException e) {
+        UpdateCharacterRequest.Builder requestBuilder = UpdateCharacterRequest.newBuilder()
+                .setId(id);
+        
+        if (dto.getName() != null) {
+            requestBuilder.setName(dto.getName());
+        }
+        if (dto.getEmail() != null) {
+            requestBuilder.setEmail(dto.getEmail());
+        }
+        if (dto.getGame() != null) {
+            requestBuilder.setGame(dto.getGame());
+        }
+        if (dto.getRace() != null) {
+            requestBuilder.setRace(dto.getRace());
+        }
+        if (dto.getHealth() != null) {
+            requestBuilder.setHealth(dto.getHealth());
+        }
+        if (dto.getStamina() != null) {
+            requestBuilder.setStamina(dto.getStamina());
+        }
+        if (dto.getAttack() != null) {
+            requestBuilder.setAttack(dto.getAttack());
+        }
+        if (dto.getDefense() != null) {
+            requestBuilder.setDefense(dto.getDefense());
+        }
+        if (dto.getWeapons() != null) {
+            requestBuilder.addAllWeapons(dto.getWeapons());
+        }
+        
+        CompletableFuture<CharacterResponse> call = guarded(observer -> stub().updateCharacter(requestBuilder.build(), observer));
+        return translate(call, this::mapToDTO, e -> {
             logger.error("gRPC error updating character: {} - {}", e.getStatus().getCode(), e.getStatus().getDescription());
             
             if (e.getStatus().getCode() == Status.Code.NOT_FOUND) {
-                throw new RuntimeException("Character not found", e);
+                return new RuntimeException("Character not found", e);
             }
             
             if (e.getStatus().getCode() == Status.Code.ALREADY_EXISTS) {
-                throw new RuntimeException("Email already in use by another character", e);
+                return new RuntimeException("Email already in use by another character", e);
             }
             
-            throw new RuntimeException("Error updating character: " + e.getStatus().getDescription(), e);
-        }
+            return new RuntimeException("Error updating character: " + e.getStatus().getDescription(), e);
+        });
     }
 
     /**
      * UNARY RPC: Delete a character.
      */
-    public boolean deleteCharacter(String id) {
+    public CompletableFuture<Boolean> deleteCharacter(String id) {
         logger.info("Calling gRPC DeleteCharacter for id: {}", id);
         
-        try {
-            DeleteCharacterRequest request = DeleteCharacterRequest.newBuilder()
-                    .setId(id)
-                    .build();
-            
-            DeleteResponse response = blockingStub.deleteCharacter(request);
-            return response.getSuccess();
-            
-        } catch (StatusRuntimeException e) {
+        DeleteCharacterRequest request = DeleteCharacterRequest.newBuilder()
+                .setId(id)
+                .build();
+        
+        CompletableFuture<DeleteResponse> call = guarded(observer -> stub().deleteCharacter(request, observer));
+        return translate(call, DeleteResponse::getSuccess, e -> {
             logger.error("gRPC error deleting character: {} - {}", e.getStatus().getCode(), e.getStatus().getDescription());
             
             if (e.getStatus().getCode() == Status.Code.NOT_FOUND) {
-                throw new RuntimeException("Character not found", e);
+                return new RuntimeException("Character not found", e);
             }
             
-            throw new RuntimeException("Error deleting character: " + e.getStatus().getDescription(), e);
-        }
+            return new RuntimeException("Error deleting character: " + e.getStatus().getDescription(), e);
+        });
     }
 
     /**
      * UNARY RPC: List characters by weapon.
      */
-    public List<CharacterDTO> listCharactersByWeapon(String weaponId) {
+    public CompletableFuture<List<CharacterDTO>> listCharactersByWeapon(String weaponId) {
         logger.info("Calling gRPC ListCharactersByWeapon for weapon: {}", weaponId);
         
-        try {
-            WeaponFilterRequest request = WeaponFilterRequest.newBuilder()
-                    .setWeaponId(weaponId)
-                    .build();
-            
-            CharacterListResponse response = blockingStub.listCharactersByWeapon(request);
-            
+        WeaponFilterRequest request = WeaponFilterRequest.newBuilder()
+                .setWeaponId(weaponId)
+                .build();
+        
+        CompletableFuture<CharacterListResponse> call = guarded(observer -> stub().listCharactersByWeapon(request, observer));
+        return translate(call, response -> {
             List<CharacterDTO> characters = new ArrayList<>();
             for (CharacterResponse charResponse : response.getCharactersList()) {
                 characters.add(mapToDTO(charResponse));
@@ -293,11 +278,101 @@ public class CharacterGrpcGateway {
             
             logger.info("Found {} characters with weapon {}", characters.size(), weaponId);
             return characters;
-            
-        } catch (StatusRuntimeException e) {
+        }, e -> {
             logger.error("gRPC error listing characters by weapon: {} - {}", e.getStatus().getCode(), e.getStatus().getDescription());
-            throw new RuntimeException("Error listing characters by weapon: " + e.getStatus().getDescription(), e);
+            return new RuntimeException("Error listing characters by weapon: " + e.getStatus().getDescription(), e);
+        });
+    }
+
+    /**
+     * Build the CreateCharacter request shared by the unary and batch calls.
+     */
+    private CreateCharacterRequest toCreateRequest(CharacterDTO dto) {
+        CreateCharacterRequest.Builder requestBuilder = CreateCharacterRequest.newBuilder()
+                .setName(dto.getName())
+                .setEmail(dto.getEmail())
+                .setGame(dto.getGame())
+                .setHealth(dto.getHealth())
+                .setStamina(dto.getStamina())
+                .setAttack(dto.getAttack())
+                .setDefense(dto.getDefense());
+        
+        if (dto.getRace() != null) {
+            requestBuilder.setRace(dto.getRace());
+        }
+        
+        if (dto.getWeapons() != null) {
+            requestBuilder.addAllWeapons(dto.getWeapons());
         }
+        
+        return requestBuilder.build();
+    }
+
+    /**
+     * Observer for unary calls: completes the future with the single response or the error.
+     */
+    private static <T> StreamObserver<T> completing(CompletableFuture<T> future) {
+        return new StreamObserver<T>() {
+            @Override
+            public void onNext(T value) {
+                future.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                future.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                // The value was already delivered in onNext
+            }
+        };
+    }
+
+    /**
+     * Map a successful response, or turn a gRPC status error into the exception the callers expect.
+     */
+    private static <T, R> CompletableFuture<R> translate(CompletableFuture<T> call, Function<T, R> mapper,
+                                                         Function<StatusRuntimeException, RuntimeException> onError) {
+        return call.handle((value, error) -> {
+            if (error == null) {
+                return mapper.apply(value);
+            }
+            Throwable cause = unwrap(error);
+            if (cause instanceof StatusRuntimeException statusError) {
+                throw onError.apply(statusError);
+            }
+            if (cause instanceof DownstreamRejectedException rejected) {
+                logger.warn("Characters call rejected without calling the service: {}", rejected.getMessage());
+                throw onError.apply(Status.UNAVAILABLE.withDescription(rejected.getMessage())
+                        .withCause(rejected).asRuntimeException());
+            }
+            throw cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+        });
+    }
+
+    /**
+     * Async stub bound to the deadline of the current HTTP request, if any.
+     */
+    private CharacterServiceGrpc.CharacterServiceStub stub() {
+        RequestDeadline deadline = RequestDeadline.current();
+        return deadline != null ? asyncStub.withDeadline(deadline.toGrpcDeadline()) : asyncStub;
+    }
+
+    /**
+     * Start a unary call through the circuit breaker and bulkhead.
+     */
+    private <T> CompletableFuture<T> guarded(Consumer<StreamObserver<T>> start) {
+        return guard.callAsync(() -> {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            start.accept(completing(future));
+            return future;
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 
     /**
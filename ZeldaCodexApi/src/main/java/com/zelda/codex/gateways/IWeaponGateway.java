@@ -1,18 +1,79 @@
 package com.zelda.codex.gateways;
 
 import com.zelda.codex.models.Weapon;
+import com.zelda.codex.models.WeaponBatchResult;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.util.List;
 import java.util.UUID;
 import java.util.Map;
 
 public interface IWeaponGateway {
+
+    /**
+     * Parámetro de filtros con el cursor keyset devuelto en la página anterior
+     */
+    String CURSOR_FILTER = "cursor";
+
+    /**
+     * Parámetro de filtros para forzar ("true") o evitar ("false") el total de la página
+     */
+    String INCLUDE_TOTAL_FILTER = "includeTotal";
+
+    /**
+     * Si se pide el total al servicio de armas, que es un COUNT sobre la tabla filtrada.
+     * Por defecto solo en la primera página (sin cursor): las siguientes se piden con el
+     * cursor y el cliente ya tiene el total de la primera. includeTotal lo decide siempre.
+     */
+    static boolean includeTotal(Map<String, String> filters) {
+        String requested = filters != null ? filters.get(INCLUDE_TOTAL_FILTER) : null;
+        if (requested != null) {
+            return Boolean.parseBoolean(requested);
+        }
+        return filters == null || filters.get(CURSOR_FILTER) == null;
+    }
+
+    /**
+     * Total de la página: el del servicio si se pidió; si no, lo que se sabe (las armas hasta
+     * esta página, más una si hay página siguiente) para que hasNext siga siendo correcto
+     */
+    static long total(Long totalCount, Pageable pageable, int pageElements, String nextCursor) {
+        if (totalCount != null) {
+            return totalCount;
+        }
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        return offset + pageElements + (nextCursor != null ? 1 : 0);
+    }
+
+    /**
+     * Páginas que hay que recorrer desde el inicio para llegar a la pedida cuando no hay cursor.
+     * Cada una es una llamada al servicio de armas, así que se limitan: las páginas más
+     * profundas solo se pueden pedir con el cursor de la página anterior.
+     *
+     * @throws IllegalArgumentException si la página supera maxPagesWithoutCursor
+     */
+    static int pagesToSkip(Pageable pageable, String cursor, int maxPagesWithoutCursor) {
+        if (cursor != null || pageable.isUnpaged()) {
+            return 0;
+        }
+        if (pageable.getPageNumber() > maxPagesWithoutCursor) {
+            throw new IllegalArgumentException("la página " + pageable.getPageNumber()
+                + " requiere el cursor de la página anterior (sin cursor se admiten hasta la página "
+                + maxPagesWithoutCursor + ")");
+        }
+        return pageable.getPageNumber();
+    }
     
     /**
      * Obtiene un arma por su ID desde el servicio SOAP
      */
     Weapon getWeaponById(UUID id);
     
+    /**
+     * Obtiene varias armas en una sola llamada SOAP; los IDs inexistentes se omiten
+     */
+    List<Weapon> getWeaponsByIds(List<UUID> ids);
+    
     /**
      * Obtiene un listado paginado de armas con filtros opcionales
      */
@@ -23,6 +84,11 @@ public interface IWeaponGateway {
      */
     Weapon createWeapon(Weapon weapon);
     
+    /**
+     * Crea varias armas en una sola llamada SOAP, devolviendo un resultado por elemento
+     */
+    List<WeaponBatchResult> createWeapons(List<Weapon> weapons);
+    
     /**
      * Reemplaza completamente un arma en el servicio SOAP
      */
@@ -1,21 +1,19 @@
 package com.zelda.codex.gateways;
 
-import java.net.ConnectException;
-import java.net.SocketTimeoutException;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 import org.springframework.ws.client.core.WebServiceTemplate;
 import org.springframework.ws.soap.client.SoapFaultClientException;
@@ -25,21 +23,32 @@ import com.zelda.codex.exceptions.SoapServiceUnavailableException;
 import com.zelda.codex.exceptions.SoapValidationException;
 import com.zelda.codex.exceptions.WeaponAlreadyExistsException;
 import com.zelda.codex.exceptions.WeaponNotFoundException;
+import com.zelda.codex.exceptions.WeaponVersionConflictException;
 import com.zelda.codex.mappers.WeaponMapper;
-import com.zelda.codex.models.Element;
 import com.zelda.codex.models.Weapon;
-import com.zelda.codex.models.WeaponType;
+import com.zelda.codex.models.WeaponBatchResult;
+import com.zelda.codex.models.WeaponPage;
 import com.zelda.codex.soap.CreateWeaponRequest;
 import com.zelda.codex.soap.CreateWeaponResponse;
+import com.zelda.codex.soap.CreateWeaponResult;
+import com.zelda.codex.soap.CreateWeaponsBatchRequest;
+import com.zelda.codex.soap.CreateWeaponsBatchResponse;
 import com.zelda.codex.soap.DeleteWeaponRequest;
 import com.zelda.codex.soap.DeleteWeaponResponse;
 import com.zelda.codex.soap.GetWeaponRequest;
 import com.zelda.codex.soap.GetWeaponResponse;
+import com.zelda.codex.soap.GetWeaponsBatchRequest;
+import com.zelda.codex.soap.GetWeaponsBatchResponse;
+import com.zelda.codex.soap.ListWeaponsRequest;
+import com.zelda.codex.soap.ListWeaponsResponse;
+import com.zelda.codex.soap.SortDirection;
 import com.zelda.codex.soap.UpdateWeaponRequest;
 import com.zelda.codex.soap.UpdateWeaponResponse;
 import com.zelda.codex.soap.WeaponInput;
+import com.zelda.codex.soap.WeaponSortField;
 
 @Component
+@ConditionalOnProperty(name = "zelda.weapons.gateway", havingValue = "soap", matchIfMissing = true)
 public class WeaponGateway implements IWeaponGateway {
 
     private static final Logger logger = LoggerFactory.getLogger(WeaponGateway.class);
@@ -47,6 +56,9 @@ public class WeaponGateway implements IWeaponGateway {
     @Value("${zelda.weapons.soap.url:http://localhost:8081/ws}")
     private String soapServiceUrl;
 
+    @Value("${zelda.weapons.list.max-pages-without-cursor:20}")
+    private int maxPagesWithoutCursor;
+
     @Autowired
     private WebServiceTemplate webServiceTemplate;
 
@@ -79,7 +91,7 @@ public class WeaponGateway implements IWeaponGateway {
         } catch (WeaponNotFoundException ex) {
             throw ex;
         } catch (Exception ex) {
-            if (ex.getCause() instanceof ConnectException || ex.getCause() instanceof SocketTimeoutException) {
+            if (isUnavailable(ex)) {
                 logger.error("Servicio SOAP no disponible: {}", ex.getMessage());
                 throw new SoapServiceUnavailableException("El servicio SOAP no está disponible");
             }
@@ -113,7 +125,82 @@ public class WeaponGateway implements IWeaponGateway {
             }
             throw new SoapValidationException("Error de validación en el servicio SOAP: " + ex.getFaultStringOrReason());
         } catch (Exception ex) {
-            if (ex.getCause() instanceof ConnectException || ex.getCause() instanceof SocketTimeoutException) {
+            if (isUnavailable(ex)) {
+                logger.error("Servicio SOAP no disponible: {}", ex.getMessage());
+                throw new SoapServiceUnavailableException("El servicio SOAP no está disponible");
+            }
+            logger.error("Error genérico en servicio SOAP: {}", ex.getMessage());
+            throw new SoapServiceException("Error en el servicio SOAP: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public List<Weapon> getWeaponsByIds(List<UUID> ids) {
+        try {
+            logger.info("Obteniendo lote de {} armas del servicio SOAP", ids.size());
+            
+            GetWeaponsBatchRequest request = new GetWeaponsBatchRequest();
+            for (UUID id : ids) {
+                request.getId().add(id.toString());
+            }
+            
+            GetWeaponsBatchResponse response = (GetWeaponsBatchResponse) webServiceTemplate.marshalSendAndReceive(
+                soapServiceUrl, request);
+            
+            List<Weapon> weapons = new ArrayList<>();
+            if (response != null) {
+                for (com.zelda.codex.soap.Weapon soapWeapon : response.getWeapon()) {
+                    weapons.add(weaponMapper.soapToModel(soapWeapon));
+                }
+            }
+            return weapons;
+            
+        } catch (SoapFaultClientException ex) {
+            logger.error("Error SOAP al obtener lote de armas: {}", ex.getFaultStringOrReason());
+            throw new SoapValidationException("Error de validación en el servicio SOAP: " + ex.getFaultStringOrReason());
+        } catch (Exception ex) {
+            if (isUnavailable(ex)) {
+                logger.error("Servicio SOAP no disponible: {}", ex.getMessage());
+                throw new SoapServiceUnavailableException("El servicio SOAP no está disponible");
+            }
+            logger.error("Error genérico en servicio SOAP: {}", ex.getMessage());
+            throw new SoapServiceException("Error en el servicio SOAP: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public List<WeaponBatchResult> createWeapons(List<Weapon> weapons) {
+        try {
+            logger.info("Creando lote de {} armas en el servicio SOAP", weapons.size());
+            
+            CreateWeaponsBatchRequest request = new CreateWeaponsBatchRequest();
+            for (Weapon weapon : weapons) {
+                request.getWeaponInput().add(weaponMapper.modelToSoapInput(weapon));
+            }
+            
+            CreateWeaponsBatchResponse response = (CreateWeaponsBatchResponse) webServiceTemplate.marshalSendAndReceive(
+                soapServiceUrl, request);
+            
+            if (response == null) {
+                throw new SoapServiceException("Respuesta vacía del servicio SOAP al crear lote de armas");
+            }
+            
+            List<WeaponBatchResult> results = new ArrayList<>(response.getResult().size());
+            for (CreateWeaponResult soapResult : response.getResult()) {
+                results.add(new WeaponBatchResult(
+                    soapResult.getIndex(),
+                    soapResult.isSuccess(),
+                    weaponMapper.soapToModel(soapResult.getWeapon()),
+                    soapResult.getErrorCode(),
+                    soapResult.getMessage()));
+            }
+            return results;
+            
+        } catch (SoapFaultClientException ex) {
+            logger.error("Error SOAP al crear lote de armas: {}", ex.getFaultStringOrReason());
+            throw new SoapValidationException("Error de validación en el servicio SOAP: " + ex.getFaultStringOrReason());
+        } catch (Exception ex) {
+            if (isUnavailable(ex)) {
                 logger.error("Servicio SOAP no disponible: {}", ex.getMessage());
                 throw new SoapServiceUnavailableException("El servicio SOAP no está disponible");
             }
@@ -142,7 +229,7 @@ public class WeaponGateway implements IWeaponGateway {
             }
             throw new SoapValidationException("Error de validación en el servicio SOAP: " + ex.getFaultStringOrReason());
         } catch (Exception ex) {
-            if (ex.getCause() instanceof ConnectException || ex.getCause() instanceof SocketTimeoutException) {
+            if (isUnavailable(ex)) {
                 logger.error("Servicio SOAP no disponible: {}", ex.getMessage());
                 throw new SoapServiceUnavailableException("El servicio SOAP no está disponible");
             }
@@ -154,13 +241,51 @@ public class WeaponGateway implements IWeaponGateway {
     @Override
     public Page<Weapon> getAllWeapons(Pageable pageable, Map<String, String> filters) {
         try {
-            List<Weapon> mockWeapons = generateMockWeapons(pageable, filters);
-            long total = 50;
-            
-            return new PageImpl<>(mockWeapons, pageable, total);
-            
+            ListWeaponsRequest request = buildListRequest(pageable, filters);
+            String cursor = filters != null ? filters.get(CURSOR_FILTER) : null;
+            // Sin cursor, la página solicitada se alcanza avanzando cursor por cursor
+            // desde el inicio; los clientes que envían el cursor evitan estos saltos
+            int pagesToSkip = IWeaponGateway.pagesToSkip(pageable, cursor, maxPagesWithoutCursor);
+            logger.info("Listando armas del servicio SOAP - Página {}, Tamaño {}, Cursor {}",
+                       pageable.getPageNumber(), pageable.getPageSize(), cursor != null);
+
+            request.setCursor(cursor);
+            // El total solo se calcula en la primera llamada, nunca en las páginas que se saltan
+            request.setIncludeTotal(IWeaponGateway.includeTotal(filters));
+            ListWeaponsResponse response = (ListWeaponsResponse) webServiceTemplate.marshalSendAndReceive(
+                soapServiceUrl, request);
+            Long totalCount = response.getTotalCount();
+
+            request.setIncludeTotal(false);
+            while (pagesToSkip > 0 && response.getNextCursor() != null) {
+                request.setCursor(response.getNextCursor());
+                response = (ListWeaponsResponse) webServiceTemplate.marshalSendAndReceive(soapServiceUrl, request);
+                pagesToSkip--;
+            }
+
+            List<Weapon> weapons = new ArrayList<>();
+            if (pagesToSkip == 0) {
+                for (com.zelda.codex.soap.Weapon soapWeapon : response.getWeapon()) {
+                    weapons.add(weaponMapper.soapToModel(soapWeapon));
+                }
+            }
+
+            String nextCursor = pagesToSkip == 0 ? response.getNextCursor() : null;
+            long total = IWeaponGateway.total(totalCount, pageable, weapons.size(), nextCursor);
+            return new WeaponPage(weapons, pageable, total, nextCursor);
+
+        } catch (SoapFaultClientException ex) {
+            logger.error("Error SOAP al listar armas: {}", ex.getFaultStringOrReason());
+            throw new SoapValidationException("Error de validación en el servicio SOAP: " + ex.getFaultStringOrReason());
+        } catch (IllegalArgumentException ex) {
+            throw ex;
         } catch (Exception ex) {
-            throw new RuntimeException("Error obteniendo armas: " + ex.getMessage(), ex);
+            if (isUnavailable(ex)) {
+                logger.error("Servicio SOAP no disponible: {}", ex.getMessage());
+                throw new SoapServiceUnavailableException("El servicio SOAP no está disponible");
+            }
+            logger.error("Error genérico en servicio SOAP: {}", ex.getMessage());
+            throw new SoapServiceException("Error en el servicio SOAP: " + ex.getMessage());
         }
     }
 
@@ -174,6 +299,7 @@ public class WeaponGateway implements IWeaponGateway {
             
             WeaponInput weaponInput = weaponMapper.modelToSoapInput(weapon);
             request.setWeaponInput(weaponInput);
+            request.setExpectedVersion(weapon.getVersion());
             
             UpdateWeaponResponse response = (UpdateWeaponResponse) webServiceTemplate.marshalSendAndReceive(
                 soapServiceUrl, request);
@@ -192,11 +318,14 @@ public class WeaponGateway implements IWeaponGateway {
             if (ex.getFaultStringOrReason().contains("ALREADY_EXISTS")) {
                 throw new WeaponAlreadyExistsException(weapon.getName());
             }
+            if (ex.getFaultStringOrReason().contains("VERSION_CONFLICT")) {
+                throw new WeaponVersionConflictException(id);
+            }
             throw new SoapValidationException("Error de validación en el servicio SOAP: " + ex.getFaultStringOrReason());
-        } catch (WeaponNotFoundException | WeaponAlreadyExistsException ex) {
+        } catch (WeaponNotFoundException | WeaponAlreadyExistsException | WeaponVersionConflictException ex) {
             throw ex;
         } catch (Exception ex) {
-            if (ex.getCause() instanceof ConnectException || ex.getCause() instanceof SocketTimeoutException) {
+            if (isUnavailable(ex)) {
                 logger.error("Servicio SOAP no disponible: {}", ex.getMessage());
                 throw new SoapServiceUnavailableException("El servicio SOAP no está disponible");
             }
@@ -215,8 +344,8 @@ public class WeaponGateway implements IWeaponGateway {
             logger.debug("Arma existente obtenida: {}", existingWeapon.getName());
             
             // Crear una copia y aplicar las actualizaciones parciales
-            Weapon updatedWeapon = createWeaponCopy(existingWeapon);
-            applyUpdatesToWeapon(updatedWeapon, updates);
+            Weapon updatedWeapon = WeaponPatches.copyOf(existingWeapon);
+            WeaponPatches.apply(updatedWeapon, updates);
             logger.debug("Actualizaciones aplicadas. Nueva versión: {}", updatedWeapon.getName());
             
             // Usar el endpoint de actualización SOAP que mantiene el ID
@@ -225,6 +354,9 @@ public class WeaponGateway implements IWeaponGateway {
             
             WeaponInput weaponInput = weaponMapper.modelToSoapInput(updatedWeapon);
             request.setWeaponInput(weaponInput);
+            // Escritura condicional: si otra petición modificó el arma entre la lectura
+            // y esta actualización, el servicio SOAP la rechaza en lugar de pisarla
+            request.setExpectedVersion(existingWeapon.getVersion());
             
             UpdateWeaponResponse response = (UpdateWeaponResponse) webServiceTemplate.marshalSendAndReceive(
                 soapServiceUrl, request);
@@ -246,11 +378,14 @@ public class WeaponGateway implements IWeaponGateway {
             if (ex.getFaultStringOrReason().contains("ALREADY_EXISTS")) {
                 throw new WeaponAlreadyExistsException(updates.getOrDefault("name", "").toString());
             }
+            if (ex.getFaultStringOrReason().contains("VERSION_CONFLICT")) {
+                throw new WeaponVersionConflictException(id);
+            }
             throw new SoapValidationException("Error de validación en el servicio SOAP: " + ex.getFaultStringOrReason());
-        } catch (WeaponNotFoundException | WeaponAlreadyExistsException ex) {
+        } catch (WeaponNotFoundException | WeaponAlreadyExistsException | WeaponVersionConflictException ex) {
             throw ex;
         } catch (Exception ex) {
-            if (ex.getCause() instanceof ConnectException || ex.getCause() instanceof SocketTimeoutException) {
+            if (isUnavailable(ex)) {
                 logger.error("Servicio SOAP no disponible: {}", ex.getMessage());
                 throw new SoapServiceUnavailableException("El servicio SOAP no está disponible");
             }
@@ -259,112 +394,59 @@ public class WeaponGateway implements IWeaponGateway {
         }
     }
 
-    private List<Weapon> generateMockWeapons(Pageable pageable, Map<String, String> filters) {
-        List<Weapon> allWeapons = Arrays.asList(
-            createMockWeapon(UUID.randomUUID(), "Master Sword", WeaponType.ONE_HANDED_SWORD, 30, 200),
-            createMockWeapon(UUID.randomUUID(), "Royal Claymore", WeaponType.TWO_HANDED_SWORD, 52, 40),
-            createMockWeapon(UUID.randomUUID(), "Ancient Spear", WeaponType.SPEAR, 30, 25),
-            createMockWeapon(UUID.randomUUID(), "Traveler's Sword", WeaponType.ONE_HANDED_SWORD, 5, 22),
-            createMockWeapon(UUID.randomUUID(), "Savage Lynel Spear", WeaponType.SPEAR, 30, 25),
-            createMockWeapon(UUID.randomUUID(), "Royal Guard's Spear", WeaponType.SPEAR, 32, 15),
-            createMockWeapon(UUID.randomUUID(), "Silver Lynel Spear", WeaponType.SPEAR, 26, 25),
-            createMockWeapon(UUID.randomUUID(), "Great Eagle Bow", WeaponType.BOW, 28, 60),
-            createMockWeapon(UUID.randomUUID(), "Hylian Shield", WeaponType.SHIELD, 90, 800)
-        );
+    /**
+     * Si el fallo es de transporte: cualquier IOException en la cadena de causas. Incluye la
+     * conexión rechazada, el timeout de lectura y ConnectionRequestTimeoutException de
+     * HttpClient5 (sin conexión libre del pool a tiempo), que es InterruptedIOException.
+     */
+    static boolean isUnavailable(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        List<Weapon> filteredWeapons = allWeapons;
-        if (filters != null && filters.containsKey("weaponType")) {
-            String typeFilter = filters.get("weaponType").toUpperCase();
-            filteredWeapons = allWeapons.stream()
-                .filter(weapon -> weapon.getWeaponType().name().equals(typeFilter))
-                .collect(Collectors.toList());
+    /**
+     * Traduce la paginación y los filtros REST a la petición SOAP de listado
+     */
+    private ListWeaponsRequest buildListRequest(Pageable pageable, Map<String, String> filters) {
+        ListWeaponsRequest request = new ListWeaponsRequest();
+        request.setPageSize(pageable.getPageSize());
+
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(null);
+        if (order != null) {
+            request.setSortBy(mapSortField(order.getProperty()));
+            request.setSortDirection(order.isAscending() ? SortDirection.ASC : SortDirection.DESC);
         }
 
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), filteredWeapons.size());
-        
-        if (start >= filteredWeapons.size()) {
-            return new ArrayList<>();
+        if (filters == null) {
+            return request;
         }
-        
-        return filteredWeapons.subList(start, end);
-    }
 
-    private Weapon createMockWeapon(UUID id, String name, WeaponType type, Integer damage, Integer durability) {
-        Weapon weapon = new Weapon();
-        weapon.setId(id);
-        weapon.setName(name);
-        weapon.setWeaponType(type);
-        weapon.setDamage(damage);
-        weapon.setDurability(durability);
-        weapon.setElement(null);
-        return weapon;
-    }
+        if (filters.containsKey("weaponType")) {
+            request.setWeaponType(com.zelda.codex.soap.WeaponType.valueOf(filters.get("weaponType").toUpperCase()));
+        }
+        if (filters.containsKey("element")) {
+            request.setElement(com.zelda.codex.soap.Element.valueOf(filters.get("element").toUpperCase()));
+        }
+        if (filters.containsKey("minDamage")) {
+            request.setMinDamage(Integer.valueOf(filters.get("minDamage")));
+        }
+        if (filters.containsKey("maxDamage")) {
+            request.setMaxDamage(Integer.valueOf(filters.get("maxDamage")));
+        }
 
-    /**
-     * Crea una copia completa de un arma para actualizaciones
-     */
-    private Weapon createWeaponCopy(Weapon original) {
-        Weapon copy = new Weapon();
-        copy.setId(original.getId());
-        copy.setName(original.getName());
-        copy.setWeaponType(original.getWeaponType());
-        copy.setDamage(original.getDamage());
-        copy.setDurability(original.getDurability());
-        copy.setElement(original.getElement());
-        return copy;
+        return request;
     }
 
-    /**
-     * Aplica actualizaciones parciales a un arma (implementación de PATCH)
-     */
-    private void applyUpdatesToWeapon(Weapon weapon, Map<String, Object> updates) {
-        logger.debug("Aplicando {} actualizaciones al arma {}", updates.size(), weapon.getId());
-        
-        updates.forEach((key, value) -> {
-            try {
-                switch (key.toLowerCase()) {
-                    case "name":
-                        if (value != null) {
-                            weapon.setName(value.toString());
-                            logger.debug("Actualizado nombre: {}", value);
-                        }
-                        break;
-                    case "damage":
-                        if (value != null) {
-                            weapon.setDamage(Integer.valueOf(value.toString()));
-                            logger.debug("Actualizado daño: {}", value);
-                        }
-                        break;
-                    case "durability":
-                        if (value != null) {
-                            weapon.setDurability(Integer.valueOf(value.toString()));
-                            logger.debug("Actualizada durabilidad: {}", value);
-                        }
-                        break;
-                    case "weapontype":
-                        if (value != null) {
-                            weapon.setWeaponType(WeaponType.valueOf(value.toString().toUpperCase()));
-                            logger.debug("Actualizado tipo de arma: {}", value);
-                        }
-                        break;
-                    case "element":
-                        if (value != null && !value.toString().trim().isEmpty()) {
-                            weapon.setElement(Element.valueOf(value.toString().toUpperCase()));
-                            logger.debug("Actualizado elemento: {}", value);
-                        } else {
-                            weapon.setElement(Element.NONE);
-                            logger.debug("Elemento establecido a NONE");
-                        }
-                        break;
-                    default:
-                        logger.warn("Campo desconocido para actualización: {}", key);
-                        break;
-                }
-            } catch (Exception ex) {
-                logger.error("Error al actualizar campo '{}' con valor '{}': {}", key, value, ex.getMessage());
-                throw new SoapValidationException("Error de validación en campo '" + key + "': " + ex.getMessage());
-            }
-        });
+    private WeaponSortField mapSortField(String property) {
+        return switch (property.toLowerCase()) {
+            case "name" -> WeaponSortField.NAME;
+            case "damage" -> WeaponSortField.DAMAGE;
+            case "durability" -> WeaponSortField.DURABILITY;
+            default -> throw new IllegalArgumentException("No se puede ordenar por el campo '" + property + "'");
+        };
     }
 }
\ No newline at end of file
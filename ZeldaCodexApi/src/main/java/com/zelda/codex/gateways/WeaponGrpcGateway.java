@@ -0,0 +1,337 @@
+package com.zelda.codex.gateways;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.zelda.codex.exceptions.SoapServiceException;
+import com.zelda.codex.exceptions.SoapServiceUnavailableException;
+import com.zelda.codex.exceptions.SoapValidationException;
+import com.zelda.codex.exceptions.WeaponAlreadyExistsException;
+import com.zelda.codex.exceptions.WeaponNotFoundException;
+import com.zelda.codex.exceptions.WeaponVersionConflictException;
+import com.zelda.codex.grpc.weapons.CreateWeaponRequest;
+import com.zelda.codex.grpc.weapons.CreateWeaponResult;
+import com.zelda.codex.grpc.weapons.CreateWeaponsBatchRequest;
+import com.zelda.codex.grpc.weapons.CreateWeaponsBatchResponse;
+import com.zelda.codex.grpc.weapons.DeleteWeaponRequest;
+import com.zelda.codex.grpc.weapons.DeleteWeaponResponse;
+import com.zelda.codex.grpc.weapons.GetWeaponRequest;
+import com.zelda.codex.grpc.weapons.GetWeaponsBatchRequest;
+import com.zelda.codex.grpc.weapons.GetWeaponsBatchResponse;
+import com.zelda.codex.grpc.weapons.ListWeaponsRequest;
+import com.zelda.codex.grpc.weapons.ListWeaponsResponse;
+import com.zelda.codex.grpc.weapons.PageInfo;
+import com.zelda.codex.grpc.weapons.SortDirection;
+import com.zelda.codex.grpc.weapons.UpdateWeaponRequest;
+import com.zelda.codex.grpc.weapons.WeaponServiceGrpc;
+import com.zelda.codex.grpc.weapons.WeaponSortField;
+import com.zelda.codex.mappers.WeaponMapper;
+import com.zelda.codex.models.Element;
+import com.zelda.codex.models.Weapon;
+import com.zelda.codex.models.WeaponBatchResult;
+import com.zelda.codex.models.WeaponPage;
+import com.zelda.codex.models.WeaponType;
+import com.zelda.codex.resilience.RequestDeadline;
+
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+/**
+ * Implementación de IWeaponGateway sobre el servicio gRPC de ZeldaApi (weapons.proto).
+ * Se activa con zelda.weapons.gateway=grpc; los errores se traducen a las mismas
+ * excepciones que usa el gateway SOAP, así que servicio y controladores no cambian.
+ */
+@Component
+@ConditionalOnProperty(name = "zelda.weapons.gateway", havingValue = "grpc")
+public class WeaponGrpcGateway implements IWeaponGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeaponGrpcGateway.class);
+
+    private final WeaponServiceGrpc.WeaponServiceBlockingStub weaponStub;
+    private final WeaponMapper weaponMapper;
+    private final long deadlineMillis;
+    private final int maxPagesWithoutCursor;
+
+    public WeaponGrpcGateway(WeaponServiceGrpc.WeaponServiceBlockingStub weaponStub,
+                             WeaponMapper weaponMapper,
+                             @Value("${spring.ws.client.read-timeout:10000}") long deadlineMillis,
+                             @Value("${zelda.weapons.list.max-pages-without-cursor:20}") int maxPagesWithoutCursor) {
+        this.weaponStub = weaponStub;
+        this.weaponMapper = weaponMapper;
+        this.deadlineMillis = deadlineMillis;
+        this.maxPagesWithoutCursor = maxPagesWithoutCursor;
+    }
+
+    @Override
+    public Weapon getWeaponById(UUID id) {
+        logger.info("Obteniendo arma con ID {} del servicio gRPC", id);
+        try {
+            com.zelda.codex.grpc.weapons.Weapon response = stub().getWeapon(
+                GetWeaponRequest.newBuilder().setId(id.toString()).build());
+            return weaponMapper.grpcToModel(response);
+        } catch (StatusRuntimeException ex) {
+            throw translate(ex, "obtener arma " + id, id, null);
+        }
+    }
+
+    @Override
+    public List<Weapon> getWeaponsByIds(List<UUID> ids) {
+        logger.info("Obteniendo lote de {} armas del servicio gRPC", ids.size());
+        try {
+            GetWeaponsBatchRequest.Builder request = GetWeaponsBatchRequest.newBuilder();
+            for (UUID id : ids) {
+                request.addIds(id.toString());
+            }
+
+            GetWeaponsBatchResponse response = stub().getWeaponsBatch(request.build());
+
+            List<Weapon> weapons = new ArrayList<>(response.getWeaponsCount());
+            for (com.zelda.codex.grpc.weapons.Weapon grpcWeapon : response.getWeaponsList()) {
+                weapons.add(weaponMapper.grpcToModel(grpcWeapon));
+            }
+            return weapons;
+        } catch (StatusRuntimeException ex) {
+            throw translate(ex, "obtener lote de armas", null, null);
+        }
+    }
+
+    @Override
+    public Page<Weapon> getAllWeapons(Pageable pageable, Map<String, String> filters) {
+        ListWeaponsRequest.Builder request = buildListRequest(pageable, filters);
+        String cursor = filters != null ? filters.get(CURSOR_FILTER) : null;
+        // Sin cursor, la página solicitada se alcanza avanzando cursor por cursor desde el inicio
+        int pagesToSkip = IWeaponGateway.pagesToSkip(pageable, cursor, maxPagesWithoutCursor);
+        logger.info("Listando armas del servicio gRPC - Página {}, Tamaño {}, Cursor {}",
+                   pageable.getPageNumber(), pageable.getPageSize(), cursor != null);
+
+        try {
+            if (cursor != null) {
+                request.setCursor(cursor);
+            }
+            // El total solo se calcula en la primera llamada, nunca en las páginas que se saltan
+            request.setIncludeTotal(IWeaponGateway.includeTotal(filters));
+            List<Weapon> weapons = new ArrayList<>();
+            PageInfo pageInfo = receivePage(request.build(), weapons);
+            Long totalCount = pageInfo.hasTotalCount() ? pageInfo.getTotalCount() : null;
+
+            request.setIncludeTotal(false);
+            while (pagesToSkip > 0 && !pageInfo.getNextCursor().isEmpty()) {
+                request.setCursor(pageInfo.getNextCursor());
+                weapons.clear();
+                pageInfo = receivePage(request.build(), weapons);
+                pagesToSkip--;
+            }
+
+            if (pagesToSkip > 0) {
+                return new WeaponPage(new ArrayList<>(), pageable,
+                    IWeaponGateway.total(totalCount, pageable, 0, null), null);
+            }
+            String nextCursor = pageInfo.getNextCursor().isEmpty() ? null : pageInfo.getNextCursor();
+            return new WeaponPage(weapons, pageable,
+                IWeaponGateway.total(totalCount, pageable, weapons.size(), nextCursor), nextCursor);
+
+        } catch (StatusRuntimeException ex) {
+            throw translate(ex, "listar armas", null, null);
+        }
+    }
+
+    @Override
+    public Weapon createWeapon(Weapon weapon) {
+        logger.info("Creando nueva arma en el servicio gRPC: {}", weapon.getName());
+        try {
+            com.zelda.codex.grpc.weapons.Weapon response = stub().createWeapon(CreateWeaponRequest.newBuilder()
+                .setWeaponInput(weaponMapper.modelToGrpcInput(weapon))
+                .build());
+            return weaponMapper.grpcToModel(response);
+        } catch (StatusRuntimeException ex) {
+            throw translate(ex, "crear arma", null, weapon.getName());
+        }
+    }
+
+    @Override
+    public List<WeaponBatchResult> createWeapons(List<Weapon> weapons) {
+        logger.info("Creando lote de {} armas en el servicio gRPC", weapons.size());
+        try {
+            CreateWeaponsBatchRequest.Builder request = CreateWeaponsBatchRequest.newBuilder();
+            for (Weapon weapon : weapons) {
+                request.addWeaponInputs(weaponMapper.modelToGrpcInput(weapon));
+            }
+
+            CreateWeaponsBatchResponse response = stub().createWeaponsBatch(request.build());
+
+            List<WeaponBatchResult> results = new ArrayList<>(response.getResultsCount());
+            for (CreateWeaponResult grpcResult : response.getResultsList()) {
+                results.add(new WeaponBatchResult(
+                    grpcResult.getIndex(),
+                    grpcResult.getSuccess(),
+                    grpcResult.hasWeapon() ? weaponMapper.grpcToModel(grpcResult.getWeapon()) : null,
+                    grpcResult.getErrorCode().isEmpty() ? null : grpcResult.getErrorCode(),
+                    grpcResult.getMessage().isEmpty() ? null : grpcResult.getMessage()));
+            }
+            return results;
+        } catch (StatusRuntimeException ex) {
+            throw translate(ex, "crear lote de armas", null, null);
+        }
+    }
+
+    @Override
+    public Weapon replaceWeapon(UUID id, Weapon weapon) {
+        logger.info("Reemplazando arma con ID {} en el servicio gRPC", id);
+        try {
+            UpdateWeaponRequest.Builder request = UpdateWeaponRequest.newBuilder()
+                .setId(id.toString())
+                .setWeaponInput(weaponMapper.modelToGrpcInput(weapon));
+            if (weapon.getVersion() != null) {
+                request.setExpectedVersion(weapon.getVersion());
+            }
+            return weaponMapper.grpcToModel(stub().updateWeapon(request.build()));
+        } catch (StatusRuntimeException ex) {
+            throw translate(ex, "actualizar arma " + id, id, weapon.getName());
+        }
+    }
+
+    @Override
+    public Weapon updateWeapon(UUID id, Map<String, Object> updates) {
+        logger.info("Actualizando arma con ID {} via gRPC. Campos a actualizar: {}", id, updates.keySet());
+
+        Weapon existingWeapon = getWeaponById(id);
+        Weapon updatedWeapon = WeaponPatches.copyOf(existingWeapon);
+        WeaponPatches.apply(updatedWeapon, updates);
+
+        try {
+            // Escritura condicional sobre la versión leída
+            UpdateWeaponRequest.Builder request = UpdateWeaponRequest.newBuilder()
+                .setId(id.toString())
+                .setWeaponInput(weaponMapper.modelToGrpcInput(updatedWeapon));
+            if (existingWeapon.getVersion() != null) {
+                request.setExpectedVersion(existingWeapon.getVersion());
+            }
+
+            Weapon result = weaponMapper.grpcToModel(stub().updateWeapon(request.build()));
+            logger.info("Arma actualizada exitosamente con ID {}", result.getId());
+            return result;
+        } catch (StatusRuntimeException ex) {
+            throw translate(ex, "actualizar arma " + id, id, updates.getOrDefault("name", "").toString());
+        }
+    }
+
+    @Override
+    public boolean deleteWeapon(UUID id) {
+        logger.info("Eliminando arma con ID {} en el servicio gRPC", id);
+        try {
+            DeleteWeaponResponse response = stub().deleteWeapon(
+                DeleteWeaponRequest.newBuilder().setId(id.toString()).build());
+            return response.getSuccess();
+        } catch (StatusRuntimeException ex) {
+            throw translate(ex, "eliminar arma " + id, id, null);
+        }
+    }
+
+    /**
+     * Deadline de cada llamada: el timeout configurado o lo que quede del plazo de la petición,
+     * lo que venza antes. Al vencer, gRPC cancela también la llamada en el servidor.
+     */
+    private WeaponServiceGrpc.WeaponServiceBlockingStub stub() {
+        Deadline deadline = Deadline.after(deadlineMillis, TimeUnit.MILLISECONDS);
+        RequestDeadline requestDeadline = RequestDeadline.current();
+        if (requestDeadline != null) {
+            deadline = deadline.minimum(requestDeadline.toGrpcDeadline());
+        }
+        return weaponStub.withDeadline(deadline);
+    }
+
+    /**
+     * Consume el stream de ListWeapons: agrega las armas a la lista y devuelve la información de paginación
+     */
+    private PageInfo receivePage(ListWeaponsRequest request, List<Weapon> weapons) {
+        PageInfo pageInfo = PageInfo.getDefaultInstance();
+        Iterator<ListWeaponsResponse> responses = stub().listWeapons(request);
+        while (responses.hasNext()) {
+            ListWeaponsResponse item = responses.next();
+            if (item.hasWeapon()) {
+                weapons.add(weaponMapper.grpcToModel(item.getWeapon()));
+            } else if (item.hasPageInfo()) {
+                pageInfo = item.getPageInfo();
+            }
+        }
+        return pageInfo;
+    }
+
+    /**
+     * Traduce la paginación y los filtros REST a la petición gRPC de listado
+     */
+    private ListWeaponsRequest.Builder buildListRequest(Pageable pageable, Map<String, String> filters) {
+        ListWeaponsRequest.Builder request = ListWeaponsRequest.newBuilder()
+            .setPageSize(pageable.getPageSize());
+
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(null);
+        if (order != null) {
+            request.setSortBy(mapSortField(order.getProperty()));
+            request.setSortDirection(order.isAscending() ? SortDirection.ASC : SortDirection.DESC);
+        }
+
+        if (filters == null) {
+            return request;
+        }
+
+        if (filters.containsKey("weaponType")) {
+            request.setWeaponType(weaponMapper.mapModelWeaponTypeToGrpc(
+                WeaponType.valueOf(filters.get("weaponType").toUpperCase())));
+        }
+        if (filters.containsKey("element")) {
+            request.setElement(weaponMapper.mapModelElementToGrpc(
+                Element.valueOf(filters.get("element").toUpperCase())));
+        }
+        if (filters.containsKey("minDamage")) {
+            request.setMinDamage(Integer.parseInt(filters.get("minDamage")));
+        }
+        if (filters.containsKey("maxDamage")) {
+            request.setMaxDamage(Integer.parseInt(filters.get("maxDamage")));
+        }
+
+        return request;
+    }
+
+    private WeaponSortField mapSortField(String property) {
+        return switch (property.toLowerCase()) {
+            case "name" -> WeaponSortField.NAME;
+            case "damage" -> WeaponSortField.DAMAGE;
+            case "durability" -> WeaponSortField.DURABILITY;
+            default -> throw new IllegalArgumentException("No se puede ordenar por el campo '" + property + "'");
+        };
+    }
+
+    /**
+     * Equivalente gRPC del análisis de los prefijos de fault SOAP
+     */
+    private RuntimeException translate(StatusRuntimeException ex, String operation, UUID weaponId, String weaponName) {
+        Status.Code code = ex.getStatus().getCode();
+        String description = ex.getStatus().getDescription();
+        logger.error("Error gRPC al {}: {} - {}", operation, code, description);
+
+        return switch (code) {
+            case NOT_FOUND -> weaponId != null
+                ? new WeaponNotFoundException(weaponId)
+                : new WeaponNotFoundException(description);
+            case ALREADY_EXISTS -> new WeaponAlreadyExistsException(weaponName);
+            case ABORTED -> new WeaponVersionConflictException(weaponId);
+            case INVALID_ARGUMENT -> new SoapValidationException("Error de validación en el servicio de armas: " + description);
+            case UNAVAILABLE, DEADLINE_EXCEEDED -> new SoapServiceUnavailableException("El servicio de armas no está disponible", ex);
+            default -> new SoapServiceException("Error en el servicio de armas: " + description, ex);
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.zelda.codex.gateways;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zelda.codex.exceptions.SoapValidationException;
+import com.zelda.codex.models.Element;
+import com.zelda.codex.models.Weapon;
+import com.zelda.codex.models.WeaponType;
+
+/**
+ * Aplicación de actualizaciones parciales (PATCH) compartida por los gateways SOAP y gRPC
+ */
+final class WeaponPatches {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeaponPatches.class);
+
+    private WeaponPatches() {
+    }
+
+    /**
+     * Crea una copia completa de un arma para actualizaciones
+     */
+    static Weapon copyOf(Weapon original) {
+        Weapon copy = new Weapon();
+        copy.setId(original.getId());
+        copy.setName(original.getName());
+        copy.setWeaponType(original.getWeaponType());
+        copy.setDamage(original.getDamage());
+        copy.setDurability(original.getDurability());
+        copy.setElement(original.getElement());
+        copy.setVersion(original.getVersion());
+        return copy;
+    }
+
+    /**
+     * Aplica actualizaciones parciales a un arma (implementación de PATCH)
+     */
+    static void apply(Weapon weapon, Map<String, Object> updates) {
+        logger.debug("Aplicando {} actualizaciones al arma {}", updates.size(), weapon.getId());
+        
+        updates.forEach((key, value) -> {
+            try {
+                switch (key.toLowerCase()) {
+                    case "name":
+                        if (value != null) {
+                            weapon.setName(value.toString());
+                            logger.debug("Actualizado nombre: {}", value);
+                        }
+                        break;
+                    case "damage":
+                        if (value != null) {
+                            weapon.setDamage(Integer.valueOf(value.toString()));
+                            logger.debug("Actualizado daño: {}", value);
+                        }
+                        break;
+                    case "durability":
+                        if (value != null) {
+                            weapon.setDurability(Integer.valueOf(value.toString()));
+                            logger.debug("Actualizada durabilidad: {}", value);
+                        }
+                        break;
+                    case "weapontype":
+                        if (value != null) {
+                            weapon.setWeaponType(WeaponType.valueOf(value.toString().toUpperCase()));
+                            logger.debug("Actualizado tipo de arma: {}", value);
+                        }
+                        break;
+                    case "element":
+                        if (value != null && !value.toString().trim().isEmpty()) {
+                            weapon.setElement(Element.valueOf(value.toString().toUpperCase()));
+                            logger.debug("Actualizado elemento: {}", value);
+                        } else {
+                            weapon.setElement(Element.NONE);
+                            logger.debug("Elemento establecido a NONE");
+                        }
+                        break;
+                    default:
+                        logger.warn("Campo desconocido para actualización: {}", key);
+                        break;
+                }
+            } catch (Exception ex) {
+                logger.error("Error al actualizar campo '{}' con valor '{}': {}", key, value, ex.getMessage());
+                throw new SoapValidationException("Error de validación en campo '" + key + "': " + ex.getMessage());
+            }
+        });
+    }
+}
@@ -42,6 +42,7 @@ public class WeaponMapper {
             weapon.getDurability(),
             weapon.getElement()
         );
+        response.setVersion(weapon.getVersion());
 
         // Agregar enlaces HATEOAS
         if (weapon.getId() != null) {
@@ -83,6 +84,7 @@ public class WeaponMapper {
         weapon.setDamage(request.getDamage());
         weapon.setDurability(request.getDurability());
         weapon.setElement(request.getElement());
+        weapon.setVersion(request.getVersion());
         
         return weapon;
     }
@@ -137,6 +139,7 @@ public class WeaponMapper {
         weapon.setDamage(soapWeapon.getDamage());
         weapon.setDurability(soapWeapon.getDurability());
         weapon.setElement(mapSoapElement(soapWeapon.getElement()));
+        weapon.setVersion(soapWeapon.getVersion());
 
         return weapon;
     }
@@ -159,6 +162,49 @@ public class WeaponMapper {
         return soapInput;
     }
 
+    // ===== MÉTODOS DE CONVERSIÓN gRPC =====
+
+    /**
+     * Convierte de gRPC Weapon a modelo interno Weapon
+     */
+    public Weapon grpcToModel(com.zelda.codex.grpc.weapons.Weapon grpcWeapon) {
+        Weapon weapon = new Weapon();
+
+        if (!grpcWeapon.getId().isEmpty()) {
+            weapon.setId(UUID.fromString(grpcWeapon.getId()));
+        }
+
+        weapon.setName(grpcWeapon.getName());
+        weapon.setWeaponType(mapGrpcWeaponType(grpcWeapon.getWeaponType()));
+        weapon.setDamage(grpcWeapon.getDamage());
+        weapon.setDurability(grpcWeapon.getDurability());
+        weapon.setElement(mapGrpcElement(grpcWeapon.getElement()));
+        weapon.setVersion(grpcWeapon.getVersion());
+
+        return weapon;
+    }
+
+    /**
+     * Convierte de modelo interno Weapon a gRPC WeaponInput
+     */
+    public com.zelda.codex.grpc.weapons.WeaponInput modelToGrpcInput(Weapon weapon) {
+        com.zelda.codex.grpc.weapons.WeaponInput.Builder grpcInput = com.zelda.codex.grpc.weapons.WeaponInput.newBuilder()
+            .setWeaponType(mapModelWeaponTypeToGrpc(weapon.getWeaponType()))
+            .setElement(mapModelElementToGrpc(weapon.getElement()));
+
+        if (weapon.getName() != null) {
+            grpcInput.setName(weapon.getName());
+        }
+        if (weapon.getDamage() != null) {
+            grpcInput.setDamage(weapon.getDamage());
+        }
+        if (weapon.getDurability() != null) {
+            grpcInput.setDurability(weapon.getDurability());
+        }
+
+        return grpcInput.build();
+    }
+
     // Métodos auxiliares para mapear enums
     private WeaponType mapSoapWeaponType(com.zelda.codex.soap.WeaponType soapType) {
         if (soapType == null) return null;
@@ -179,4 +225,29 @@ public class WeaponMapper {
         if (modelElement == null) return null;
         return com.zelda.codex.soap.Element.valueOf(modelElement.name());
     }
+
+    // Los valores *_UNSPECIFIED de los enums gRPC equivalen a null
+    private WeaponType mapGrpcWeaponType(com.zelda.codex.grpc.weapons.WeaponType grpcType) {
+        return switch (grpcType) {
+            case WEAPON_TYPE_UNSPECIFIED, UNRECOGNIZED -> null;
+            default -> WeaponType.valueOf(grpcType.name());
+        };
+    }
+
+    public com.zelda.codex.grpc.weapons.WeaponType mapModelWeaponTypeToGrpc(WeaponType modelType) {
+        if (modelType == null) return com.zelda.codex.grpc.weapons.WeaponType.WEAPON_TYPE_UNSPECIFIED;
+        return com.zelda.codex.grpc.weapons.WeaponType.valueOf(modelType.name());
+    }
+
+    private Element mapGrpcElement(com.zelda.codex.grpc.weapons.Element grpcElement) {
+        return switch (grpcElement) {
+            case ELEMENT_UNSPECIFIED, UNRECOGNIZED -> null;
+            default -> Element.valueOf(grpcElement.name());
+        };
+    }
+
+    public com.zelda.codex.grpc.weapons.Element mapModelElementToGrpc(Element modelElement) {
+        if (modelElement == null) return com.zelda.codex.grpc.weapons.Element.ELEMENT_UNSPECIFIED;
+        return com.zelda.codex.grpc.weapons.Element.valueOf(modelElement.name());
+    }
 }
\ No newline at end of file
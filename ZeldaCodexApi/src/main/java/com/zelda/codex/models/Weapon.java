@@ -9,6 +9,7 @@ public class Weapon {
     private Integer damage;
     private Integer durability;
     private Element element;
+    private Long version;
 
     // Constructor vacío
     public Weapon() {}
@@ -71,4 +72,12 @@ public class Weapon {
     public void setElement(Element element) {
         this.element = element;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.zelda.codex.models;
+
+public class WeaponBatchResult {
+    private int index;
+    private boolean success;
+    private Weapon weapon;
+    private String errorCode;
+    private String message;
+
+    // Constructor vacío
+    public WeaponBatchResult() {}
+
+    // Constructor completo
+    public WeaponBatchResult(int index, boolean success, Weapon weapon, String errorCode, String message) {
+        this.index = index;
+        this.success = success;
+        this.weapon = weapon;
+        this.errorCode = errorCode;
+        this.message = message;
+    }
+
+    // Getters y Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public Weapon getWeapon() {
+        return weapon;
+    }
+
+    public void setWeapon(Weapon weapon) {
+        this.weapon = weapon;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,29 @@
+package com.zelda.codex.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Página de armas que además conserva el cursor keyset devuelto por el servicio SOAP
+ */
+public class WeaponPage extends PageImpl<Weapon> {
+
+    private String nextCursor;
+
+    // Constructor vacío (deserialización desde caché)
+    protected WeaponPage() {
+        super(new ArrayList<>());
+    }
+
+    public WeaponPage(List<Weapon> content, Pageable pageable, long total, String nextCursor) {
+        super(content, pageable, total);
+        this.nextCursor = nextCursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,325 @@
+package com.zelda.codex.resilience;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zelda.codex.exceptions.DownstreamRejectedException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Circuit breaker y bulkhead de un servicio remoto (armas, personajes).
+ * <ul>
+ *   <li>Bulkhead: como mucho maxConcurrentCalls llamadas en curso; el resto se rechaza
+ *       (o espera maxWait) en lugar de acumular hilos esperando al servicio.</li>
+ *   <li>Circuit breaker: con al menos minimumCalls de las últimas windowSize llamadas, si el
+ *       porcentaje de fallos o de llamadas lentas supera failureRateThreshold se abre y rechaza
+ *       todo durante openDuration. Después deja pasar halfOpenCalls llamadas de prueba: si todas
+ *       van bien se cierra, si una falla se vuelve a abrir.</li>
+ *   <li>Llamada lenta: la que tarda slowCallDuration, o lo que le quedaba al plazo de la petición
+ *       si es menos. Así una llamada cortada por ese plazo cuenta como lenta y un servicio colgado
+ *       abre el circuito aunque los clientes pidan plazos por debajo de slowCallDuration. El umbral
+ *       no baja de minSlowCallDuration: un cliente con un plazo mínimo no abre el circuito de todos.</li>
+ * </ul>
+ * Solo cuentan como fallo las excepciones que cumplen isFailure (no disponible, timeout...);
+ * un 404 o un error de validación es una respuesta válida del servicio.
+ */
+public class DownstreamGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(DownstreamGuard.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long minSlowCallNanos;
+    private final long openDurationMs;
+    private final int halfOpenCalls;
+    private final int maxConcurrentCalls;
+    private final Duration maxWait;
+    private final Predicate<Throwable> isFailure;
+    private final MeterRegistry meterRegistry;
+
+    private final Semaphore bulkhead;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Ventana deslizante por número de llamadas: true = fallo o llamada lenta
+    private final boolean[] window;
+    private int windowPosition;
+    private int windowCount;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public DownstreamGuard(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                           Duration slowCallDuration, Duration minSlowCallDuration,
+                           Duration openDuration, int halfOpenCalls,
+                           int maxConcurrentCalls, Duration maxWait,
+                           Predicate<Throwable> isFailure, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.minSlowCallNanos = Math.min(minSlowCallDuration.toNanos(), slowCallNanos);
+        this.openDurationMs = openDuration.toMillis();
+        this.halfOpenCalls = halfOpenCalls;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWait = maxWait;
+        this.isFailure = isFailure;
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+
+        Gauge.builder("zelda.codex.downstream.state", this, guard -> guard.getState().ordinal())
+            .description("Estado del circuito: 0 cerrado, 1 abierto, 2 semiabierto")
+            .tag("downstream", name)
+            .register(meterRegistry);
+        Gauge.builder("zelda.codex.downstream.failure-rate", this, DownstreamGuard::getFailureRate)
+            .description("Porcentaje de fallos y llamadas lentas en la ventana del circuito")
+            .tag("downstream", name)
+            .register(meterRegistry);
+        Gauge.builder("zelda.codex.downstream.bulkhead.available", bulkhead, Semaphore::availablePermits)
+            .description("Llamadas simultáneas que aún admite el bulkhead")
+            .tag("downstream", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Llamada bloqueante protegida por el bulkhead y el circuito
+     *
+     * @throws DownstreamRejectedException si el circuito está abierto o el bulkhead lleno
+     */
+    public <T> T call(Supplier<T> call) {
+        acquire(maxWait);
+        long slowNanos = slowThresholdNanos();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            onResult(start, slowNanos, null);
+            return result;
+        } catch (RuntimeException e) {
+            onResult(start, slowNanos, e);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Llamada asíncrona: el permiso del bulkhead se mantiene hasta que el future termina.
+     * Nunca espera por un permiso; un rechazo se devuelve como future fallido.
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        try {
+            acquire(Duration.ZERO);
+        } catch (DownstreamRejectedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long slowNanos = slowThresholdNanos();
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            onResult(start, slowNanos, e);
+            bulkhead.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((value, error) -> {
+            onResult(start, slowNanos, error);
+            bulkhead.release();
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Si el circuito está abierto y aún no ha pasado openDuration: toda llamada se rechazaría
+     */
+    public boolean isRejectingCalls() {
+        lock.lock();
+        try {
+            return state == State.OPEN && System.currentTimeMillis() - openedAt < openDurationMs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getFailureRate() {
+        lock.lock();
+        try {
+            return windowCount == 0 ? 0 : 100.0 * windowFailures / windowCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Estado para el endpoint de actuator
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            description.put("state", state);
+            description.put("failureRate", windowCount == 0 ? 0 : 100.0 * windowFailures / windowCount);
+            description.put("bufferedCalls", windowCount);
+            description.put("failedCalls", windowFailures);
+        } finally {
+            lock.unlock();
+        }
+        description.put("failureRateThreshold", failureRateThreshold);
+        description.put("concurrentCalls", maxConcurrentCalls - bulkhead.availablePermits());
+        description.put("maxConcurrentCalls", maxConcurrentCalls);
+        return description;
+    }
+
+    private void acquire(Duration wait) {
+        boolean acquired;
+        try {
+            acquired = wait.isZero() ? bulkhead.tryAcquire() : bulkhead.tryAcquire(wait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            record("rejected-bulkhead");
+            throw new DownstreamRejectedException(name, true);
+        }
+        if (!permitCall()) {
+            bulkhead.release();
+            record("rejected-open");
+            throw new DownstreamRejectedException(name, false);
+        }
+    }
+
+    private boolean permitCall() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                    return false;
+                }
+                transition(State.HALF_OPEN);
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermits == 0) {
+                    return false;
+                }
+                halfOpenPermits--;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * slowCallDuration o lo que queda del plazo de la petición en curso, sin bajar de minSlowCallDuration.
+     * Se resta 1 ms porque los timeouts de la llamada se fijan en milisegundos enteros.
+     */
+    private long slowThresholdNanos() {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return slowCallNanos;
+        }
+        long remaining = deadline.remainingNanos() - TimeUnit.MILLISECONDS.toNanos(1);
+        return Math.min(slowCallNanos, Math.max(remaining, minSlowCallNanos));
+    }
+
+    private void onResult(long start, long slowNanos, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        boolean failed = cause != null && isFailure.test(cause);
+        boolean slow = !failed && System.nanoTime() - start >= slowNanos;
+        record(failed ? "failure" : slow ? "slow" : "success");
+
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED -> {
+                    if (windowCount == window.length) {
+                        windowFailures -= window[windowPosition] ? 1 : 0;
+                    } else {
+                        windowCount++;
+                    }
+                    window[windowPosition] = failed || slow;
+                    windowFailures += failed || slow ? 1 : 0;
+                    windowPosition = (windowPosition + 1) % window.length;
+                    if (windowCount >= minimumCalls && 100.0 * windowFailures / windowCount >= failureRateThreshold) {
+                        open();
+                    }
+                }
+                case HALF_OPEN -> {
+                    if (failed || slow) {
+                        open();
+                    } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                        resetWindow();
+                        transition(State.CLOSED);
+                    }
+                }
+                case OPEN -> {
+                    // Llamada iniciada antes de abrirse el circuito: no cambia nada
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open() {
+        openedAt = System.currentTimeMillis();
+        resetWindow();
+        transition(State.OPEN);
+    }
+
+    private void resetWindow() {
+        windowPosition = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    private void transition(State next) {
+        if (state == next) {
+            return;
+        }
+        if (next == State.OPEN) {
+            logger.warn("Circuito de '{}' abierto durante {} ms: se rechazan las llamadas", name, openDurationMs);
+        } else {
+            logger.info("Circuito de '{}': {} -> {}", name, state, next);
+        }
+        state = next;
+        meterRegistry.counter("zelda.codex.downstream.transitions", "downstream", name, "to", next.name()).increment();
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter("zelda.codex.downstream.calls", "downstream", name, "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,78 @@
+package com.zelda.codex.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.zelda.codex.exceptions.DeadlineExceededException;
+
+import io.grpc.Deadline;
+
+/**
+ * Presupuesto de tiempo de la petición HTTP en curso. Lo crea RequestDeadlineFilter al
+ * llegar la petición y se guarda como atributo de la petición, así que también lo ven
+ * los hilos de weaponExecutor (AsyncConfig propaga los RequestAttributes).
+ * Las llamadas SOAP y gRPC usan el tiempo restante como timeout.
+ */
+public final class RequestDeadline {
+
+    public static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    private final long deadlineNanos;
+    private final Duration budget;
+
+    private RequestDeadline(Duration budget) {
+        this.budget = budget;
+        this.deadlineNanos = System.nanoTime() + budget.toNanos();
+    }
+
+    public static RequestDeadline after(Duration budget) {
+        return new RequestDeadline(budget);
+    }
+
+    /**
+     * @return el plazo de la petición actual, o null fuera de una petición (recargas en segundo plano, tareas programadas)
+     */
+    public static RequestDeadline current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof RequestDeadline deadline
+            ? deadline
+            : null;
+    }
+
+    public Duration getBudget() {
+        return budget;
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * Tiempo restante en milisegundos, como mínimo 1 para usarlo como timeout
+     */
+    public long remainingMillis() {
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos()));
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * No empieza trabajo para un cliente que ya dejó de esperar
+     *
+     * @throws DeadlineExceededException si el plazo ya venció
+     */
+    public void check(String operation) {
+        if (isExpired()) {
+            throw new DeadlineExceededException(operation, budget);
+        }
+    }
+
+    public Deadline toGrpcDeadline() {
+        return Deadline.after(remainingNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,71 @@
+package com.zelda.codex.services;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.zelda.codex.models.Weapon;
+
+/**
+ * Versión asíncrona de {@link IWeaponService}: ejecuta el servicio (cache, agrupación de
+ * peticiones, modo degradado y llamada al gateway) en el executor weaponExecutor.
+ * Las lecturas que están en cache se resuelven en el hilo que llama, sin pasar por el
+ * executor: así un acierto no espera en la cola detrás de las llamadas lentas al servicio.
+ */
+@Service
+public class AsyncWeaponService implements IAsyncWeaponService {
+
+    private final IWeaponService weaponService;
+    private final Executor executor;
+
+    @Autowired
+    public AsyncWeaponService(IWeaponService weaponService, @Qualifier("weaponExecutor") Executor executor) {
+        this.weaponService = weaponService;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Weapon> getWeaponById(UUID id) {
+        Weapon cached = weaponService.findCachedWeapon(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.supplyAsync(() -> weaponService.getWeaponById(id), executor);
+    }
+
+    @Override
+    public CompletableFuture<Page<Weapon>> getAllWeapons(Pageable pageable, Map<String, String> filters) {
+        Page<Weapon> cached = weaponService.findCachedWeapons(pageable, filters);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.supplyAsync(() -> weaponService.getAllWeapons(pageable, filters), executor);
+    }
+
+    @Override
+    public CompletableFuture<Weapon> createWeapon(Weapon weapon) {
+        return CompletableFuture.supplyAsync(() -> weaponService.createWeapon(weapon), executor);
+    }
+
+    @Override
+    public CompletableFuture<Weapon> replaceWeapon(UUID id, Weapon weapon) {
+        return CompletableFuture.supplyAsync(() -> weaponService.replaceWeapon(id, weapon), executor);
+    }
+
+    @Override
+    public CompletableFuture<Weapon> updateWeapon(UUID id, Map<String, Object> updates) {
+        return CompletableFuture.supplyAsync(() -> weaponService.updateWeapon(id, updates), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteWeapon(UUID id) {
+        return CompletableFuture.runAsync(() -> weaponService.deleteWeapon(id), executor);
+    }
+}
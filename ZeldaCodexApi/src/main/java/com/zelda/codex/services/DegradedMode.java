@@ -0,0 +1,109 @@
+package com.zelda.codex.services;
+
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.zelda.codex.exceptions.DeadlineExceededException;
+import com.zelda.codex.exceptions.DownstreamRejectedException;
+import com.zelda.codex.exceptions.SoapServiceUnavailableException;
+import com.zelda.codex.resilience.DownstreamGuard;
+import com.zelda.codex.resilience.RequestDeadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Estado del servicio de armas visto desde Codex. Todas las llamadas pasan por el circuito
+ * y el bulkhead "weapons", y el modo degradado es el circuito abierto: un error aislado no
+ * lo activa, solo un porcentaje de fallos suficiente en la ventana del circuito. Mientras
+ * está abierto las lecturas se sirven del último valor conocido sin llamar al servicio y las
+ * escrituras fallan de inmediato; pasado open-duration las llamadas de prueba deciden.
+ * Un error o un rechazo (bulkhead lleno, circuito abierto) en una llamada concreta se
+ * responde como servicio no disponible solo para esa llamada.
+ * Con el plazo de la petición agotado no se llama al servicio, y un timeout causado por
+ * ese plazo se responde 504; en el circuito cuenta como llamada lenta, no como fallo.
+ */
+@Component
+public class DegradedMode {
+
+    private static final Logger logger = LoggerFactory.getLogger(DegradedMode.class);
+
+    /** Atributo de la petición con el instante de carga del valor servido en modo degradado */
+    public static final String STALE_SINCE_ATTRIBUTE = DegradedMode.class.getName() + ".STALE_SINCE";
+
+    private final DownstreamGuard weaponsGuard;
+    private final Counter staleResponses;
+
+    public DegradedMode(@Qualifier("weaponsGuard") DownstreamGuard weaponsGuard, MeterRegistry meterRegistry) {
+        this.weaponsGuard = weaponsGuard;
+        this.staleResponses = Counter.builder("zelda.codex.degraded.stale-responses")
+            .description("Lecturas respondidas con el último valor conocido por no estar disponible el servicio de armas")
+            .register(meterRegistry);
+        meterRegistry.gauge("zelda.codex.degraded.active", this, mode -> mode.isDegraded() ? 1 : 0);
+    }
+
+    public boolean isDegraded() {
+        return weaponsGuard.isRejectingCalls();
+    }
+
+    /**
+     * Ejecuta una llamada al servicio de armas; el resultado cuenta en el circuito
+     */
+    public <T> T call(Supplier<T> backendCall) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            deadline.check("llamar al servicio de armas");
+        }
+        try {
+            return weaponsGuard.call(() -> withinDeadline(deadline, backendCall));
+        } catch (DownstreamRejectedException e) {
+            throw new SoapServiceUnavailableException(e.getMessage(), e);
+        }
+    }
+
+    private static <T> T withinDeadline(RequestDeadline deadline, Supplier<T> backendCall) {
+        try {
+            return backendCall.get();
+        } catch (SoapServiceUnavailableException e) {
+            if (deadline != null && deadline.isExpired()) {
+                throw new DeadlineExceededException("la llamada al servicio de armas", deadline.getBudget(), e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Las escrituras no se intentan mientras el circuito del servicio de armas está abierto
+     */
+    public void checkWritable() {
+        if (isDegraded()) {
+            logger.debug("Escritura rechazada: circuito de '{}' abierto", weaponsGuard.getName());
+            throw new SoapServiceUnavailableException("Modo degradado: las escrituras están deshabilitadas temporalmente");
+        }
+    }
+
+    /**
+     * Marca la petición actual como respondida con un valor obsoleto (cabeceras Warning y Age)
+     */
+    public void markServedStale(long loadedAt) {
+        staleResponses.increment();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(STALE_SINCE_ATTRIBUTE, loadedAt, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Usado en las condiciones unless de @Cacheable para no guardar valores obsoletos en cache
+     */
+    public static boolean servedStale() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(STALE_SINCE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.zelda.codex.services;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.zelda.codex.models.Weapon;
+
+public interface IAsyncWeaponService {
+
+    CompletableFuture<Weapon> getWeaponById(UUID id);
+
+    CompletableFuture<Page<Weapon>> getAllWeapons(Pageable pageable, Map<String, String> filters);
+
+    CompletableFuture<Weapon> createWeapon(Weapon weapon);
+
+    CompletableFuture<Weapon> replaceWeapon(UUID id, Weapon weapon);
+
+    CompletableFuture<Weapon> updateWeapon(UUID id, Map<String, Object> updates);
+
+    CompletableFuture<Void> deleteWeapon(UUID id);
+}
@@ -14,6 +14,16 @@ public interface IWeaponService {
 
     Page<Weapon> getAllWeapons(Pageable pageable, Map<String, String> filters);
 
+    /**
+     * Arma si está en cache, sin llamar al servicio de armas; null si no está
+     */
+    Weapon findCachedWeapon(UUID id);
+
+    /**
+     * Página completa si está en cache, sin llamar al servicio de armas; null si falta algo
+     */
+    Page<Weapon> findCachedWeapons(Pageable pageable, Map<String, String> filters);
+
     Weapon createWeapon(Weapon weapon);
 
     Weapon replaceWeapon(UUID id, Weapon weapon);
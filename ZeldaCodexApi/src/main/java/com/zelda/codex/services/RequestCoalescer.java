@@ -0,0 +1,134 @@
+package com.zelda.codex.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.zelda.codex.exceptions.DeadlineExceededException;
+import com.zelda.codex.resilience.RequestDeadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Agrupa las llamadas concurrentes con la misma clave (single-flight):
+ * solo la primera ejecuta la carga y las demás esperan su resultado.
+ * Vive dentro del método cacheado, así que también protege al servicio SOAP
+ * cuando Redis no está disponible y todas las lecturas son cache miss.
+ * La carga incluye el circuito y el bulkhead (DegradedMode.call): las peticiones que
+ * esperan no ocupan permisos ni cuentan en el circuito, solo la llamada real.
+ * Cada petición espera como mucho lo que le queda de su propio plazo, y si la llamada en
+ * curso falla porque se agotó el plazo de la petición que la inició, las que esperaban no
+ * heredan ese fallo: vuelven a intentarlo y una de ellas hace la siguiente llamada.
+ */
+@Component
+public class RequestCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private static final String COALESCED_METRIC = "zelda.codex.requests.coalesced";
+
+    /** Resultado de await cuando la llamada en curso terminó por el plazo de otra petición */
+    private static final Object RETRY = new Object();
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Ejecuta la carga para la clave o se une a la que ya está en curso.
+     * Las excepciones de la carga se propagan tal cual a todos los que esperan, salvo el
+     * DeadlineExceededException del plazo de quien la inició.
+     *
+     * @param operation nombre de la operación (etiqueta de la métrica)
+     * @param key clave de la carga dentro de la operación
+     * @throws DeadlineExceededException si el plazo de esta petición vence mientras espera
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> loader) {
+        String flightKey = operation + ":" + key;
+        boolean joined = false;
+        while (true) {
+            CompletableFuture<Object> mine = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, mine);
+            if (existing == null) {
+                return load(flightKey, mine, loader);
+            }
+
+            if (!joined) {
+                joined = true;
+                coalescedCounter(operation).increment();
+            }
+            logger.debug("Petición agrupada con la llamada en curso para '{}'", flightKey);
+            Object result = await(existing, RequestDeadline.current());
+            if (result != RETRY) {
+                return (T) result;
+            }
+            // Quien la inició puede no haberla quitado aún del mapa
+            inFlight.remove(flightKey, existing);
+            logger.debug("La llamada en curso para '{}' agotó el plazo de su petición - se reintenta", flightKey);
+        }
+    }
+
+    private <T> T load(String flightKey, CompletableFuture<Object> mine, Supplier<T> loader) {
+        try {
+            T result = loader.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, mine);
+        }
+    }
+
+    /**
+     * Espera el resultado como mucho hasta el plazo de la petición actual (sin plazo, lo que tarde)
+     *
+     * @return el resultado, o RETRY si la llamada falló por el plazo de la petición que la inició
+     */
+    private Object await(CompletableFuture<Object> future, RequestDeadline deadline) {
+        try {
+            return deadline != null
+                ? future.get(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS)
+                : future.get();
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("esperar la llamada en curso al servicio de armas", deadline.getBudget());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido mientras se esperaba la llamada en curso", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DeadlineExceededException) {
+                return RETRY;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    private Counter coalescedCounter(String operation) {
+        return Counter.builder(COALESCED_METRIC)
+            .description("Peticiones que esperaron una llamada al gateway ya en curso")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+}
@@ -1,20 +1,40 @@
 package com.zelda.codex.services;
 
+import com.zelda.codex.cache.BulkReadableCache;
+import com.zelda.codex.cache.CacheEntry;
+import com.zelda.codex.cache.CacheRefresher;
+import com.zelda.codex.cache.LastKnownGoodStore;
+import com.zelda.codex.cache.WeaponIdBloomFilter;
+import com.zelda.codex.cache.WeaponIdPage;
+import com.zelda.codex.cache.WeaponListGenerations;
+import com.zelda.codex.cache.WeaponListKeyGenerator;
+import com.zelda.codex.cache.WeaponNotFoundCache;
+import com.zelda.codex.exceptions.SoapServiceUnavailableException;
 import com.zelda.codex.exceptions.WeaponNotFoundException;
 import com.zelda.codex.gateways.IWeaponGateway;
 import com.zelda.codex.models.Weapon;
+import com.zelda.codex.models.WeaponPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Service
 public class WeaponService implements IWeaponService {
@@ -22,83 +42,310 @@ public class WeaponService implements IWeaponService {
     private static final Logger logger = LoggerFactory.getLogger(WeaponService.class);
 
     private final IWeaponGateway weaponGateway;
+    private final RequestCoalescer requestCoalescer;
+    private final WeaponListGenerations listGenerations;
+    private final WeaponListKeyGenerator listKeyGenerator;
+    private final CacheManager cacheManager;
+    private final CacheRefresher cacheRefresher;
+    private final DegradedMode degradedMode;
+    private final LastKnownGoodStore lastKnownGoodStore;
+    private final WeaponNotFoundCache notFoundCache;
+    private final WeaponIdBloomFilter idBloomFilter;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
-    public WeaponService(IWeaponGateway weaponGateway) {
+    public WeaponService(IWeaponGateway weaponGateway, RequestCoalescer requestCoalescer,
+                         WeaponListGenerations listGenerations, WeaponListKeyGenerator listKeyGenerator,
+                         CacheManager cacheManager, CacheRefresher cacheRefresher, DegradedMode degradedMode,
+                         LastKnownGoodStore lastKnownGoodStore, WeaponNotFoundCache notFoundCache,
+                         WeaponIdBloomFilter idBloomFilter, MeterRegistry meterRegistry) {
         this.weaponGateway = weaponGateway;
+        this.requestCoalescer = requestCoalescer;
+        this.listGenerations = listGenerations;
+        this.listKeyGenerator = listKeyGenerator;
+        this.cacheManager = cacheManager;
+        this.cacheRefresher = cacheRefresher;
+        this.degradedMode = degradedMode;
+        this.lastKnownGoodStore = lastKnownGoodStore;
+        this.notFoundCache = notFoundCache;
+        this.idBloomFilter = idBloomFilter;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
-    @Cacheable(value = "weapons", key = "#id")
+    @Cacheable(value = "weapons", key = "#id", unless = "T(com.zelda.codex.services.DegradedMode).servedStale()")
     public Weapon getWeaponById(UUID id) {
         logger.info("Buscando arma con ID {} - Cache MISS", id);
-        Weapon weapon = weaponGateway.getWeaponById(id);
+        rejectKnownMissing(id);
+        // El circuito y el bulkhead van dentro de la carga agrupada: solo la llamada real ocupa un permiso
+        Supplier<Weapon> loader = () -> requestCoalescer.execute("getWeaponById", id,
+            () -> degradedMode.call(() -> weaponGateway.getWeaponById(id)));
+        Weapon weapon;
+        try {
+            weapon = loadWithFallback("weapons", id, loader);
+        } catch (WeaponNotFoundException e) {
+            notFoundCache.recordMissing(id);
+            throw e;
+        }
+        if (!DegradedMode.servedStale()) {
+            cacheRefresher.register("weapons", id, loader);
+        }
         logger.debug("Arma {} encontrada y guardada en cache", weapon.getName());
         return weapon;
     }
 
+    /**
+     * La cache weaponsList solo guarda los IDs de cada página ({@link WeaponIdPage}); las armas
+     * se leen de la cache weapons con una única lectura múltiple y las que falten se piden al
+     * servicio en un solo lote. Por eso este método gestiona la cache sin @Cacheable.
+     */
     @Override
-    @Cacheable(
-        value = "weaponsList", 
-        key = "T(String).format('%d_%d_%s_%s', #pageable.pageNumber, #pageable.pageSize, #pageable.sort.toString(), #filters.toString())",
-        unless = "#result == null || #result.isEmpty()"
-    )
     public Page<Weapon> getAllWeapons(Pageable pageable, Map<String, String> filters) {
+        // Con el sello en la clave, una petición posterior a una escritura no se une a una carga anterior
+        String baseKey = listKeyGenerator.generate(pageable, filters);
+        String cacheKey = baseKey + "|" + listGenerations.stamp(filters);
+        Page<Weapon> cached = cachedPage(cacheKey, pageable, true);
+        if (cached != null) {
+            return cached;
+        }
+
         logger.info("Obteniendo lista de armas - Página {}, Tamaño {}, Filtros {} - Cache MISS", 
                    pageable.getPageNumber(), pageable.getPageSize(), filters);
-        Page<Weapon> weapons = weaponGateway.getAllWeapons(pageable, filters);
+        Supplier<Page<Weapon>> loader = () -> requestCoalescer.execute("getAllWeapons", cacheKey,
+            () -> degradedMode.call(() -> weaponGateway.getAllWeapons(pageable, filters)));
+        Page<Weapon> weapons = loadWithFallback("weaponsList", baseKey, loader);
+        if (!weapons.isEmpty() && !DegradedMode.servedStale()) {
+            cacheWeapons(weapons.getContent());
+            cachePut("weaponsList", cacheKey, WeaponIdPage.of(weapons));
+            cacheRefresher.register("weaponsList", cacheKey, () -> {
+                Page<Weapon> page = loader.get();
+                cacheWeapons(page.getContent());
+                return WeaponIdPage.of(page);
+            });
+        }
         logger.debug("Lista de {} armas obtenida y guardada en cache", weapons.getContent().size());
         return weapons;
     }
 
     @Override
-    @Caching(evict = {
-        @CacheEvict(value = "weaponsList", allEntries = true),
-        @CacheEvict(value = "weapons", key = "#result.id", condition = "#result != null")
-    })
+    public Weapon findCachedWeapon(UUID id) {
+        return cachedWeapon(id);
+    }
+
+    @Override
+    public Page<Weapon> findCachedWeapons(Pageable pageable, Map<String, String> filters) {
+        String cacheKey = listKeyGenerator.generate(pageable, filters) + "|" + listGenerations.stamp(filters);
+        return cachedPage(cacheKey, pageable, false);
+    }
+
+    @Override
+    @CachePut(value = "weapons", key = "#result.id", condition = "#result != null")
     public Weapon createWeapon(Weapon weapon) {
-        logger.info("Creando nueva arma: {} - Invalidando cache", weapon.getName());
-        Weapon createdWeapon = weaponGateway.createWeapon(weapon);
-        logger.debug("Arma {} creada exitosamente - Cache invalidado", createdWeapon.getName());
+        logger.info("Creando nueva arma: {} - Actualizando cache", weapon.getName());
+        degradedMode.checkWritable();
+        Weapon createdWeapon = degradedMode.call(() -> weaponGateway.createWeapon(weapon));
+        idBloomFilter.add(createdWeapon.getId());
+        notFoundCache.forget(createdWeapon.getId());
+        listGenerations.bumpCreated(createdWeapon);
+        logger.debug("Arma {} creada exitosamente - Cache actualizado", createdWeapon.getName());
         return createdWeapon;
     }
 
     @Override
-    @Caching(evict = {
-        @CacheEvict(value = "weapons", key = "#id"),
-        @CacheEvict(value = "weaponsList", allEntries = true)
-    })
+    @CachePut(value = "weapons", key = "#id")
     public Weapon replaceWeapon(UUID id, Weapon weapon) {
-        logger.info("Reemplazando arma con ID {} - Invalidando cache", id);
+        logger.info("Reemplazando arma con ID {} - Actualizando cache", id);
         weapon.setId(id); // Asegurar que el ID coincida con la URL
-        Weapon replacedWeapon = weaponGateway.replaceWeapon(id, weapon);
-        logger.debug("Arma {} reemplazada exitosamente - Cache invalidado", replacedWeapon.getName());
+        degradedMode.checkWritable();
+        Weapon previous = cachedWeapon(id);
+        Weapon replacedWeapon = degradedMode.call(() -> weaponGateway.replaceWeapon(id, weapon));
+        listGenerations.bumpChanged(previous, replacedWeapon);
+        logger.debug("Arma {} reemplazada exitosamente - Cache actualizado", replacedWeapon.getName());
         return replacedWeapon;
     }
 
     @Override
-    @Caching(evict = {
-        @CacheEvict(value = "weapons", key = "#id"),
-        @CacheEvict(value = "weaponsList", allEntries = true)
-    })
+    @CachePut(value = "weapons", key = "#id")
     public Weapon updateWeapon(UUID id, Map<String, Object> updates) {
-        logger.info("Actualizando arma con ID {} - Invalidando cache", id);
-        Weapon updatedWeapon = weaponGateway.updateWeapon(id, updates);
-        logger.debug("Arma actualizada exitosamente - Cache invalidado");
+        logger.info("Actualizando arma con ID {} - Actualizando cache", id);
+        degradedMode.checkWritable();
+        Weapon previous = cachedWeapon(id);
+        Weapon updatedWeapon = degradedMode.call(() -> weaponGateway.updateWeapon(id, updates));
+        listGenerations.bumpChanged(previous, updatedWeapon);
+        logger.debug("Arma actualizada exitosamente - Cache actualizado");
         return updatedWeapon;
     }
 
     @Override
-    @Caching(evict = {
-        @CacheEvict(value = "weapons", key = "#id"),
-        @CacheEvict(value = "weaponsList", allEntries = true)
-    })
+    @CacheEvict(value = "weapons", key = "#id")
     public void deleteWeapon(UUID id) {
         logger.info("Eliminando arma con ID {} - Invalidando cache", id);
-        boolean deleted = weaponGateway.deleteWeapon(id);
+        degradedMode.checkWritable();
+        Weapon previous = cachedWeapon(id);
+        boolean deleted;
+        try {
+            deleted = degradedMode.call(() -> weaponGateway.deleteWeapon(id));
+        } catch (WeaponNotFoundException e) {
+            deleted = false;
+        }
+        // Ya no existe: ni el modo degradado debe servir su último valor ni hay que volver a consultarla
+        lastKnownGoodStore.delete("weapons", id);
+        notFoundCache.recordMissing(id);
         if (!deleted) {
             throw new WeaponNotFoundException(id);
         }
+        listGenerations.bumpChanged(previous, null);
         logger.debug("Arma con ID {} eliminada exitosamente - Cache invalidado", id);
     }
+
+    /**
+     * Responde 404 sin llamar al servicio si el ID está en la cache negativa o el filtro de Bloom dice que no existe
+     */
+    private void rejectKnownMissing(UUID id) {
+        if (notFoundCache.isKnownMissing(id)) {
+            meterRegistry.counter("zelda.codex.weapons.not-found.short-circuit", "source", "negative-cache").increment();
+            logger.debug("Arma {} descartada sin llamar al servicio (cache negativa)", id);
+            throw new WeaponNotFoundException(id);
+        }
+        if (!idBloomFilter.mightContain(id)) {
+            meterRegistry.counter("zelda.codex.weapons.not-found.short-circuit", "source", "bloom").increment();
+            logger.debug("Arma {} descartada sin llamar al servicio (filtro de Bloom)", id);
+            throw new WeaponNotFoundException(id);
+        }
+    }
+
+    /**
+     * Carga desde el servicio de armas y guarda el resultado como último valor conocido.
+     * Si el servicio no está disponible (o ya se está en modo degradado) responde con ese
+     * último valor, marcando la petición como obsoleta; sin valor previo se propaga el error.
+     */
+    private <T> T loadWithFallback(String cacheName, Object key, Supplier<T> loader) {
+        if (degradedMode.isDegraded()) {
+            T stale = lastKnownGood(cacheName, key);
+            if (stale != null) {
+                return stale;
+            }
+        }
+        try {
+            T value = loader.get();
+            lastKnownGoodStore.save(cacheName, key, value);
+            return value;
+        } catch (SoapServiceUnavailableException e) {
+            T stale = lastKnownGood(cacheName, key);
+            if (stale == null) {
+                throw e;
+            }
+            return stale;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T lastKnownGood(String cacheName, Object key) {
+        CacheEntry entry = lastKnownGoodStore.find(cacheName, key);
+        if (entry == null) {
+            return null;
+        }
+        logger.warn("Servicio de armas no disponible - respondiendo '{}' de '{}' con el último valor conocido", key, cacheName);
+        degradedMode.markServedStale(entry.getFreshUntil());
+        return (T) entry.getValue();
+    }
+
+    /**
+     * Arma la página a partir de los IDs guardados en weaponsList y de la cache weapons.
+     * Si falta alguna arma (expirada o borrada) o la cache falla, devuelve null y se trata como miss.
+     * Con loadMissing las armas que falten se piden al servicio en un lote; sin él, faltar alguna es un miss.
+     */
+    private Page<Weapon> cachedPage(String cacheKey, Pageable pageable, boolean loadMissing) {
+        WeaponIdPage idPage;
+        List<Object> values;
+        Cache weaponsCache;
+        try {
+            Cache listCache = cacheManager.getCache("weaponsList");
+            Cache.ValueWrapper wrapper = listCache != null ? listCache.get(cacheKey) : null;
+            Object stored = wrapper != null ? wrapper.get() : null;
+            if (stored instanceof Page<?>) {
+                // Entradas con la página completa, anteriores a guardar solo IDs
+                @SuppressWarnings("unchecked")
+                Page<Weapon> page = (Page<Weapon>) stored;
+                return page;
+            }
+            if (!(stored instanceof WeaponIdPage found)) {
+                return null;
+            }
+            idPage = found;
+            weaponsCache = cacheManager.getCache("weapons");
+            if (weaponsCache == null) {
+                return null;
+            }
+            values = BulkReadableCache.getAll(weaponsCache, idPage.getIds());
+        } catch (RuntimeException e) {
+            logger.error("Error al obtener del caché 'weaponsList' con clave '{}': {}. Continuando sin caché.",
+                        cacheKey, e.getMessage());
+            return null;
+        }
+
+        List<UUID> missing = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            if (!(values.get(i) instanceof Weapon)) {
+                missing.add(idPage.getIds().get(i));
+            }
+        }
+        if (!missing.isEmpty() && !loadMissing) {
+            return null;
+        }
+        Map<UUID, Weapon> fetched = new HashMap<>();
+        if (!missing.isEmpty()) {
+            logger.debug("Página '{}' en cache con {} armas sin cachear - pidiéndolas en lote", cacheKey, missing.size());
+            try {
+                degradedMode.call(() -> weaponGateway.getWeaponsByIds(missing))
+                    .forEach(weapon -> fetched.put(weapon.getId(), weapon));
+            } catch (SoapServiceUnavailableException e) {
+                return null;
+            }
+            if (fetched.size() < missing.size()) {
+                // Alguna arma ya no existe: la lista de IDs está desfasada
+                return null;
+            }
+            cacheWeapons(fetched.values());
+        }
+
+        List<Weapon> content = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            content.add(value instanceof Weapon weapon ? weapon : fetched.get(idPage.getIds().get(i)));
+        }
+        logger.debug("Lista de armas '{}' servida desde cache ({} de {} armas desde la cache weapons)",
+                    cacheKey, content.size() - missing.size(), content.size());
+        return new WeaponPage(content, pageable, idPage.getTotalElements(), idPage.getNextCursor());
+    }
+
+    private void cacheWeapons(Collection<Weapon> weapons) {
+        weapons.forEach(weapon -> cachePut("weapons", weapon.getId(), weapon));
+    }
+
+    private void cachePut(String cacheName, Object key, Object value) {
+        try {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.put(key, value);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error al guardar en caché '{}' con clave '{}': {}. Continuando sin caché.",
+                        cacheName, key, e.getMessage());
+        }
+    }
+
+    /**
+     * Arma en cache o null. Antes de una escritura da el estado anterior, que permite invalidar
+     * solo los listados de su tipo y elemento
+     */
+    private Weapon cachedWeapon(UUID id) {
+        try {
+            Cache cache = cacheManager.getCache("weapons");
+            return cache != null ? cache.get(id, Weapon.class) : null;
+        } catch (RuntimeException e) {
+            logger.debug("No se pudo leer el arma {} de cache: {}", id, e.getMessage());
+            return null;
+        }
+    }
 }
\ No newline at end of file
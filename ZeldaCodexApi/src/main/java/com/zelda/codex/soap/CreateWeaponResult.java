@@ -0,0 +1,159 @@
+//
+// Este archivo ha sido generado por Eclipse Implementation of JAXB v3.0.0 
+// Visite https://eclipse-ee4j.github.io/jaxb-ri 
+// Todas las modificaciones realizadas en este archivo se perderán si se vuelve a compilar el esquema de origen. 
+// Generado el: 2026.10.18 a las 03:13:12 AM CST 
+//
+
+
+package com.zelda.codex.soap;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlType;
+
+
+/**
+ * <p>Clase Java para createWeaponResult complex type.
+ * 
+ * <p>El siguiente fragmento de esquema especifica el contenido que se espera que haya en esta clase.
+ * 
+ * <pre>
+ * &lt;complexType name="createWeaponResult"&gt;
+ *   &lt;complexContent&gt;
+ *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *       &lt;sequence&gt;
+ *         &lt;element name="index" type="{http://www.w3.org/2001/XMLSchema}int"/&gt;
+ *         &lt;element name="success" type="{http://www.w3.org/2001/XMLSchema}boolean"/&gt;
+ *         &lt;element name="weapon" type="{http://zelda.com/weapons}weapon" minOccurs="0"/&gt;
+ *         &lt;element name="errorCode" type="{http://www.w3.org/2001/XMLSchema}string" minOccurs="0"/&gt;
+ *         &lt;element name="message" type="{http://www.w3.org/2001/XMLSchema}string" minOccurs="0"/&gt;
+ *       &lt;/sequence&gt;
+ *     &lt;/restriction&gt;
+ *   &lt;/complexContent&gt;
+ * &lt;/complexType&gt;
+ * </pre>
+ * 
+ * 
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "createWeaponResult", propOrder = {
+    "index",
+    "success",
+    "weapon",
+    "errorCode",
+    "message"
+})
+public class CreateWeaponResult {
+
+    protected int index;
+    protected boolean success;
+    protected Weapon weapon;
+    protected String errorCode;
+    protected String message;
+
+    /**
+     * Obtiene el valor de la propiedad index.
+     * 
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Define el valor de la propiedad index.
+     * 
+     */
+    public void setIndex(int value) {
+        this.index = value;
+    }
+
+    /**
+     * Obtiene el valor de la propiedad success.
+     * 
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * Define el valor de la propiedad success.
+     * 
+     */
+    public void setSuccess(boolean value) {
+        this.success = value;
+    }
+
+    /**
+     * Obtiene el valor de la propiedad weapon.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Weapon }
+     *     
+     */
+    public Weapon getWeapon() {
+        return weapon;
+    }
+
+    /**
+     * Define el valor de la propiedad weapon.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Weapon }
+     *     
+     */
+    public void setWeapon(Weapon value) {
+        this.weapon = value;
+    }
+
+    /**
+     * Obtiene el valor de la propiedad errorCode.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * Define el valor de la propiedad errorCode.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setErrorCode(String value) {
+        this.errorCode = value;
+    }
+
+    /**
+     * Obtiene el valor de la propiedad message.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Define el valor de la propiedad message.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setMessage(String value) {
+        this.message = value;
+    }
+
+}
@@ -0,0 +1,130 @@
+//
+// Este archivo ha sido generado por Eclipse Implementation of JAXB v3.0.0 
+// Visite https://eclipse-ee4j.github.io/jaxb-ri 
+// Todas las modificaciones realizadas en este archivo se perderán si se vuelve a compilar el esquema de origen. 
+// Generado el: 2026.10.18 a las 03:10:46 AM CST 
+//
+
+
+package com.zelda.codex.soap;
+
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+
+
+/**
+ * <p>Clase Java para anonymous complex type.
+ * 
+ * <p>El siguiente fragmento de esquema especifica el contenido que se espera que haya en esta clase.
+ * 
+ * <pre>
+ * &lt;complexType&gt;
+ *   &lt;complexContent&gt;
+ *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *       &lt;sequence&gt;
+ *         &lt;element name="weapon" type="{http://zelda.com/weapons}weapon" maxOccurs="unbounded" minOccurs="0"/&gt;
+ *         &lt;element name="nextCursor" type="{http://www.w3.org/2001/XMLSchema}string" minOccurs="0"/&gt;
+ *         &lt;element name="totalCount" type="{http://www.w3.org/2001/XMLSchema}long" minOccurs="0"/&gt;
+ *       &lt;/sequence&gt;
+ *     &lt;/restriction&gt;
+ *   &lt;/complexContent&gt;
+ * &lt;/complexType&gt;
+ * </pre>
+ * 
+ * 
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {
+    "weapon",
+    "nextCursor",
+    "totalCount"
+})
+@XmlRootElement(name = "listWeaponsResponse")
+public class ListWeaponsResponse {
+
+    protected List<Weapon> weapon;
+    protected String nextCursor;
+    protected Long totalCount;
+
+    /**
+     * Gets the value of the weapon property.
+     * 
+     * <p>
+     * This accessor method returns a reference to the live list,
+     * not a snapshot. Therefore any modification you make to the
+     * returned list will be present inside the Jakarta XML Binding object.
+     * This is why there is not a <CODE>set</CODE> method for the weapon property.
+     * 
+     * <p>
+     * For example, to add a new item, do as follows:
+     * <pre>
+     *    getWeapon().add(newItem);
+     * </pre>
+     * 
+     * 
+     * <p>
+     * Objects of the following type(s) are allowed in the list
+     * {@link Weapon }
+     * 
+     * 
+     */
+    public List<Weapon> getWeapon() {
+        if (weapon == null) {
+            weapon = new ArrayList<Weapon>();
+        }
+        return this.weapon;
+    }
+
+    /**
+     * Obtiene el valor de la propiedad nextCursor.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Define el valor de la propiedad nextCursor.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setNextCursor(String value) {
+        this.nextCursor = value;
+    }
+
+    /**
+     * Obtiene el valor de la propiedad totalCount.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Long }
+     *     
+     */
+    public Long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Define el valor de la propiedad totalCount.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Long }
+     *     
+     */
+    public void setTotalCount(Long value) {
+        this.totalCount = value;
+    }
+
+}
@@ -2,7 +2,7 @@
 // Este archivo ha sido generado por Eclipse Implementation of JAXB v3.0.0 
 // Visite https://eclipse-ee4j.github.io/jaxb-ri 
 // Todas las modificaciones realizadas en este archivo se perderán si se vuelve a compilar el esquema de origen. 
-// Generado el: 2025.12.02 a las 02:30:03 PM CST 
+// Generado el: 2026.10.18 a las 03:13:12 AM CST 
 //
 
 
@@ -116,4 +116,60 @@ public class ObjectFactory {
         return new UpdateWeaponResponse();
     }
 
+    /**
+     * Create an instance of {@link ListWeaponsRequest }
+     * 
+     */
+    public ListWeaponsRequest createListWeaponsRequest() {
+        return new ListWeaponsRequest();
+    }
+
+    /**
+     * Create an instance of {@link ListWeaponsResponse }
+     * 
+     */
+    public ListWeaponsResponse createListWeaponsResponse() {
+        return new ListWeaponsResponse();
+    }
+
+    /**
+     * Create an instance of {@link GetWeaponsBatchRequest }
+     * 
+     */
+    public GetWeaponsBatchRequest createGetWeaponsBatchRequest() {
+        return new GetWeaponsBatchRequest();
+    }
+
+    /**
+     * Create an instance of {@link GetWeaponsBatchResponse }
+     * 
+     */
+    public GetWeaponsBatchResponse createGetWeaponsBatchResponse() {
+        return new GetWeaponsBatchResponse();
+    }
+
+    /**
+     * Create an instance of {@link CreateWeaponsBatchRequest }
+     * 
+     */
+    public CreateWeaponsBatchRequest createCreateWeaponsBatchRequest() {
+        return new CreateWeaponsBatchRequest();
+    }
+
+    /**
+     * Create an instance of {@link CreateWeaponsBatchResponse }
+     * 
+     */
+    public CreateWeaponsBatchResponse createCreateWeaponsBatchResponse() {
+        return new CreateWeaponsBatchResponse();
+    }
+
+    /**
+     * Create an instance of {@link CreateWeaponResult }
+     * 
+     */
+    public CreateWeaponResult createCreateWeaponResult() {
+        return new CreateWeaponResult();
+    }
+
 }
@@ -2,7 +2,7 @@
 // Este archivo ha sido generado por Eclipse Implementation of JAXB v3.0.0 
 // Visite https://eclipse-ee4j.github.io/jaxb-ri 
 // Todas las modificaciones realizadas en este archivo se perderán si se vuelve a compilar el esquema de origen. 
-// Generado el: 2025.12.02 a las 02:30:03 PM CST 
+// Generado el: 2026.10.18 a las 03:15:53 AM CST 
 //
 
 
@@ -31,6 +31,7 @@ import jakarta.xml.bind.annotation.XmlType;
  *         &lt;element name="damage" type="{http://www.w3.org/2001/XMLSchema}int"/&gt;
  *         &lt;element name="durability" type="{http://www.w3.org/2001/XMLSchema}int"/&gt;
  *         &lt;element name="element" type="{http://zelda.com/weapons}element"/&gt;
+ *         &lt;element name="version" type="{http://www.w3.org/2001/XMLSchema}long" minOccurs="0"/&gt;
  *       &lt;/sequence&gt;
  *     &lt;/restriction&gt;
  *   &lt;/complexContent&gt;
@@ -46,7 +47,8 @@ import jakarta.xml.bind.annotation.XmlType;
     "weaponType",
     "damage",
     "durability",
-    "element"
+    "element",
+    "version"
 })
 public class Weapon {
 
@@ -61,6 +63,7 @@ public class Weapon {
     @XmlElement(required = true)
     @XmlSchemaType(name = "string")
     protected Element element;
+    protected Long version;
 
     /**
      * Obtiene el valor de la propiedad id.
@@ -190,4 +193,28 @@ public class Weapon {
         this.element = value;
     }
 
+    /**
+     * Obtiene el valor de la propiedad version.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Long }
+     *     
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Define el valor de la propiedad version.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Long }
+     *     
+     */
+    public void setVersion(Long value) {
+        this.version = value;
+    }
+
 }
@@ -0,0 +1,125 @@
+package com.zelda.codex.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TwoLevelCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private InterceptedRemoteCache remote;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new InterceptedRemoteCache();
+        cache = new TwoLevelCache("weapons", localCache(), remote, publisher(), TTL);
+    }
+
+    @Test
+    void remoteReadsFillTheLocalLevel() {
+        remote.put("master-sword", "v1");
+
+        assertThat(cache.get("master-sword").get()).isEqualTo("v1");
+        remote.put("master-sword", "v2");
+
+        assertThat(cache.get("master-sword").get()).isEqualTo("v1");
+    }
+
+    @Test
+    void invalidationDuringTheRemoteReadSkipsTheLocalFill() {
+        remote.put("master-sword", "v1");
+        // El aviso de otra instancia llega mientras se lee el valor antiguo de Redis
+        remote.duringRead = () -> {
+            cache.evictLocal("master-sword");
+            remote.duringRead = null;
+            remote.put("master-sword", "v2");
+        };
+
+        assertThat(cache.get("master-sword").get()).isEqualTo("v1");
+        assertThat(cache.get("master-sword").get()).isEqualTo("v2");
+    }
+
+    @Test
+    void clearDuringTheRemoteReadSkipsTheLocalFill() {
+        remote.put("master-sword", "v1");
+        remote.duringRead = () -> {
+            cache.clearLocal();
+            remote.duringRead = null;
+            remote.put("master-sword", "v2");
+        };
+
+        cache.getAll(List.of("master-sword"));
+
+        assertThat(cache.get("master-sword").get()).isEqualTo("v2");
+    }
+
+    @Test
+    void invalidationsOfOtherKeysDoNotSkipTheFill() {
+        remote.put("master-sword", "v1");
+        remote.duringRead = () -> cache.evictLocal("hylian-shield");
+
+        cache.get("master-sword");
+        remote.duringRead = null;
+        remote.put("master-sword", "v2");
+
+        assertThat(cache.get("master-sword").get()).isEqualTo("v1");
+    }
+
+    @Test
+    void resubscribingClearsTheLocalLevel() {
+        ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager("weapons");
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(remoteCacheManager, publisher(),
+                new SimpleMeterRegistry(), 100, TTL);
+        remoteCacheManager.getCache("weapons").put("master-sword", "v1");
+        assertThat(cacheManager.getCache("weapons").get("master-sword").get()).isEqualTo("v1");
+
+        // Cambio en Redis cuyo aviso se perdió mientras la suscripción estaba caída
+        remoteCacheManager.getCache("weapons").put("master-sword", "v2");
+        assertThat(cacheManager.getCache("weapons").get("master-sword").get()).isEqualTo("v1");
+
+        cacheManager.onChannelSubscribed("zelda:codex:cache-invalidation".getBytes(StandardCharsets.UTF_8), 1);
+
+        assertThat(cacheManager.getCache("weapons").get("master-sword").get()).isEqualTo("v2");
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<String, Object> localCache() {
+        return com.github.benmanes.caffeine.cache.Caffeine.newBuilder().maximumSize(100).build();
+    }
+
+    /**
+     * Sin conexión a Redis la publicación falla y solo se registra
+     */
+    private static NearCacheInvalidationPublisher publisher() {
+        return new NearCacheInvalidationPublisher(new StringRedisTemplate(), "zelda:codex:cache-invalidation");
+    }
+
+    private static class InterceptedRemoteCache extends ConcurrentMapCache {
+
+        Runnable duringRead;
+
+        InterceptedRemoteCache() {
+            super("weapons", false);
+        }
+
+        @Override
+        protected Object lookup(Object key) {
+            Object value = super.lookup(key);
+            if (duringRead != null) {
+                duringRead.run();
+            }
+            return value;
+        }
+    }
+}
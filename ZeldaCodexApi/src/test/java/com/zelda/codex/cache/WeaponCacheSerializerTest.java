@@ -0,0 +1,178 @@
+package com.zelda.codex.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import com.zelda.codex.models.Element;
+import com.zelda.codex.models.Weapon;
+import com.zelda.codex.models.WeaponPage;
+import com.zelda.codex.models.WeaponType;
+
+class WeaponCacheSerializerTest {
+
+    private static final UUID MASTER_SWORD_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final UUID HYLIAN_SHIELD_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440002");
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final WeaponCacheSerializer serializer = new WeaponCacheSerializer(json);
+
+    @Test
+    void weaponSurvivesTheRoundTrip() {
+        Weapon weapon = (Weapon) roundTrip(masterSword());
+
+        assertWeapon(weapon, masterSword());
+    }
+
+    @Test
+    void missingFieldsStayNull() {
+        Weapon partial = new Weapon();
+        partial.setName("Palo de árbol");
+
+        Weapon weapon = (Weapon) roundTrip(partial);
+
+        assertThat(weapon.getId()).isNull();
+        assertThat(weapon.getName()).isEqualTo("Palo de árbol");
+        assertThat(weapon.getWeaponType()).isNull();
+        assertThat(weapon.getDamage()).isNull();
+        assertThat(weapon.getDurability()).isNull();
+        assertThat(weapon.getElement()).isNull();
+        assertThat(weapon.getVersion()).isNull();
+    }
+
+    @Test
+    void zeroValuesAreNotConfusedWithNull() {
+        Weapon broken = masterSword();
+        broken.setDamage(0);
+        broken.setDurability(0);
+        broken.setVersion(0L);
+
+        Weapon weapon = (Weapon) roundTrip(broken);
+
+        assertThat(weapon.getDamage()).isZero();
+        assertThat(weapon.getDurability()).isZero();
+        assertThat(weapon.getVersion()).isZero();
+    }
+
+    @Test
+    void pageKeepsPagingSortAndCursor() {
+        Pageable pageable = PageRequest.of(2, 10, Sort.by(Sort.Order.desc("damage"), Sort.Order.asc("name")));
+        WeaponPage page = new WeaponPage(List.of(masterSword(), hylianShield()), pageable, 42, "cursor-abc");
+
+        WeaponPage read = (WeaponPage) roundTrip(page);
+
+        assertThat(read.getContent()).hasSize(2);
+        assertWeapon(read.getContent().get(0), masterSword());
+        assertWeapon(read.getContent().get(1), hylianShield());
+        assertThat(read.getPageable()).isEqualTo(pageable);
+        assertThat(read.getTotalElements()).isEqualTo(42);
+        assertThat(read.getNextCursor()).isEqualTo("cursor-abc");
+    }
+
+    @Test
+    void unpagedPageWithoutCursor() {
+        Page<Weapon> page = new PageImpl<>(List.of(masterSword()));
+
+        WeaponPage read = (WeaponPage) roundTrip(page);
+
+        assertThat(read.getPageable().isPaged()).isFalse();
+        assertThat(read.getTotalElements()).isEqualTo(1);
+        assertThat(read.getNextCursor()).isNull();
+    }
+
+    @Test
+    void idPageKeepsTheOrderOfTheIds() {
+        WeaponIdPage idPage = new WeaponIdPage(List.of(HYLIAN_SHIELD_ID, MASTER_SWORD_ID), 2, null);
+
+        WeaponIdPage read = (WeaponIdPage) roundTrip(idPage);
+
+        assertThat(read.getIds()).containsExactly(HYLIAN_SHIELD_ID, MASTER_SWORD_ID);
+        assertThat(read.getTotalElements()).isEqualTo(2);
+        assertThat(read.getNextCursor()).isNull();
+    }
+
+    @Test
+    void cacheEntriesKeepFreshnessAndValue() {
+        long freshUntil = 1_700_000_000_000L;
+
+        CacheEntry weaponEntry = (CacheEntry) roundTrip(new CacheEntry(masterSword(), freshUntil));
+        CacheEntry pageEntry = (CacheEntry) roundTrip(new CacheEntry(
+                new WeaponPage(List.of(hylianShield()), PageRequest.of(0, 20), 1, "next"), freshUntil));
+        CacheEntry idPageEntry = (CacheEntry) roundTrip(new CacheEntry(
+                new WeaponIdPage(List.of(MASTER_SWORD_ID), 1, "next"), freshUntil));
+
+        assertThat(weaponEntry.getFreshUntil()).isEqualTo(freshUntil);
+        assertWeapon((Weapon) weaponEntry.getValue(), masterSword());
+        assertThat(pageEntry.getFreshUntil()).isEqualTo(freshUntil);
+        assertWeapon(((WeaponPage) pageEntry.getValue()).getContent().get(0), hylianShield());
+        assertThat(((WeaponPage) pageEntry.getValue()).getNextCursor()).isEqualTo("next");
+        assertThat(((WeaponIdPage) idPageEntry.getValue()).getIds()).containsExactly(MASTER_SWORD_ID);
+    }
+
+    @Test
+    void otherValuesGoThroughTheFallback() {
+        byte[] bytes = serializer.serialize("Master Sword");
+
+        assertThat(bytes[0]).isNotEqualTo(WeaponCacheSerializer.MAGIC);
+        assertThat(serializer.deserialize(bytes)).isEqualTo("Master Sword");
+    }
+
+    @Test
+    void previousJsonEntriesAreStillReadable() {
+        byte[] legacy = json.serialize("Master Sword");
+
+        assertThat(serializer.deserialize(legacy)).isEqualTo("Master Sword");
+    }
+
+    @Test
+    void otherFormatVersionsAreACacheMiss() {
+        byte[] bytes = serializer.serialize(masterSword());
+        bytes[1] = WeaponCacheSerializer.FORMAT_VERSION + 1;
+
+        assertThat(serializer.deserialize(bytes)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+        assertThat(serializer.deserialize(null)).isNull();
+    }
+
+    private Object roundTrip(Object value) {
+        byte[] bytes = serializer.serialize(value);
+        assertThat(bytes[0]).isEqualTo(WeaponCacheSerializer.MAGIC);
+        return serializer.deserialize(bytes);
+    }
+
+    private static void assertWeapon(Weapon actual, Weapon expected) {
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    private static Weapon masterSword() {
+        Weapon weapon = new Weapon();
+        weapon.setId(MASTER_SWORD_ID);
+        weapon.setName("Master Sword");
+        weapon.setWeaponType(WeaponType.ONE_HANDED_SWORD);
+        weapon.setDamage(30);
+        weapon.setDurability(200);
+        weapon.setElement(Element.NONE);
+        weapon.setVersion(3L);
+        return weapon;
+    }
+
+    private static Weapon hylianShield() {
+        Weapon weapon = new Weapon();
+        weapon.setId(HYLIAN_SHIELD_ID);
+        weapon.setName("Hylian Shield");
+        weapon.setWeaponType(WeaponType.SHIELD);
+        weapon.setDamage(0);
+        weapon.setDurability(800);
+        weapon.setElement(Element.LIGHTNING);
+        return weapon;
+    }
+}
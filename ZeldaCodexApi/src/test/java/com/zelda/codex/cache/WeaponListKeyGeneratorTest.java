@@ -0,0 +1,112 @@
+package com.zelda.codex.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+class WeaponListKeyGeneratorTest {
+
+    private final WeaponListKeyGenerator generator = new WeaponListKeyGenerator();
+
+    @Test
+    void keyHasPageSizeSortAndHash() {
+        String key = generator.generate(PageRequest.of(2, 10, Sort.by("name")), Map.of("element", "FIRE"));
+
+        assertThat(key).matches("2_10_name:a_[0-9a-f]{16}");
+        assertThat(generator.generate(Pageable.unpaged(), null)).matches("unpaged_-_[0-9a-f]{16}");
+    }
+
+    @Test
+    void filterOrderInTheMapDoesNotChangeTheKey() {
+        Map<String, String> first = new LinkedHashMap<>();
+        first.put("weaponType", "SPEAR");
+        first.put("element", "FIRE");
+        first.put("minDamage", "10");
+        Map<String, String> second = new LinkedHashMap<>();
+        second.put("minDamage", "10");
+        second.put("element", "FIRE");
+        second.put("weaponType", "SPEAR");
+
+        assertThat(generator.generate(PageRequest.of(0, 20), first))
+                .isEqualTo(generator.generate(PageRequest.of(0, 20), second));
+    }
+
+    @Test
+    void enumFiltersAndSortPropertyIgnoreCase() {
+        Pageable upper = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "Damage"));
+        Pageable lower = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "damage"));
+
+        assertThat(generator.generate(upper, Map.of("weaponType", "SPEAR", "element", "Fire")))
+                .isEqualTo(generator.generate(lower, Map.of("weaponType", "spear", "element", "FIRE")))
+                .startsWith("0_20_damage:d_");
+    }
+
+    @Test
+    void differentFilterValuesGiveDifferentKeys() {
+        Pageable pageable = PageRequest.of(0, 20);
+
+        assertThat(generator.generate(pageable, Map.of("minDamage", "10")))
+                .isNotEqualTo(generator.generate(pageable, Map.of("minDamage", "1")))
+                .isNotEqualTo(generator.generate(pageable, Map.of("maxDamage", "10")))
+                .isNotEqualTo(generator.generate(pageable, Map.of()));
+        assertThat(generator.generate(PageRequest.of(0, 20, Sort.by("name").descending()), null))
+                .isNotEqualTo(generator.generate(PageRequest.of(0, 20, Sort.by("name")), null));
+    }
+
+    @Test
+    void unknownParametersAndExtraSortOrdersAreIgnored() {
+        Map<String, String> filters = new HashMap<>(Map.of("element", "ICE"));
+        String key = generator.generate(PageRequest.of(0, 20, Sort.by("name")), filters);
+
+        filters.put("page", "7");
+        filters.put("sort", "damage,desc");
+
+        assertThat(generator.generate(PageRequest.of(0, 20, Sort.by("name", "damage")), filters)).isEqualTo(key);
+    }
+
+    @Test
+    void cursorReplacesThePageNumber() {
+        Map<String, String> filters = Map.of("element", "FIRE", "cursor", "abc");
+
+        String page0 = generator.generate(PageRequest.of(0, 20), filters);
+        String page3 = generator.generate(PageRequest.of(3, 20), filters);
+
+        assertThat(page0).isEqualTo(page3).startsWith("c_20_-_");
+        assertThat(generator.generate(PageRequest.of(0, 20), Map.of("element", "FIRE", "cursor", "abd")))
+                .isNotEqualTo(page0);
+        assertThat(generator.generate(PageRequest.of(0, 20), Map.of("element", "FIRE")))
+                .isNotEqualTo(page0)
+                .startsWith("0_20_-_");
+    }
+
+    @Test
+    void includeTotalIsPartOfTheKey() {
+        Map<String, String> filters = Map.of("cursor", "abc");
+
+        assertThat(generator.generate(PageRequest.of(0, 20), Map.of("cursor", "abc", "includeTotal", "true")))
+                .isNotEqualTo(generator.generate(PageRequest.of(0, 20), filters))
+                .isEqualTo(generator.generate(PageRequest.of(0, 20), Map.of("cursor", "abc", "includeTotal", "TRUE")));
+    }
+
+    @Test
+    void cursorIsCaseSensitive() {
+        assertThat(generator.generate(PageRequest.of(0, 20), Map.of("cursor", "AbC")))
+                .isNotEqualTo(generator.generate(PageRequest.of(0, 20), Map.of("cursor", "abc")));
+    }
+
+    @Test
+    void keyGeneratorEntryPointFindsPageableAndFilters() {
+        Pageable pageable = PageRequest.of(1, 5, Sort.by("name"));
+        Map<String, String> filters = Map.of("weaponType", "BOW");
+
+        assertThat(generator.generate(null, null, filters, pageable))
+                .isEqualTo(generator.generate(pageable, filters));
+    }
+}
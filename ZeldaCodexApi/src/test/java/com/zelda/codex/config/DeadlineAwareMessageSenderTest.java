@@ -0,0 +1,78 @@
+package com.zelda.codex.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.ws.transport.http.HttpComponents5Connection;
+
+import com.zelda.codex.resilience.RequestDeadline;
+
+class DeadlineAwareMessageSenderTest {
+
+    private static final URI SOAP_URI = URI.create("http://localhost:8081/ws");
+
+    private final CloseableHttpClient httpClient = HttpClients.createDefault();
+    private final RequestConfig defaultRequestConfig = RequestConfig.custom()
+            .setConnectionRequestTimeout(Timeout.ofSeconds(2))
+            .setResponseTimeout(Timeout.ofSeconds(10))
+            .build();
+    private final DeadlineAwareMessageSender sender =
+            new DeadlineAwareMessageSender(httpClient, defaultRequestConfig, Timeout.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() throws Exception {
+        RequestContextHolder.resetRequestAttributes();
+        httpClient.close();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void allTimeoutsAreCutToTheRemainingBudget() throws Exception {
+        withDeadline(Duration.ofMillis(800));
+
+        RequestConfig config = requestConfig();
+
+        assertThat(config.getConnectionRequestTimeout().toMilliseconds()).isBetween(1L, 800L);
+        assertThat(config.getConnectTimeout().toMilliseconds()).isBetween(1L, 800L);
+        assertThat(config.getResponseTimeout().toMilliseconds()).isBetween(1L, 800L);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void timeoutsBelowTheBudgetAreKept() throws Exception {
+        withDeadline(Duration.ofSeconds(30));
+
+        RequestConfig config = requestConfig();
+
+        assertThat(config.getConnectionRequestTimeout()).isEqualTo(Timeout.ofSeconds(2));
+        assertThat(config.getConnectTimeout()).isEqualTo(Timeout.ofSeconds(5));
+        assertThat(config.getResponseTimeout()).isEqualTo(Timeout.ofSeconds(10));
+    }
+
+    @Test
+    void withoutDeadlineTheClientDefaultsApply() throws Exception {
+        assertThat(requestConfig()).isNull();
+    }
+
+    private RequestConfig requestConfig() throws Exception {
+        HttpComponents5Connection connection = (HttpComponents5Connection) sender.createConnection(SOAP_URI);
+        return connection.getHttpPost().getConfig();
+    }
+
+    private static void withDeadline(Duration budget) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/weapons");
+        request.setAttribute(RequestDeadline.ATTRIBUTE, RequestDeadline.after(budget));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -0,0 +1,214 @@
+package com.zelda.codex.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.xml.transform.Transformer;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ws.client.WebServiceTransportException;
+import org.springframework.ws.context.DefaultMessageContext;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.soap.client.SoapFaultClientException;
+import org.springframework.ws.soap.saaj.SaajSoapMessage;
+import org.springframework.ws.transport.TransportOutputStream;
+import org.springframework.xml.transform.TransformerFactoryUtils;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.MimeHeaders;
+
+class FastInfosetClientInterceptorTest {
+
+    private static final String PAYLOAD =
+            "<ns2:getWeaponRequest xmlns:ns2=\"http://zelda.com/weapons\"><ns2:id>42</ns2:id></ns2:getWeaponRequest>";
+
+    private final MutableClock clock = new MutableClock();
+    private FastInfosetSoapMessageFactory messageFactory;
+    private FastInfosetClientInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        messageFactory = new FastInfosetSoapMessageFactory();
+        messageFactory.afterPropertiesSet();
+        interceptor = new FastInfosetClientInterceptor(Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    void requestsStayInXmlUntilTheServerAnswersInFastInfoset() throws Exception {
+        MessageContext probe = send();
+        assertThat(isEncoded(probe)).isFalse();
+        WireMessage xml = WireMessage.of(probe.getRequest());
+        assertThat(xml.headers.get("Accept")).contains("application/fastinfoset");
+        assertThat(xml.headers.get("Content-Type")).startsWith("text/xml");
+
+        interceptor.handleResponse(respond(probe, true));
+        assertThat(interceptor.isFastInfosetNegotiated()).isTrue();
+
+        MessageContext binary = send();
+        assertThat(isEncoded(binary)).isTrue();
+        WireMessage wire = WireMessage.of(binary.getRequest());
+        assertThat(wire.headers).containsEntry("Content-Type", "application/fastinfoset")
+                .containsEntry("Accept", "application/fastinfoset, text/xml");
+        assertThat(payload(wire)).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    void negotiationExpiresAndIsProbedAgainInXml() throws Exception {
+        interceptor.handleResponse(respond(send(), true));
+
+        clock.advance(Duration.ofMinutes(4));
+        MessageContext binary = send();
+        assertThat(isEncoded(binary)).isTrue();
+        // Las respuestas a peticiones binarias no alargan el plazo
+        interceptor.handleResponse(respond(binary, true));
+
+        clock.advance(Duration.ofMinutes(2));
+        assertThat(interceptor.isFastInfosetNegotiated()).isFalse();
+        MessageContext probe = send();
+        assertThat(isEncoded(probe)).isFalse();
+
+        interceptor.handleResponse(respond(probe, true));
+        assertThat(interceptor.isFastInfosetNegotiated()).isTrue();
+    }
+
+    @Test
+    void xmlResponsesAndRejectedRequestsCancelTheNegotiation() throws Exception {
+        interceptor.handleResponse(respond(send(), true));
+        interceptor.handleResponse(respond(send(), false));
+        assertThat(interceptor.isFastInfosetNegotiated()).isFalse();
+
+        interceptor.handleResponse(respond(send(), true));
+        interceptor.afterCompletion(send(), new SoapFaultClientException(faultMessage()));
+        assertThat(interceptor.isFastInfosetNegotiated()).isTrue();
+
+        MessageContext rejected = send();
+        interceptor.afterCompletion(rejected, new WebServiceTransportException("Unsupported Media Type [415]"));
+        assertThat(interceptor.isFastInfosetNegotiated()).isFalse();
+    }
+
+    private MessageContext send() throws Exception {
+        SaajSoapMessage request = messageFactory.createWebServiceMessage();
+        Transformer transformer = TransformerFactoryUtils.newInstance().newTransformer();
+        transformer.transform(new StreamSource(new ByteArrayInputStream(PAYLOAD.getBytes(StandardCharsets.UTF_8))),
+                request.getPayloadResult());
+        MessageContext messageContext = new DefaultMessageContext(request, messageFactory);
+        interceptor.handleRequest(messageContext);
+        return messageContext;
+    }
+
+    private MessageContext respond(MessageContext messageContext, boolean fastInfoset) throws Exception {
+        FastInfosetSoapMessage response = (FastInfosetSoapMessage) messageFactory.createWebServiceMessage();
+        if (fastInfoset) {
+            response.encodeAsFastInfoset();
+        }
+        // Como la lee el cliente: SAAJ con el Content-Type de la respuesta HTTP
+        messageContext.setResponse(WireMessage.of(response).receive());
+        return messageContext;
+    }
+
+    private SaajSoapMessage faultMessage() {
+        SaajSoapMessage fault = messageFactory.createWebServiceMessage();
+        fault.getSoapBody().addServerOrReceiverFault("Arma no encontrada", Locale.ENGLISH);
+        return fault;
+    }
+
+    private static boolean isEncoded(MessageContext messageContext) {
+        return ((FastInfosetSoapMessage) messageContext.getRequest()).isFastInfosetEncoded();
+    }
+
+    /**
+     * Vuelve a leer la petición tal como sale por la red
+     */
+    private static String payload(WireMessage wire) throws Exception {
+        StringBuilderResult result = new StringBuilderResult();
+        Transformer transformer = TransformerFactoryUtils.newInstance().newTransformer();
+        transformer.setOutputProperty("omit-xml-declaration", "yes");
+        transformer.transform(wire.receive().getPayloadSource(), result);
+        return result.toString();
+    }
+
+    /**
+     * Cabeceras y cuerpo tal como los recibe el transporte HTTP
+     */
+    private static class WireMessage extends TransportOutputStream {
+
+        private final Map<String, String> headers = new HashMap<>();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        static WireMessage of(Object message) throws Exception {
+            WireMessage wire = new WireMessage();
+            ((SaajSoapMessage) message).writeTo(wire);
+            return wire;
+        }
+
+        SaajSoapMessage receive() throws Exception {
+            MimeHeaders mimeHeaders = new MimeHeaders();
+            mimeHeaders.addHeader("Content-Type", headers.get("Content-Type"));
+            return new SaajSoapMessage(MessageFactory.newInstance()
+                    .createMessage(mimeHeaders, new ByteArrayInputStream(body.toByteArray())));
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            headers.put(name, value);
+        }
+
+        @Override
+        protected OutputStream createOutputStream() {
+            return body;
+        }
+    }
+
+    private static class StringBuilderResult extends StreamResult {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        StringBuilderResult() {
+            setOutputStream(out);
+        }
+
+        @Override
+        public String toString() {
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
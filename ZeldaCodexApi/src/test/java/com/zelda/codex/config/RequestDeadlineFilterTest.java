@@ -0,0 +1,83 @@
+package com.zelda.codex.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.zelda.codex.resilience.RequestDeadline;
+
+class RequestDeadlineFilterTest {
+
+    private static final Duration DEFAULT_BUDGET = Duration.ofSeconds(10);
+    private static final Duration MAX_BUDGET = Duration.ofSeconds(30);
+
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter(DEFAULT_BUDGET, MAX_BUDGET);
+
+    @Test
+    void withoutHeaderUsesTheDefault() throws Exception {
+        assertThat(budgetFor(null)).isEqualTo(DEFAULT_BUDGET);
+        assertThat(budgetFor("  ")).isEqualTo(DEFAULT_BUDGET);
+    }
+
+    @Test
+    void plainNumberIsMilliseconds() throws Exception {
+        assertThat(budgetFor("1500")).isEqualTo(Duration.ofMillis(1500));
+    }
+
+    @Test
+    void acceptsSimpleAndIsoDurations() throws Exception {
+        assertThat(budgetFor("1500ms")).isEqualTo(Duration.ofMillis(1500));
+        assertThat(budgetFor("2s")).isEqualTo(Duration.ofSeconds(2));
+        assertThat(budgetFor("PT2S")).isEqualTo(Duration.ofSeconds(2));
+        assertThat(budgetFor(" 2s ")).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void neverAboveTheMaximum() throws Exception {
+        assertThat(budgetFor("5m")).isEqualTo(MAX_BUDGET);
+        assertThat(budgetFor("30s")).isEqualTo(MAX_BUDGET);
+    }
+
+    @Test
+    void zeroOrNegativeUsesTheDefault() throws Exception {
+        assertThat(budgetFor("0")).isEqualTo(DEFAULT_BUDGET);
+        assertThat(budgetFor("-1s")).isEqualTo(DEFAULT_BUDGET);
+    }
+
+    @Test
+    void invalidValuesUseTheDefault() throws Exception {
+        assertThat(budgetFor("abc")).isEqualTo(DEFAULT_BUDGET);
+        assertThat(budgetFor("2 segundos")).isEqualTo(DEFAULT_BUDGET);
+    }
+
+    @Test
+    void theChainSeesTheDeadline() throws Exception {
+        MockHttpServletRequest request = request("2s");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        RequestDeadline deadline = (RequestDeadline) request.getAttribute(RequestDeadline.ATTRIBUTE);
+        assertThat(deadline.remainingNanos()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(2).toNanos());
+    }
+
+    private Duration budgetFor(String header) throws Exception {
+        MockHttpServletRequest request = request(header);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return ((RequestDeadline) request.getAttribute(RequestDeadline.ATTRIBUTE)).getBudget();
+    }
+
+    private static MockHttpServletRequest request(String header) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/weapons");
+        if (header != null) {
+            request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, header);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,117 @@
+package com.zelda.codex.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.ws.soap.saaj.SaajSoapMessage;
+import org.springframework.ws.support.MarshallingUtils;
+import org.springframework.ws.transport.TransportInputStream;
+
+import com.zelda.codex.soap.GetWeaponsBatchResponse;
+
+class StreamingSoapMessageFactoryTest {
+
+    private static final String ENVELOPE_START =
+            "<SOAP-ENV:Envelope xmlns:SOAP-ENV=\"http://schemas.xmlsoap.org/soap/envelope/\">";
+
+    private static final String BATCH_PAYLOAD =
+            "<ns2:getWeaponsBatchResponse xmlns:ns2=\"http://zelda.com/weapons\">"
+            + "<ns2:weapon><ns2:id>550e8400-e29b-41d4-a716-446655440001</ns2:id><ns2:name>Master Sword</ns2:name>"
+            + "<ns2:weaponType>ONE_HANDED_SWORD</ns2:weaponType><ns2:damage>30</ns2:damage>"
+            + "<ns2:durability>200</ns2:durability></ns2:weapon>"
+            + "<ns2:missingId>550e8400-e29b-41d4-a716-446655440099</ns2:missingId>"
+            + "</ns2:getWeaponsBatchResponse>";
+
+    private StreamingSoapMessageFactory messageFactory;
+    private Jaxb2Marshaller marshaller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        messageFactory = new StreamingSoapMessageFactory();
+        messageFactory.afterPropertiesSet();
+        marshaller = new Jaxb2Marshaller();
+        marshaller.setContextPath("com.zelda.codex.soap");
+        marshaller.afterPropertiesSet();
+    }
+
+    @Test
+    void payloadIsUnmarshalledFromTheStream() throws Exception {
+        SaajSoapMessage message = messageFactory.createWebServiceMessage(
+                response("text/xml; charset=utf-8", ENVELOPE_START + "<SOAP-ENV:Header/><SOAP-ENV:Body>"
+                        + BATCH_PAYLOAD + "</SOAP-ENV:Body></SOAP-ENV:Envelope>"));
+
+        assertThat(message).isInstanceOf(StreamingSoapResponseMessage.class);
+        assertThat(message.hasFault()).isFalse();
+
+        GetWeaponsBatchResponse response = (GetWeaponsBatchResponse) MarshallingUtils.unmarshal(marshaller, message);
+        assertThat(response.getWeapon()).singleElement()
+                .satisfies(weapon -> assertThat(weapon.getName()).isEqualTo("Master Sword"));
+        assertThat(response.getMissingId()).containsExactly("550e8400-e29b-41d4-a716-446655440099");
+    }
+
+    @Test
+    void saajAccessBeforeReadingCopiesThePayload() throws Exception {
+        SaajSoapMessage message = messageFactory.createWebServiceMessage(
+                response("text/xml", ENVELOPE_START + "<SOAP-ENV:Body>" + BATCH_PAYLOAD
+                        + "</SOAP-ENV:Body></SOAP-ENV:Envelope>"));
+
+        assertThat(message.getSaajMessage().getSOAPBody().getFirstChild().getLocalName())
+                .isEqualTo("getWeaponsBatchResponse");
+        GetWeaponsBatchResponse response = (GetWeaponsBatchResponse) MarshallingUtils.unmarshal(marshaller, message);
+        assertThat(response.getWeapon()).hasSize(1);
+    }
+
+    @Test
+    void faultsAreParsedBySaaj() throws Exception {
+        SaajSoapMessage message = messageFactory.createWebServiceMessage(
+                response("text/xml; charset=utf-8", ENVELOPE_START + "<SOAP-ENV:Header/><SOAP-ENV:Body>"
+                        + "<SOAP-ENV:Fault><faultcode>SOAP-ENV:Server</faultcode>"
+                        + "<faultstring>Arma no encontrada</faultstring></SOAP-ENV:Fault>"
+                        + "</SOAP-ENV:Body></SOAP-ENV:Envelope>"));
+
+        assertThat(message).isNotInstanceOf(StreamingSoapResponseMessage.class);
+        assertThat(message.hasFault()).isTrue();
+        assertThat(message.getFaultReason()).isEqualTo("Arma no encontrada");
+    }
+
+    @Test
+    void headerBlocksAreParsedBySaaj() throws Exception {
+        SaajSoapMessage message = messageFactory.createWebServiceMessage(
+                response("text/xml", ENVELOPE_START + "<SOAP-ENV:Header><h:trace xmlns:h=\"urn:trace\">1</h:trace>"
+                        + "</SOAP-ENV:Header><SOAP-ENV:Body>" + BATCH_PAYLOAD + "</SOAP-ENV:Body></SOAP-ENV:Envelope>"));
+
+        assertThat(message).isNotInstanceOf(StreamingSoapResponseMessage.class);
+        assertThat(message.getSoapHeader().examineAllHeaderElements().hasNext()).isTrue();
+        GetWeaponsBatchResponse response = (GetWeaponsBatchResponse) MarshallingUtils.unmarshal(marshaller, message);
+        assertThat(response.getWeapon()).hasSize(1);
+    }
+
+    private static TransportInputStream response(String contentType, String body) {
+        InputStream content = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        return new TransportInputStream() {
+
+            @Override
+            protected InputStream createInputStream() {
+                return content;
+            }
+
+            @Override
+            public Iterator<String> getHeaderNames() {
+                return List.of("Content-Type").iterator();
+            }
+
+            @Override
+            public Iterator<String> getHeaders(String name) {
+                return "Content-Type".equalsIgnoreCase(name) ? List.of(contentType).iterator() : List.<String>of().iterator();
+            }
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package com.zelda.codex.gateways;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.zelda.codex.dtos.CharacterDTO;
+import com.zelda.codex.grpc.BatchResponse;
+import com.zelda.codex.grpc.CharacterResponse;
+import com.zelda.codex.grpc.CharacterServiceGrpc;
+import com.zelda.codex.grpc.CreateCharacterRequest;
+import com.zelda.codex.grpc.GetCharacterRequest;
+import com.zelda.codex.grpc.ListCharactersRequest;
+import com.zelda.codex.grpc.UpdateCharacterRequest;
+import com.zelda.codex.resilience.DownstreamGuard;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CharacterGrpcGatewayTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Server server;
+    private ManagedChannel channel;
+    private CharacterGrpcGateway gateway;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = NettyServerBuilder.forPort(0).addService(new CharactersService()).build().start();
+        channel = NettyChannelBuilder.forAddress("localhost", server.getPort()).usePlaintext().build();
+        DownstreamGuard guard = new DownstreamGuard("characters", 20, 10, 50.0, Duration.ofSeconds(3),
+                Duration.ofMillis(500), Duration.ofSeconds(10), 3, 50, Duration.ZERO, error -> false, new SimpleMeterRegistry());
+        gateway = new CharacterGrpcGateway(CharacterServiceGrpc.newStub(channel), guard);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void callsReturnBeforeTheServiceAnswers() throws Exception {
+        CompletableFuture<CharacterDTO> character = gateway.getCharacterById("link");
+
+        // El hilo que llama ya está libre mientras el servicio sigue sin responder
+        assertThat(character).isNotDone();
+        release.countDown();
+
+        assertThat(character.get(5, TimeUnit.SECONDS).getName()).isEqualTo("Link");
+    }
+
+    @Test
+    void notFoundIsTranslated() {
+        CharacterDTO changes = new CharacterDTO();
+        changes.setName("Ganon");
+
+        assertThatThrownBy(() -> gateway.updateCharacter("missing", changes).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RuntimeException.class)
+                .cause().hasMessage("Character not found");
+    }
+
+    @Test
+    void serverStreamIsCollected() throws Exception {
+        List<CharacterDTO> characters = gateway.listCharactersByGame("Breath of the Wild", 10)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(characters).extracting(CharacterDTO::getName).containsExactly("Link", "Zelda", "Mipha");
+    }
+
+    @Test
+    void batchIsSentAsAClientStream() throws Exception {
+        CharacterGrpcGateway.BatchResult result = gateway.createCharactersBatch(
+                List.of(character("Link"), character("Zelda"))).get(5, TimeUnit.SECONDS);
+
+        assertThat(result.createdCount).isEqualTo(2);
+        assertThat(result.createdIds).containsExactly("id-Link", "id-Zelda");
+        assertThat(result.error).isNull();
+    }
+
+    private static CharacterDTO character(String name) {
+        CharacterDTO dto = new CharacterDTO();
+        dto.setName(name);
+        dto.setEmail(name.toLowerCase() + "@hyrule.com");
+        dto.setGame("Breath of the Wild");
+        dto.setHealth(100);
+        dto.setStamina(100);
+        dto.setAttack(10);
+        dto.setDefense(10);
+        return dto;
+    }
+
+    private static CharacterResponse response(String name) {
+        return CharacterResponse.newBuilder().setId("id-" + name).setName(name).setGame("Breath of the Wild").build();
+    }
+
+    private class CharactersService extends CharacterServiceGrpc.CharacterServiceImplBase {
+
+        @Override
+        public void getCharacter(GetCharacterRequest request, StreamObserver<CharacterResponse> responseObserver) {
+            // Responde desde otro hilo cuando el test lo permite
+            new Thread(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                responseObserver.onNext(response("Link"));
+                responseObserver.onCompleted();
+            }).start();
+        }
+
+        @Override
+        public void updateCharacter(UpdateCharacterRequest request, StreamObserver<CharacterResponse> responseObserver) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription("No existe " + request.getId()).asRuntimeException());
+        }
+
+        @Override
+        public void listCharactersByGame(ListCharactersRequest request, StreamObserver<CharacterResponse> responseObserver) {
+            for (String name : List.of("Link", "Zelda", "Mipha")) {
+                responseObserver.onNext(response(name));
+            }
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public StreamObserver<CreateCharacterRequest> createCharactersBatch(StreamObserver<BatchResponse> responseObserver) {
+            BatchResponse.Builder batch = BatchResponse.newBuilder();
+            return new StreamObserver<>() {
+                @Override
+                public void onNext(CreateCharacterRequest request) {
+                    batch.setCreatedCount(batch.getCreatedCount() + 1).addCreatedIds("id-" + request.getName());
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    responseObserver.onError(t);
+                }
+
+                @Override
+                public void onCompleted() {
+                    responseObserver.onNext(batch.build());
+                    responseObserver.onCompleted();
+                }
+            };
+        }
+    }
+}
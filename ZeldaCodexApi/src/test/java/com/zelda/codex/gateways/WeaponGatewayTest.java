@@ -0,0 +1,129 @@
+package com.zelda.codex.gateways;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.ws.client.WebServiceIOException;
+import org.springframework.ws.client.WebServiceTransformerException;
+import org.springframework.ws.client.core.WebServiceTemplate;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+
+import com.zelda.codex.config.DeadlineAwareMessageSender;
+import com.zelda.codex.exceptions.DeadlineExceededException;
+import com.zelda.codex.exceptions.SoapServiceUnavailableException;
+import com.zelda.codex.mappers.WeaponMapper;
+import com.zelda.codex.resilience.DownstreamGuard;
+import com.zelda.codex.resilience.RequestDeadline;
+import com.zelda.codex.services.DegradedMode;
+import com.zelda.codex.services.HateoasLinkService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WeaponGatewayTest {
+
+    private static final HttpHost SOAP_HOST = new HttpHost("http", "localhost", 8081);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void transportFailuresMakeTheServiceUnavailable() {
+        assertThat(WeaponGateway.isUnavailable(new WebServiceIOException("I/O", new ConnectException()))).isTrue();
+        assertThat(WeaponGateway.isUnavailable(new WebServiceIOException("I/O", new SocketTimeoutException()))).isTrue();
+        // Sin conexión libre del pool a tiempo
+        assertThat(WeaponGateway.isUnavailable(new WebServiceIOException("I/O",
+                new ConnectionRequestTimeoutException("Timeout deadline: 2000 MILLISECONDS")))).isTrue();
+        assertThat(WeaponGateway.isUnavailable(new IllegalStateException(
+                new RuntimeException(new ConnectionRequestTimeoutException())))).isTrue();
+    }
+
+    @Test
+    void otherFailuresAreNot() {
+        assertThat(WeaponGateway.isUnavailable(new WebServiceTransformerException("XML"))).isFalse();
+        assertThat(WeaponGateway.isUnavailable(new IllegalStateException(new IllegalArgumentException()))).isFalse();
+    }
+
+    @Test
+    void poolWaitThatExhaustsTheBudgetIsAGatewayTimeout() throws Exception {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(1)
+                .setMaxConnPerRoute(1)
+                .build();
+        // Espera del pool configurada muy por encima del plazo de la petición
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofSeconds(10))
+                .setResponseTimeout(Timeout.ofSeconds(10))
+                .build();
+        try (CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .build()) {
+            // La única conexión del pool queda ocupada
+            connectionManager.lease("ocupada", new HttpRoute(SOAP_HOST), Timeout.ofSeconds(1), null)
+                    .get(Timeout.ofSeconds(1));
+            WeaponGateway gateway = gateway(new DeadlineAwareMessageSender(httpClient, requestConfig, Timeout.ofSeconds(5)));
+            DegradedMode degradedMode = degradedMode();
+            withDeadline(Duration.ofMillis(200));
+
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> degradedMode.call(() -> gateway.getWeaponById(UUID.randomUUID())))
+                    .isInstanceOf(DeadlineExceededException.class)
+                    .hasCauseInstanceOf(SoapServiceUnavailableException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        }
+    }
+
+    private static WeaponGateway gateway(DeadlineAwareMessageSender messageSender) throws Exception {
+        Jaxb2Marshaller marshaller = new Jaxb2Marshaller();
+        marshaller.setContextPath("com.zelda.codex.soap");
+        marshaller.afterPropertiesSet();
+        SaajSoapMessageFactory messageFactory = new SaajSoapMessageFactory();
+        messageFactory.afterPropertiesSet();
+        WebServiceTemplate webServiceTemplate = new WebServiceTemplate(messageFactory);
+        webServiceTemplate.setMessageSender(messageSender);
+        webServiceTemplate.setMarshaller(marshaller);
+        webServiceTemplate.setUnmarshaller(marshaller);
+
+        WeaponGateway gateway = new WeaponGateway();
+        ReflectionTestUtils.setField(gateway, "soapServiceUrl", SOAP_HOST.toURI() + "/ws");
+        ReflectionTestUtils.setField(gateway, "webServiceTemplate", webServiceTemplate);
+        ReflectionTestUtils.setField(gateway, "weaponMapper", new WeaponMapper(new HateoasLinkService()));
+        return gateway;
+    }
+
+    private static DegradedMode degradedMode() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DownstreamGuard guard = new DownstreamGuard("weapons", 10, 4, 50.0, Duration.ofSeconds(3), Duration.ofMillis(500),
+                Duration.ofSeconds(30), 1, 10, Duration.ZERO, SoapServiceUnavailableException.class::isInstance, meterRegistry);
+        return new DegradedMode(guard, meterRegistry);
+    }
+
+    private static void withDeadline(Duration budget) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/weapons");
+        request.setAttribute(RequestDeadline.ATTRIBUTE, RequestDeadline.after(budget));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
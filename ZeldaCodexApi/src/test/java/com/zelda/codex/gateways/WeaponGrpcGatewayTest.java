@@ -0,0 +1,175 @@
+package com.zelda.codex.gateways;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.zelda.codex.grpc.weapons.CreateWeaponResult;
+import com.zelda.codex.grpc.weapons.CreateWeaponsBatchRequest;
+import com.zelda.codex.grpc.weapons.CreateWeaponsBatchResponse;
+import com.zelda.codex.grpc.weapons.ListWeaponsRequest;
+import com.zelda.codex.grpc.weapons.ListWeaponsResponse;
+import com.zelda.codex.grpc.weapons.PageInfo;
+import com.zelda.codex.grpc.weapons.WeaponServiceGrpc;
+import com.zelda.codex.mappers.WeaponMapper;
+import com.zelda.codex.models.Weapon;
+import com.zelda.codex.models.WeaponBatchResult;
+import com.zelda.codex.models.WeaponPage;
+import com.zelda.codex.models.WeaponType;
+import com.zelda.codex.services.HateoasLinkService;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+class WeaponGrpcGatewayTest {
+
+    private static final int CATALOG_SIZE = 7;
+
+    private final AtomicInteger batchCalls = new AtomicInteger();
+    private final List<Boolean> includeTotalPerCall = new CopyOnWriteArrayList<>();
+    private Server server;
+    private ManagedChannel channel;
+    private WeaponGrpcGateway gateway;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = NettyServerBuilder.forPort(0).addService(new WeaponsService()).build().start();
+        channel = NettyChannelBuilder.forAddress("localhost", server.getPort()).usePlaintext().build();
+        gateway = new WeaponGrpcGateway(WeaponServiceGrpc.newBlockingStub(channel),
+                new WeaponMapper(new HateoasLinkService()), 5000, 20);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void batchIsCreatedWithASingleCallAndOneResultPerItem() {
+        List<WeaponBatchResult> results = gateway.createWeapons(List.of(
+                weapon("Master Sword"), weapon("Master Sword"), weapon("")));
+
+        assertThat(batchCalls).hasValue(1);
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(0).getWeapon().getName()).isEqualTo("Master Sword");
+        assertThat(results.get(0).getErrorCode()).isNull();
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1).getWeapon()).isNull();
+        assertThat(results.get(1).getErrorCode()).isEqualTo("ALREADY_EXISTS");
+        assertThat(results.get(2).getErrorCode()).isEqualTo("VALIDATION_ERROR");
+        assertThat(results.get(2).getMessage()).isEqualTo("El nombre es obligatorio");
+    }
+
+    @Test
+    void totalIsOnlyCountedForTheFirstPage() {
+        Page<Weapon> first = gateway.getAllWeapons(PageRequest.of(0, 3), Map.of());
+        String cursor = ((WeaponPage) first).getNextCursor();
+        Page<Weapon> second = gateway.getAllWeapons(PageRequest.of(1, 3), Map.of("cursor", cursor));
+
+        assertThat(includeTotalPerCall).containsExactly(true, false);
+        assertThat(first.getTotalElements()).isEqualTo(CATALOG_SIZE);
+        // Sin total, lo recorrido más una: sigue habiendo página siguiente
+        assertThat(second.getTotalElements()).isEqualTo(7);
+        assertThat(second.hasNext()).isTrue();
+    }
+
+    @Test
+    void skippedPagesDoNotCount() {
+        Page<Weapon> third = gateway.getAllWeapons(PageRequest.of(2, 3), Map.of());
+
+        assertThat(includeTotalPerCall).containsExactly(true, false, false);
+        assertThat(third.getTotalElements()).isEqualTo(CATALOG_SIZE);
+        assertThat(third.getContent()).extracting(Weapon::getName).containsExactly("Arma 6");
+    }
+
+    @Test
+    void includeTotalFilterDecides() {
+        Page<Weapon> last = gateway.getAllWeapons(PageRequest.of(2, 3), Map.of("cursor", "6", "includeTotal", "true"));
+        gateway.getAllWeapons(PageRequest.of(0, 3), Map.of("includeTotal", "false"));
+
+        assertThat(includeTotalPerCall).containsExactly(true, false);
+        assertThat(last.getTotalElements()).isEqualTo(CATALOG_SIZE);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    private static Weapon weapon(String name) {
+        Weapon weapon = new Weapon();
+        weapon.setName(name);
+        weapon.setWeaponType(WeaponType.ONE_HANDED_SWORD);
+        weapon.setDamage(30);
+        weapon.setDurability(200);
+        return weapon;
+    }
+
+    private class WeaponsService extends WeaponServiceGrpc.WeaponServiceImplBase {
+
+        /**
+         * Catálogo de CATALOG_SIZE armas; el cursor es la posición de la siguiente
+         */
+        @Override
+        public void listWeapons(ListWeaponsRequest request, StreamObserver<ListWeaponsResponse> responseObserver) {
+            includeTotalPerCall.add(request.getIncludeTotal());
+            int from = request.getCursor().isEmpty() ? 0 : Integer.parseInt(request.getCursor());
+            int to = Math.min(CATALOG_SIZE, from + request.getPageSize());
+            for (int i = from; i < to; i++) {
+                responseObserver.onNext(ListWeaponsResponse.newBuilder().setWeapon(
+                        com.zelda.codex.grpc.weapons.Weapon.newBuilder()
+                                .setId(String.format("550e8400-e29b-41d4-a716-4466554400%02d", i))
+                                .setName("Arma " + i)
+                                .setWeaponType(com.zelda.codex.grpc.weapons.WeaponType.ONE_HANDED_SWORD)
+                                .setDamage(10)
+                                .setDurability(100)).build());
+            }
+            PageInfo.Builder pageInfo = PageInfo.newBuilder().setNextCursor(to < CATALOG_SIZE ? String.valueOf(to) : "");
+            if (request.getIncludeTotal()) {
+                pageInfo.setTotalCount(CATALOG_SIZE);
+            }
+            responseObserver.onNext(ListWeaponsResponse.newBuilder().setPageInfo(pageInfo).build());
+            responseObserver.onCompleted();
+        }
+
+        /**
+         * Mismo criterio que WeaponService.createWeapons: nombre vacío inválido, repetidos ya existen
+         */
+        @Override
+        public void createWeaponsBatch(CreateWeaponsBatchRequest request,
+                                       StreamObserver<CreateWeaponsBatchResponse> responseObserver) {
+            batchCalls.incrementAndGet();
+            CreateWeaponsBatchResponse.Builder response = CreateWeaponsBatchResponse.newBuilder();
+            for (int index = 0; index < request.getWeaponInputsCount(); index++) {
+                String name = request.getWeaponInputs(index).getName();
+                CreateWeaponResult.Builder result = CreateWeaponResult.newBuilder().setIndex(index);
+                if (name.isEmpty()) {
+                    result.setErrorCode("VALIDATION_ERROR").setMessage("El nombre es obligatorio");
+                } else if (index > 0 && name.equals(request.getWeaponInputs(0).getName())) {
+                    result.setErrorCode("ALREADY_EXISTS").setMessage("Ya existe un arma con el nombre: " + name);
+                } else {
+                    result.setSuccess(true).setWeapon(com.zelda.codex.grpc.weapons.Weapon.newBuilder()
+                            .setId("550e8400-e29b-41d4-a716-446655440001")
+                            .setName(name)
+                            .setWeaponType(com.zelda.codex.grpc.weapons.WeaponType.ONE_HANDED_SWORD)
+                            .setDamage(30)
+                            .setDurability(200));
+                }
+                response.addResults(result);
+            }
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.zelda.codex.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.zelda.codex.exceptions.DeadlineExceededException;
+import com.zelda.codex.exceptions.DownstreamRejectedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DownstreamGuardTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofMillis(50);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger backendCalls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void opensWhenTheFailureRateReachesTheThresholdAfterMinimumCalls() {
+        DownstreamGuard guard = guard(Duration.ofSeconds(3), 10);
+
+        for (int i = 0; i < 3; i++) {
+            fail(guard);
+        }
+        // Por debajo de minimumCalls no se evalúa el porcentaje
+        assertThat(guard.getState()).isEqualTo(DownstreamGuard.State.CLOSED);
+        assertThat(guard.getFailureRate()).isEqualTo(100.0);
+
+        fail(guard);
+        assertThat(guard.getState()).isEqualTo(DownstreamGuard.State.OPEN);
+    }
+
+    @Test
+    void staysClosedBelowTheThreshold() {
+        DownstreamGuard guard = guard(Duration.ofSeconds(3), 10);
+
+        for (int i = 0; i < 10; i++) {
+            if (i % 3 == 2) {
+                fail(guard);
+            } else {
+                succeed(guard);
+            }
+        }
+
+        assertThat(guard.getState()).isEqualTo(DownstreamGuard.State.CLOSED);
+        assertThat(guard.getFailureRate()).isEqualTo(30.0);
+    }
+
+    @Test
+    void errorsThatAreNotFailuresDoNotCount() {
+        DownstreamGuard guard = guard(Duration.ofSeconds(3), 10);
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> guard.call(() -> {
+                throw new IllegalArgumentException("Arma no encontrada");
+            })).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        assertThat(guard.getState()).isEqualTo(DownstreamGuard.State.CLOSED);
+        assertThat(guard.getFailureRate()).isZero();
+    }
+
+    @Test
+    void slowCallsCountAsFailures() {
+        DownstreamGuard guard = guard(Duration.ZERO, 10);
+
+        for (int i = 0; i < 4; i++) {
+            succeed(guard);
+        }
+
+        assertThat(guard.getState()).isEqualTo(DownstreamGuard.State.OPEN);
+    }
+
+    @Test
+    void callsCutByTheRequestDeadlineCountAsSlow() {
+        DownstreamGuard guard = guard(Duration.ofSeconds(3), 10);
+
+        for (int i = 0; i < 4; i++) {
+            withinDeadline(Duration.ofMillis(20));
+            timeOut(guard);
+        }
+
+        // Plazo de 20 ms, muy por debajo de los 3 s de slowCallDuration: un servicio colgado abre igual
+        assertThat(guard.getState()).isEqualTo(DownstreamGuard.State.OPEN);
+    }
+
+    @Test
+    void tinyDeadlinesDoNotLowerTheThresholdBelowTheMinimum() {
+        DownstreamGuard guard = new DownstreamGuard("weapons", 10, 4, 50.0, Duration.ofSeconds(3),
+                Duration.ofMillis(500), OPEN_DURATION, 2, 10, Duration.ZERO,
+                IllegalStateException.class::isInstance, meterRegistry);
+
+        for (int i = 0; i < 4; i++) {
+            withinDeadline(Duration.ofMillis(20));
+            timeOut(guard);
+        }
+
+        assertThat(guard.getState()).isEqualTo(DownstreamGuard.State.CLOSED);
+        assertThat(guard.getFailureRate()).isZero();
+    }
+
+    @Test
+    void openCircuitRejectsWithoutCallingTheService() {
+        DownstreamGuard guard = openGuard();
+        int callsBefore = backendCalls.get();
+
+        assertThatThrownBy(() -> succeed(guard))
+                .isInstanceOfSatisfying(DownstreamRejectedException.class,
+                        rejected -> assertThat(rejected.isBulkheadFull()).isFalse());
+        assertThat(guard.callAsync(() -> CompletableFuture.completedFuture("Master Sword")))
+                .isCompletedExceptionally();
+        assertThat(backendCalls).hasValue(callsBefore);
+    }
+
+    @Test
+    void halfOpenClosesAfterEnoughSuccessfulProbes() throws Exception {
+        DownstreamGuard guard = openGuard();
+        Thread.sleep(OPEN_DURATION.toMillis() * 2);
+
+        succeed(guard);
+        assertThat(guard.getState()).isEqualTo(DownstreamGuard.State.HALF_OPEN);
+        succeed(guard);
+
+        assertThat(guard.getState()).isEqualTo(DownstreamGuard.State.CLOSED);
+        assertThat(guard.getFailureRate()).isZero();
+    }
+
+    @Test
+    void halfOpenReopensOnAFailedProbe() throws Exception {
+        DownstreamGuard guard = openGuard();
+        Thread.sleep(OPEN_DURATION.toMillis() * 2);
+
+        succeed(guard);
+        fail(guard);
+
+        assertThat(guard.getState()).isEqualTo(DownstreamGuard.State.OPEN);
+        assertThatThrownBy(() -> succeed(guard)).isInstanceOf(DownstreamRejectedException.class);
+    }
+
+    @Test
+    void halfOpenOnlyLetsTheProbesThrough() throws Exception {
+        DownstreamGuard guard = openGuard();
+        Thread.sleep(OPEN_DURATION.toMillis() * 2);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+
+        CompletableFuture<String> probe1 = guard.callAsync(() -> first);
+        CompletableFuture<String> probe2 = guard.callAsync(() -> second);
+        CompletableFuture<String> extra = guard.callAsync(() -> CompletableFuture.completedFuture("extra"));
+
+        assertThat(extra).isCompletedExceptionally();
+        first.complete("Master Sword");
+        second.complete("Hylian Shield");
+        assertThat(probe1).isCompletedWithValue("Master Sword");
+        assertThat(probe2).isCompletedWithValue("Hylian Shield");
+        assertThat(guard.getState()).isEqualTo(DownstreamGuard.State.CLOSED);
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondTheLimitUntilOneFinishes() {
+        DownstreamGuard guard = guard(Duration.ofSeconds(3), 1);
+        CompletableFuture<String> inFlight = new CompletableFuture<>();
+
+        CompletableFuture<String> first = guard.callAsync(() -> inFlight);
+
+        assertThatThrownBy(() -> succeed(guard))
+                .isInstanceOfSatisfying(DownstreamRejectedException.class,
+                        rejected -> assertThat(rejected.isBulkheadFull()).isTrue());
+        assertThat(guard.describe()).containsEntry("concurrentCalls", 1);
+
+        inFlight.complete("Master Sword");
+        assertThat(first).isCompletedWithValue("Master Sword");
+        assertThat(guard.describe()).containsEntry("concurrentCalls", 0);
+        succeed(guard);
+        // Los rechazos del bulkhead no cuentan como fallo del servicio
+        assertThat(guard.getFailureRate()).isZero();
+    }
+
+    @Test
+    void asyncFailuresAreRecorded() {
+        DownstreamGuard guard = guard(Duration.ofSeconds(3), 10);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(guard.callAsync(() -> CompletableFuture.failedFuture(new IllegalStateException("UNAVAILABLE"))))
+                    .isCompletedExceptionally();
+        }
+
+        assertThat(guard.getState()).isEqualTo(DownstreamGuard.State.OPEN);
+    }
+
+    /**
+     * Ventana de 10 llamadas, mínimo 4, umbral 50 %, 2 llamadas de prueba; IllegalStateException es un fallo
+     */
+    private DownstreamGuard guard(Duration slowCallDuration, int maxConcurrentCalls) {
+        return new DownstreamGuard("weapons", 10, 4, 50.0, slowCallDuration, Duration.ZERO, OPEN_DURATION, 2,
+                maxConcurrentCalls, Duration.ZERO, IllegalStateException.class::isInstance, meterRegistry);
+    }
+
+    /**
+     * Las siguientes llamadas se hacen como dentro de una petición HTTP con ese plazo
+     */
+    private static void withinDeadline(Duration budget) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(RequestDeadline.ATTRIBUTE, RequestDeadline.after(budget));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    /**
+     * Llamada que espera hasta agotar el plazo de la petición, como un servicio que no responde
+     */
+    private void timeOut(DownstreamGuard guard) {
+        RequestDeadline deadline = RequestDeadline.current();
+        assertThatThrownBy(() -> guard.call(() -> {
+            backendCalls.incrementAndGet();
+            while (!deadline.isExpired()) {
+                Thread.onSpinWait();
+            }
+            throw new DeadlineExceededException("la llamada al servicio de armas", deadline.getBudget());
+        })).isInstanceOf(DeadlineExceededException.class);
+    }
+
+    private DownstreamGuard openGuard() {
+        DownstreamGuard guard = guard(Duration.ofSeconds(3), 10);
+        for (int i = 0; i < 4; i++) {
+            fail(guard);
+        }
+        assertThat(guard.getState()).isEqualTo(DownstreamGuard.State.OPEN);
+        return guard;
+    }
+
+    private void succeed(DownstreamGuard guard) {
+        guard.call(() -> {
+            backendCalls.incrementAndGet();
+            return "Master Sword";
+        });
+    }
+
+    private void fail(DownstreamGuard guard) {
+        assertThatThrownBy(() -> guard.call(() -> {
+            backendCalls.incrementAndGet();
+            throw new IllegalStateException("Servicio de armas no disponible");
+        })).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.zelda.codex.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.zelda.codex.exceptions.SoapServiceUnavailableException;
+import com.zelda.codex.resilience.DownstreamGuard;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DegradedModeTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofMillis(50);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Ventana de 10 llamadas, mínimo 4, umbral 50 %
+    private final DownstreamGuard guard = new DownstreamGuard("weapons", 10, 4, 50.0, Duration.ofSeconds(3),
+            Duration.ofMillis(500), OPEN_DURATION, 1, 10, Duration.ZERO, SoapServiceUnavailableException.class::isInstance, meterRegistry);
+    private final DegradedMode degradedMode = new DegradedMode(guard, meterRegistry);
+
+    @Test
+    void aSingleFailureDoesNotBlockWrites() {
+        fail();
+
+        assertThat(degradedMode.isDegraded()).isFalse();
+        degradedMode.checkWritable();
+        assertThat(degradedMode.call(() -> "Master Sword")).isEqualTo("Master Sword");
+    }
+
+    @Test
+    void openCircuitIsDegradedModeUntilTheOpenDurationEnds() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+
+        assertThat(degradedMode.isDegraded()).isTrue();
+        assertThatThrownBy(degradedMode::checkWritable).isInstanceOf(SoapServiceUnavailableException.class);
+        assertThatThrownBy(() -> degradedMode.call(() -> "Master Sword"))
+                .isInstanceOf(SoapServiceUnavailableException.class);
+
+        Thread.sleep(OPEN_DURATION.toMillis() * 2);
+
+        // Pasado open-duration la siguiente llamada es la de prueba
+        assertThat(degradedMode.isDegraded()).isFalse();
+        assertThat(degradedMode.call(() -> "Master Sword")).isEqualTo("Master Sword");
+        assertThat(guard.getState()).isEqualTo(DownstreamGuard.State.CLOSED);
+    }
+
+    private void fail() {
+        assertThatThrownBy(() -> degradedMode.call(() -> {
+            throw new SoapServiceUnavailableException("El servicio SOAP no está disponible");
+        })).isInstanceOf(SoapServiceUnavailableException.class);
+    }
+}
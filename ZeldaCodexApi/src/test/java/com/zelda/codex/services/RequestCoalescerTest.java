@@ -0,0 +1,182 @@
+package com.zelda.codex.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.zelda.codex.exceptions.DeadlineExceededException;
+import com.zelda.codex.exceptions.SoapServiceUnavailableException;
+import com.zelda.codex.resilience.DownstreamGuard;
+import com.zelda.codex.resilience.RequestDeadline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RequestCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ExecutorService callers;
+    private RequestCoalescer coalescer;
+    private DownstreamGuard guard;
+    private DegradedMode degradedMode;
+
+    @BeforeEach
+    void setUp() {
+        callers = Executors.newFixedThreadPool(CALLERS);
+        coalescer = new RequestCoalescer(meterRegistry);
+        // Bulkhead de un solo permiso: si las peticiones agrupadas lo pidieran, se rechazarían
+        guard = new DownstreamGuard("weapons", 10, 4, 50.0, Duration.ofSeconds(3), Duration.ofMillis(500),
+                Duration.ofSeconds(10), 2, 1, Duration.ZERO, SoapServiceUnavailableException.class::isInstance, meterRegistry);
+        degradedMode = new DegradedMode(guard, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void onlyTheLeaderTakesABulkheadPermit() throws Exception {
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> coalescer.execute("getWeaponById", "master-sword",
+                    () -> degradedMode.call(this::slowBackendCall)), callers));
+        }
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (CompletableFuture<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Master Sword");
+        }
+        assertThat(backendCalls).hasValue(1);
+        assertThat(meterRegistry.counter("zelda.codex.downstream.calls",
+                "downstream", "weapons", "outcome", "rejected-bulkhead").count()).isZero();
+        assertThat(meterRegistry.counter("zelda.codex.downstream.calls",
+                "downstream", "weapons", "outcome", "success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void followersWaitOnlyTheirOwnBudget() throws Exception {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(
+                () -> coalescer.execute("getWeaponById", "master-sword", this::slowBackendCall), callers);
+        awaitBackendCalls(1);
+
+        CompletableFuture<String> follower = callWithin(Duration.ofMillis(100),
+                () -> coalescer.execute("getWeaponById", "master-sword", this::slowBackendCall));
+
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(DeadlineExceededException.class);
+        assertThat(leader).isNotDone();
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("Master Sword");
+        assertThat(backendCalls).hasValue(1);
+    }
+
+    @Test
+    void leaderDeadlineIsNotSharedWithFollowers() throws Exception {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(
+                () -> coalescer.execute("getWeaponById", "master-sword", () -> {
+                    slowBackendCall();
+                    throw new DeadlineExceededException("la llamada al servicio de armas", Duration.ofMillis(100));
+                }), callers);
+        awaitBackendCalls(1);
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                () -> coalescer.execute("getWeaponById", "master-sword", this::slowBackendCall), callers);
+        awaitFollowers(1);
+
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(DeadlineExceededException.class);
+        // La petición que esperaba hace su propia llamada en lugar de recibir el 504 ajeno
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("Master Sword");
+        assertThat(backendCalls).hasValue(2);
+    }
+
+    @Test
+    void otherFailuresAreSharedWithFollowers() throws Exception {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(
+                () -> coalescer.execute("getWeaponById", "master-sword", () -> {
+                    slowBackendCall();
+                    throw new SoapServiceUnavailableException("Servicio de armas no disponible");
+                }), callers);
+        awaitBackendCalls(1);
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                () -> coalescer.execute("getWeaponById", "master-sword", this::slowBackendCall), callers);
+        awaitFollowers(1);
+
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(SoapServiceUnavailableException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(SoapServiceUnavailableException.class);
+        assertThat(backendCalls).hasValue(1);
+    }
+
+    /**
+     * Ejecuta la llamada como dentro de una petición HTTP con ese plazo
+     */
+    private CompletableFuture<String> callWithin(Duration budget, Supplier<String> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setAttribute(RequestDeadline.ATTRIBUTE, RequestDeadline.after(budget));
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            try {
+                return call.get();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }, callers);
+    }
+
+    private String slowBackendCall() {
+        backendCalls.incrementAndGet();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "Master Sword";
+    }
+
+    private void awaitBackendCalls(int calls) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (backendCalls.get() < calls && System.nanoTime() < end) {
+            Thread.sleep(5);
+        }
+        assertThat(backendCalls).hasValue(calls);
+    }
+
+    private void awaitFollowers(int followers) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced() < followers && System.nanoTime() < end) {
+            Thread.sleep(5);
+        }
+        assertThat(coalesced()).isEqualTo(followers);
+    }
+
+    private double coalesced() {
+        return meterRegistry.counter("zelda.codex.requests.coalesced", "operation", "getWeaponById").count();
+    }
+}